@@ -1,8 +1,14 @@
 package com.tbdev.teaneckminyanim.api;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.net.InetAddresses;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,37 +17,127 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Token-bucket rate limiter for /api/v1/** endpoints.
  *
- * Each unique client IP gets its own bucket. The default limit is 60 requests
- * per minute (one per second on average), configurable via
- * api.ratelimit.requests-per-minute in application.properties.
+ * Each unique client IP gets its own bucket. The default limit is 60 tokens
+ * per minute, configurable via api.ratelimit.requests-per-minute in
+ * application.properties. Clients sending a configured X-API-Key (e.g. our
+ * mobile app) get a bucket per key with api.ratelimit.api-key-requests-per-minute.
  *
- * Responses on limit:
- *   HTTP 429 with Retry-After: 60 and a standard ApiResponse error body.
+ * Requests cost tokens by route ({@link RouteCost}): most cost one, schedule
+ * ranges cost more the more days they span, so a 14-day combined schedule is
+ * limited well before a single-day zmanim lookup.
  *
- * X-Forwarded-For is respected for clients behind a reverse proxy.
- * Old buckets are not pruned — acceptable for a bounded number of unique
- * clients; add Caffeine/Guava cache if scale requires it.
+ * Every response carries X-RateLimit-Limit, X-RateLimit-Remaining,
+ * X-RateLimit-Reset (seconds until the bucket is full again) and
+ * X-RateLimit-Cost. On limit:
+ *   HTTP 429 with Retry-After (seconds until enough tokens refill) and a
+ *   standard ApiResponse error body.
+ *
+ * X-Forwarded-For is only honoured when the connection comes from a trusted
+ * proxy (api.ratelimit.trusted-proxies, IPs or CIDRs, loopback only unless
+ * configured); the client is the right-most hop that is not itself a trusted
+ * proxy, so a client cannot pick its own bucket key by sending the header.
+ *
+ * Buckets live in a size-bounded cache (api.ratelimit.max-clients) and expire
+ * once idle long enough to have refilled completely, so dropping them never
+ * resets a limit early. The live count is exported as api.ratelimit.buckets.
  */
 @Component
 @Order(1)
 @Slf4j
 public class ApiRateLimitFilter extends OncePerRequestFilter {
 
-    @Value("${api.ratelimit.requests-per-minute:60}")
-    private int requestsPerMinute;
+    /** A bucket idle this long has refilled completely, so evicting it loses nothing. */
+    private static final Duration BUCKET_IDLE_EXPIRY = Duration.ofMinutes(2);
+    /** Longest span costed; anything longer is rejected by the controllers anyway. */
+    private static final int MAX_COSTED_DAYS = 366;
+    static final String API_KEY_HEADER = "X-API-Key";
+    /** Request attribute set to {@code true} when the request carried a configured API key. */
+    public static final String API_KEY_HOLDER_ATTRIBUTE = ApiRateLimitFilter.class.getName() + ".apiKeyHolder";
+
+    /**
+     * Token cost per route: {@code baseCost}, plus one token per {@code daysPerToken}
+     * requested days beyond the first ({@code date=} or {@code start=}/{@code end=}).
+     * A {@code daysPerToken} of 0 means the route is not scaled by span.
+     */
+    enum RouteCost {
+        COMBINED_SCHEDULE(Pattern.compile("^/api/v1/schedule/?$"), 1, 1),
+        SCHEDULE_EXPORT(Pattern.compile("^/api/v1/schedule/export/?$"), 1, 1),
+        ORG_SCHEDULE(Pattern.compile("^/api/v1/organizations/[^/]+/schedule/?$"), 1, 7),
+        ZMANIM(Pattern.compile("^/api/v1/zmanim/?$"), 1, 31),
+        DEFAULT(null, 1, 0);
+
+        private final Pattern path;
+        private final int baseCost;
+        private final int daysPerToken;
 
-    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        RouteCost(Pattern path, int baseCost, int daysPerToken) {
+            this.path = path;
+            this.baseCost = baseCost;
+            this.daysPerToken = daysPerToken;
+        }
+
+        static RouteCost forPath(String path) {
+            for (RouteCost route : values()) {
+                if (route.path != null && route.path.matcher(path).matches()) {
+                    return route;
+                }
+            }
+            return DEFAULT;
+        }
+
+        int cost(HttpServletRequest request) {
+            return daysPerToken == 0 ? baseCost : baseCost + (requestedDays(request) - 1) / daysPerToken;
+        }
+    }
+
+    private final int requestsPerMinute;
+    private final int apiKeyRequestsPerMinute;
+    private final List<byte[]> apiKeys;
+    private final List<IpAddressMatcher> trustedProxies;
+    private final Cache<String, Bucket> buckets;
+
+    public ApiRateLimitFilter(@Value("${api.ratelimit.requests-per-minute:60}") int requestsPerMinute,
+                              @Value("${api.ratelimit.api-key-requests-per-minute:600}") int apiKeyRequestsPerMinute,
+                              @Value("${api.ratelimit.api-keys:}") List<String> apiKeys,
+                              @Value("${api.ratelimit.max-clients:100000}") long maxClients,
+                              @Value("${api.ratelimit.trusted-proxies:127.0.0.1,::1}") List<String> trustedProxies,
+                              MeterRegistry meterRegistry) {
+        this.requestsPerMinute = requestsPerMinute;
+        this.apiKeyRequestsPerMinute = apiKeyRequestsPerMinute;
+        this.apiKeys = apiKeys.stream()
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .map(key -> key.getBytes(StandardCharsets.UTF_8))
+                .toList();
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        this.buckets = CacheBuilder.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(BUCKET_IDLE_EXPIRY)
+                .build();
+        Gauge.builder("api.ratelimit.buckets", buckets, Cache::size)
+                .description("Rate-limit buckets currently held (one per client)")
+                .register(meterRegistry);
+    }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -52,40 +148,120 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain chain) throws ServletException, IOException {
-        String ip = resolveClientIp(request);
-        Bucket bucket = buckets.computeIfAbsent(ip, k -> newBucket());
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        boolean keyHolder = isKnownApiKey(apiKey);
+        int limit = keyHolder ? apiKeyRequestsPerMinute : requestsPerMinute;
+        if (keyHolder) {
+            request.setAttribute(API_KEY_HOLDER_ATTRIBUTE, Boolean.TRUE);
+        }
+        String client = keyHolder ? "key:" + apiKey : resolveClientIp(request);
+        Bucket bucket = buckets.asMap().computeIfAbsent(client, k -> newBucket(limit));
+
+        // A cost above the bucket size could never be satisfied
+        int cost = Math.min(RouteCost.forPath(request.getRequestURI()).cost(request), limit);
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(cost);
+
+        response.setHeader("X-RateLimit-Limit", Integer.toString(limit));
+        response.setHeader("X-RateLimit-Remaining", Long.toString(probe.getRemainingTokens()));
+        response.setHeader("X-RateLimit-Reset", Long.toString(toSeconds(probe.getNanosToWaitForReset())));
+        response.setHeader("X-RateLimit-Cost", Integer.toString(cost));
 
-        if (bucket.tryConsume(1)) {
+        if (probe.isConsumed()) {
             chain.doFilter(request, response);
         } else {
-            log.debug("Rate limit exceeded for IP: {}", ip);
+            log.debug("Rate limit exceeded for {} (cost {})", keyHolder ? "API key" : client, cost);
             response.setStatus(429);
             response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            response.setHeader("Retry-After", "60");
+            response.setHeader("Retry-After", Long.toString(toSeconds(probe.getNanosToWaitForRefill())));
             response.getWriter().write(
                     "{\"data\":null,\"meta\":null,\"error\":{\"code\":\"RATE_LIMITED\"," +
-                    "\"message\":\"Too many requests. Maximum " + requestsPerMinute +
-                    " requests per minute. Please try again shortly.\"}}");
+                    "\"message\":\"Too many requests. Limit is " + limit +
+                    " tokens per minute and this request costs " + cost +
+                    ". Please try again shortly.\"}}");
         }
     }
 
-    private Bucket newBucket() {
+    private Bucket newBucket(int tokensPerMinute) {
         return Bucket.builder()
                 .addLimit(Bandwidth.classic(
-                        requestsPerMinute,
-                        Refill.intervally(requestsPerMinute, Duration.ofMinutes(1))))
+                        tokensPerMinute,
+                        Refill.intervally(tokensPerMinute, Duration.ofMinutes(1))))
                 .build();
     }
 
+    private boolean isKnownApiKey(String apiKey) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return false;
+        }
+        byte[] candidate = apiKey.getBytes(StandardCharsets.UTF_8);
+        boolean known = false;
+        for (byte[] key : apiKeys) {
+            known |= MessageDigest.isEqual(key, candidate);
+        }
+        return known;
+    }
+
     /**
-     * Prefer X-Forwarded-For (first hop) so the rate limit applies per
-     * real client behind a reverse proxy / load balancer.
+     * Days spanned by the request's {@code date} or {@code start}/{@code end} parameters;
+     * 1 when absent or unparseable (the controller rejects those cheaply).
      */
-    private String resolveClientIp(HttpServletRequest request) {
+    static int requestedDays(HttpServletRequest request) {
+        String start = request.getParameter("start");
+        String end = request.getParameter("end");
+        if (request.getParameter("date") != null || start == null || end == null) {
+            return 1;
+        }
+        try {
+            long days = LocalDate.parse(end).toEpochDay() - LocalDate.parse(start).toEpochDay() + 1;
+            return (int) Math.max(1, Math.min(days, MAX_COSTED_DAYS));
+        } catch (DateTimeParseException e) {
+            return 1;
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    /**
+     * The connecting address, unless it is a trusted proxy: then walk X-Forwarded-For
+     * from the right (each proxy appends the address it saw) to the first hop that is
+     * not a trusted proxy. Anything left of that hop was supplied by the client.
+     */
+    String resolveClientIp(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
         String forwarded = request.getHeader("X-Forwarded-For");
-        if (forwarded != null && !forwarded.isBlank()) {
-            return forwarded.split(",")[0].trim();
+        if (forwarded == null || forwarded.isBlank() || !isTrustedProxy(client)) {
+            return client;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!InetAddresses.isInetAddress(hop)) {
+                break;
+            }
+            client = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
         }
-        return request.getRemoteAddr();
+        return client;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (!InetAddresses.isInetAddress(address)) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long bucketCount() {
+        buckets.cleanUp();
+        return buckets.size();
     }
 }
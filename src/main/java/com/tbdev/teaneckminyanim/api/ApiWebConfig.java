@@ -0,0 +1,20 @@
+package com.tbdev.teaneckminyanim.api;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Message converters for the public API.
+ */
+@Configuration
+public class ApiWebConfig implements WebMvcConfigurer {
+
+    /** Appended (not prepended) so JSON stays the representation for Accept: *&#47;*. */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufApiMessageConverter());
+    }
+}
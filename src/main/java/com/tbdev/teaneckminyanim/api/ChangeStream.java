@@ -0,0 +1,212 @@
+package com.tbdev.teaneckminyanim.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tbdev.teaneckminyanim.service.ApplicationSettingsChangedEvent;
+import com.tbdev.teaneckminyanim.service.CalendarEventsChangedEvent;
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationService;
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationService.WindowBounds;
+import com.tbdev.teaneckminyanim.service.NotificationsChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open Server-Sent Events connections of {@code /api/v1/stream} and the fan-out of
+ * change notices to them.
+ *
+ * <p>Notices are hints, not data: a {@code schedule} notice names the org (null = all)
+ * and date range that changed, so the client re-syncs through
+ * {@code /api/v1/schedule/changes}; a {@code notifications} notice means active
+ * banners/popups should be refetched. Calendar notices are sent after the writing
+ * transaction commits.</p>
+ *
+ * <p>Idle connections hold no thread (the servlet request is async). Each notice is
+ * serialized once and written to every connection from its own virtual thread, so a
+ * slow client never delays the others or the publishing request. Connections whose
+ * write fails are dropped; a heartbeat comment finds dead ones between notices.</p>
+ */
+@Slf4j
+@Component
+public class ChangeStream {
+
+    /** Clients reconnect (EventSource does so automatically) after this long. */
+    static final Duration CONNECTION_TIMEOUT = Duration.ofMinutes(30);
+    /** Reconnect delay suggested to clients. */
+    static final Duration RECONNECT_DELAY = Duration.ofSeconds(10);
+
+    private final CalendarMaterializationService materializationService;
+    private final ObjectMapper objectMapper;
+    private final int maxConnections;
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    /** Reserved connection slots; taken before an emitter is created, freed when it is removed. */
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ChangeStream(CalendarMaterializationService materializationService,
+                        ObjectMapper objectMapper,
+                        @Value("${api.stream.max-connections:5000}") int maxConnections,
+                        MeterRegistry meterRegistry) {
+        this.materializationService = materializationService;
+        this.objectMapper = objectMapper;
+        this.maxConnections = maxConnections;
+        Gauge.builder("api.stream.connections", connections, AtomicInteger::get)
+                .description("Open Server-Sent Events connections on /api/v1/stream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a new connection.
+     *
+     * @return the emitter to return from the handler, or null if the connection limit is reached
+     */
+    public SseEmitter subscribe() {
+        int open;
+        do {
+            open = connections.get();
+            if (open >= maxConnections) {
+                return null;
+            }
+        } while (!connections.compareAndSet(open, open + 1));
+        SseEmitter emitter = newEmitter();
+        emitters.add(emitter);
+        emitter.onCompletion(() -> release(emitter));
+        emitter.onTimeout(() -> release(emitter));
+        emitter.onError(e -> release(emitter));
+        send(emitter, SseEmitter.event()
+                .name("ready")
+                .reconnectTime(RECONNECT_DELAY.toMillis())
+                .data("{}")
+                .build());
+        return emitter;
+    }
+
+    int connectionCount() {
+        return connections.get();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(CONNECTION_TIMEOUT.toMillis());
+    }
+
+    /** Forget a connection and free its slot; the removal makes this run once per emitter. */
+    private void release(SseEmitter emitter) {
+        if (emitters.remove(emitter)) {
+            connections.decrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CalendarEventsChangedEvent.ORDER_CHANGE_STREAM)
+    public void onCalendarEventsChanged(CalendarEventsChangedEvent event) {
+        WindowBounds window = materializationService.getWindowBounds();
+        LocalDate start = event.startDate() == null || event.startDate().isBefore(window.getStartDate())
+                ? window.getStartDate() : event.startDate();
+        LocalDate end = event.endDate() == null || event.endDate().isAfter(window.getEndDate())
+                ? window.getEndDate() : event.endDate();
+        if (start.isAfter(end)) {
+            // Outside the served window (e.g. cleanup of past days)
+            return;
+        }
+        Map<String, Object> notice = new LinkedHashMap<>();
+        notice.put("organizationId", event.organizationId());
+        notice.put("start", start.toString());
+        notice.put("end", end.toString());
+        broadcast("schedule", notice);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsChanged(NotificationsChangedEvent event) {
+        Map<String, Object> notice = new LinkedHashMap<>();
+        notice.put("id", event.notificationId());
+        notice.put("type", event.type());
+        broadcast("notifications", notice);
+    }
+
+    @EventListener
+    @Order(ApplicationSettingsChangedEvent.ORDER_CHANGE_STREAM)
+    public void onSettingsChanged(ApplicationSettingsChangedEvent event) {
+        if (event.affectsGeoLocation()) {
+            // Zmanim moved, so every plag annotation may have changed
+            onCalendarEventsChanged(CalendarEventsChangedEvent.all());
+        }
+    }
+
+    /** Keeps proxies from closing idle connections and finds clients that went away. */
+    @Scheduled(fixedDelay = 25_000)
+    public void heartbeat() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("keepalive").build();
+        emitters.forEach(emitter -> send(emitter, frame));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.forEach(emitter -> {
+            release(emitter);
+            emitter.complete();
+        });
+        sender.shutdownNow();
+    }
+
+    private void broadcast(String name, Map<String, Object> notice) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(notice);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} notice: {}", name, e.getMessage());
+            return;
+        }
+        Set<DataWithMediaType> frame = SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(name)
+                .data(json)
+                .build();
+        log.debug("Broadcasting {} notice to {} connections: {}", name, emitters.size(), json);
+        emitters.forEach(emitter -> send(emitter, frame));
+    }
+
+    private void send(SseEmitter emitter, Set<DataWithMediaType> frame) {
+        try {
+            sender.execute(() -> {
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; completing triggers onCompletion, which removes it
+                    release(emitter);
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+}
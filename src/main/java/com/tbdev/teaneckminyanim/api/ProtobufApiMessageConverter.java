@@ -0,0 +1,370 @@
+package com.tbdev.teaneckminyanim.api;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.tbdev.teaneckminyanim.api.dto.ApiResponse;
+import com.tbdev.teaneckminyanim.api.dto.OrganizationDto;
+import com.tbdev.teaneckminyanim.api.dto.ScheduleEventDto;
+import com.tbdev.teaneckminyanim.api.dto.ZmanimDto;
+import com.tbdev.teaneckminyanim.api.dto.ZmanimRangeDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link ApiResponse} bodies of the schedule, organization and zmanim endpoints
+ * as protobuf ({@code application/x-protobuf}) for clients that ask for it.
+ *
+ * <p>The wire format is defined by {@code src/main/proto/minyanim_api.proto} and written
+ * directly with {@link CodedOutputStream}, so the build needs no protoc step. In schedule
+ * responses each organization is sent once in a side table and events carry its index.</p>
+ *
+ * <p>Zmanim ranges keep their columnar JSON shape: one repeated field per zman.</p>
+ *
+ * <p>Registered after the JSON converter, so JSON stays the default and protobuf is only
+ * chosen when the Accept header names it. Only bodies whose declared payload type is one
+ * of the encoded DTOs are writable; other endpoints answer 406 to a protobuf-only Accept.</p>
+ */
+public class ProtobufApiMessageConverter extends AbstractGenericHttpMessageConverter<ApiResponse<?>> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    // Response fields
+    private static final int RESPONSE_SCHEDULE = 1;
+    private static final int RESPONSE_ORGANIZATIONS = 2;
+    private static final int RESPONSE_ORGANIZATION = 3;
+    private static final int RESPONSE_ZMANIM = 4;
+    private static final int RESPONSE_ZMANIM_RANGE = 5;
+    private static final int RESPONSE_META = 14;
+    private static final int RESPONSE_ERROR = 15;
+
+    enum Payload { SCHEDULE, ORGANIZATIONS, ORGANIZATION, ZMANIM, ZMANIM_RANGE }
+
+    /** Zman names as in the JSON DTOs; the field number of each is its index + 1 (ZmanimTimes, ZmanimColumns). */
+    private static final List<String> ZMANIM_FIELDS = List.of(
+            "alotHashachar", "misheyakir", "netz", "sofZmanShmaGra", "sofZmanShmaMga",
+            "sofZmanTfilaGra", "sofZmanTfilaMga", "chatzos", "minchaGedola", "minchaKetana",
+            "plagHamincha", "shekiya", "earliestShema", "tzeis", "chatzosLaila");
+
+    public ProtobufApiMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    /**
+     * Decide the representation the way Spring's content negotiation does: accepted types
+     * are ranked by quality, then specificity, then their order in the header, and the
+     * first one JSON or protobuf satisfies wins (JSON first, as its converter is
+     * registered first).
+     *
+     * @return true if protobuf would be chosen over JSON for this Accept header
+     */
+    public static boolean isRequested(String accept) {
+        if (accept == null || !accept.contains(APPLICATION_PROTOBUF.getSubtype())) {
+            return false;
+        }
+        List<MediaType> requested;
+        try {
+            requested = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        MimeTypeUtils.sortBySpecificity(requested);
+        List<MediaType> candidates = new ArrayList<>();
+        for (MediaType type : requested) {
+            if (type.getQualityValue() <= 0) {
+                continue;
+            }
+            for (MediaType produced : List.of(MediaType.APPLICATION_JSON, APPLICATION_PROTOBUF)) {
+                if (type.isCompatibleWith(produced)) {
+                    candidates.add(produced.copyQualityValue(type));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(candidates);
+        return !candidates.isEmpty() && APPLICATION_PROTOBUF.equalsTypeAndSubtype(candidates.get(0));
+    }
+
+    /**
+     * @return the strong ETag of the protobuf variant of a response with {@code etag}
+     */
+    public static String protobufEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-pb\"";
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    /** Only writable when the declared payload type is known, see {@link #canWrite(Type, Class, MediaType)}. */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return supports(clazz) && canWrite(mediaType) && type != null && payloadOf(type) != null;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> response, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Payload payload = type != null ? payloadOf(type) : null;
+        if (payload == null) {
+            throw new HttpMessageNotWritableException("No protobuf encoding for " + type);
+        }
+        outputMessage.getBody().write(encode(response, payload));
+    }
+
+    @Override
+    public ApiResponse<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    /**
+     * Encode a response whose payload is of the given kind.
+     */
+    static byte[] encode(ApiResponse<?> response, Payload payload) throws IOException {
+        ByteString.Output buffer = ByteString.newOutput();
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        Object data = response.data();
+        if (data != null) {
+            switch (payload) {
+                case SCHEDULE -> out.writeBytes(RESPONSE_SCHEDULE, schedule(castList(data, ScheduleEventDto.class)));
+                case ORGANIZATIONS -> out.writeBytes(RESPONSE_ORGANIZATIONS, message(o -> {
+                    for (OrganizationDto org : castList(data, OrganizationDto.class)) {
+                        writeMessage(o, 1, organization(org));
+                    }
+                }));
+                case ORGANIZATION -> out.writeBytes(RESPONSE_ORGANIZATION, organization((OrganizationDto) data));
+                case ZMANIM -> out.writeBytes(RESPONSE_ZMANIM, zmanim((ZmanimDto) data));
+                case ZMANIM_RANGE -> out.writeBytes(RESPONSE_ZMANIM_RANGE, zmanimRange((ZmanimRangeDto) data));
+            }
+        }
+        if (response.meta() != null) {
+            for (Map.Entry<String, Object> entry : response.meta().entrySet()) {
+                if (entry.getValue() != null) {
+                    out.writeBytes(RESPONSE_META, message(o -> {
+                        writeString(o, 1, entry.getKey());
+                        writeString(o, 2, entry.getValue().toString());
+                    }));
+                }
+            }
+        }
+        if (response.error() != null) {
+            out.writeBytes(RESPONSE_ERROR, message(o -> {
+                writeString(o, 1, response.error().code());
+                writeString(o, 2, response.error().message());
+            }));
+        }
+        out.flush();
+        return buffer.toByteString().toByteArray();
+    }
+
+    static Payload payloadOf(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (!ApiResponse.class.equals(resolved.resolve())) {
+            return null;
+        }
+        ResolvableType data = resolved.getGeneric(0);
+        Class<?> dataClass = data.resolve();
+        if (dataClass == null) {
+            return null;
+        }
+        if (List.class.isAssignableFrom(dataClass)) {
+            Class<?> element = data.getGeneric(0).resolve();
+            if (element == ScheduleEventDto.class) {
+                return Payload.SCHEDULE;
+            }
+            return element == OrganizationDto.class ? Payload.ORGANIZATIONS : null;
+        }
+        if (dataClass == OrganizationDto.class) {
+            return Payload.ORGANIZATION;
+        }
+        if (dataClass == ZmanimRangeDto.class) {
+            return Payload.ZMANIM_RANGE;
+        }
+        return dataClass == ZmanimDto.class ? Payload.ZMANIM : null;
+    }
+
+    private static ByteString schedule(List<ScheduleEventDto> events) throws IOException {
+        Map<String, Integer> orgIndexes = new LinkedHashMap<>();
+        ByteString.Output eventBytes = ByteString.newOutput();
+        CodedOutputStream eventsOut = CodedOutputStream.newInstance(eventBytes);
+        for (ScheduleEventDto event : events) {
+            ScheduleEventDto.OrgSummary org = event.organization();
+            int orgIndex = org != null ? orgIndexes.computeIfAbsent(org.id(), id -> orgIndexes.size()) : 0;
+            writeMessage(eventsOut, 2, message(o -> {
+                writeString(o, 1, event.id());
+                writeString(o, 2, event.date());
+                writeString(o, 3, event.startTime());
+                writeString(o, 4, event.minyanType());
+                writeString(o, 5, event.minyanTypeDisplay());
+                if (orgIndex != 0) {
+                    o.writeUInt32(6, orgIndex);
+                }
+                writeString(o, 7, event.locationName());
+                writeString(o, 8, event.notes());
+                writeString(o, 9, event.nusach());
+                writeString(o, 10, event.nusachDisplay());
+                writeString(o, 11, event.dynamicTimeString());
+                writeString(o, 12, event.source());
+                writeString(o, 13, event.whatsapp());
+            }));
+        }
+        eventsOut.flush();
+
+        // Side table in index order, taken from each org's first event
+        Map<String, ScheduleEventDto.OrgSummary> orgs = new LinkedHashMap<>();
+        for (ScheduleEventDto event : events) {
+            if (event.organization() != null) {
+                orgs.putIfAbsent(event.organization().id(), event.organization());
+            }
+        }
+        return message(o -> {
+            for (ScheduleEventDto.OrgSummary org : orgs.values()) {
+                writeMessage(o, 1, message(m -> {
+                    writeString(m, 1, org.id());
+                    writeString(m, 2, org.name());
+                    writeString(m, 3, org.slug());
+                    writeString(m, 4, org.color());
+                    writeString(m, 9, org.whatsapp());
+                }));
+            }
+            o.writeRawBytes(eventBytes.toByteString());
+        });
+    }
+
+    private static ByteString organization(OrganizationDto org) throws IOException {
+        return message(o -> {
+            writeString(o, 1, org.id());
+            writeString(o, 2, org.name());
+            writeString(o, 3, org.slug());
+            writeString(o, 4, org.color());
+            writeString(o, 5, org.nusach());
+            writeString(o, 6, org.nusachDisplay());
+            writeString(o, 7, org.address());
+            writeString(o, 8, org.websiteUrl());
+            writeString(o, 9, org.whatsapp());
+            if (org.latitude() != null) {
+                o.writeDouble(10, org.latitude());
+            }
+            if (org.longitude() != null) {
+                o.writeDouble(11, org.longitude());
+            }
+        });
+    }
+
+    private static ByteString zmanim(ZmanimDto zmanim) throws IOException {
+        return message(o -> {
+            writeString(o, 1, zmanim.date());
+            writeString(o, 2, zmanim.hebrewDate());
+            ZmanimDto.Times t = zmanim.times();
+            if (t != null) {
+                writeMessage(o, 3, message(m -> {
+                    writeString(m, 1, t.alotHashachar());
+                    writeString(m, 2, t.misheyakir());
+                    writeString(m, 3, t.netz());
+                    writeString(m, 4, t.sofZmanShmaGra());
+                    writeString(m, 5, t.sofZmanShmaMga());
+                    writeString(m, 6, t.sofZmanTfilaGra());
+                    writeString(m, 7, t.sofZmanTfilaMga());
+                    writeString(m, 8, t.chatzos());
+                    writeString(m, 9, t.minchaGedola());
+                    writeString(m, 10, t.minchaKetana());
+                    writeString(m, 11, t.plagHamincha());
+                    writeString(m, 12, t.shekiya());
+                    writeString(m, 13, t.earliestShema());
+                    writeString(m, 14, t.tzeis());
+                    writeString(m, 15, t.chatzosLaila());
+                }));
+            }
+        });
+    }
+
+    /**
+     * Columns are written as repeated strings, one entry per date; a zman that does not
+     * occur on a date is an empty string so later entries keep their positions.
+     */
+    private static ByteString zmanimRange(ZmanimRangeDto range) throws IOException {
+        return message(o -> {
+            writeString(o, 1, range.start());
+            writeString(o, 2, range.end());
+            if (range.hebrewDates() != null) {
+                for (String hebrewDate : range.hebrewDates()) {
+                    o.writeString(3, hebrewDate != null ? hebrewDate : "");
+                }
+            }
+            if (range.times() != null) {
+                writeMessage(o, 4, message(m -> {
+                    for (int i = 0; i < ZMANIM_FIELDS.size(); i++) {
+                        List<String> column = range.times().get(ZMANIM_FIELDS.get(i));
+                        if (column == null) {
+                            continue;
+                        }
+                        for (String time : column) {
+                            m.writeString(i + 1, time != null ? time : "");
+                        }
+                    }
+                }));
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface MessageWriter {
+        void writeTo(CodedOutputStream out) throws IOException;
+    }
+
+    private static ByteString message(MessageWriter writer) throws IOException {
+        ByteString.Output buffer = ByteString.newOutput();
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        writer.writeTo(out);
+        out.flush();
+        return buffer.toByteString();
+    }
+
+    /** Embedded messages are length-delimited, i.e. written exactly like bytes fields. */
+    private static void writeMessage(CodedOutputStream out, int field, ByteString message) {
+        try {
+            out.writeBytes(field, message);
+        } catch (IOException e) {
+            // ByteString.Output never throws
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> castList(Object data, Class<T> elementType) {
+        return (List<T>) data;
+    }
+}
@@ -1,23 +1,45 @@
 package com.tbdev.teaneckminyanim.api;
 
 import com.tbdev.teaneckminyanim.api.dto.ApiResponse;
+import com.tbdev.teaneckminyanim.api.dto.NormalizedScheduleDto;
+import com.tbdev.teaneckminyanim.api.dto.ScheduleChangesDto;
+import com.tbdev.teaneckminyanim.api.dto.ScheduleChangesDto.DayChange;
 import com.tbdev.teaneckminyanim.api.dto.ScheduleEventDto;
+import com.tbdev.teaneckminyanim.model.ScheduleChange;
 import com.tbdev.teaneckminyanim.model.CalendarEvent;
 import com.tbdev.teaneckminyanim.model.Organization;
 import com.tbdev.teaneckminyanim.service.CalendarMaterializationService.WindowBounds;
 import com.tbdev.teaneckminyanim.service.EffectiveScheduleService;
 import com.tbdev.teaneckminyanim.service.OrganizationService;
+import com.tbdev.teaneckminyanim.service.ScheduleChangeLog;
+import com.tbdev.teaneckminyanim.service.ScheduleChangeLog.ChangeSet;
+import com.tbdev.teaneckminyanim.service.ScheduleDataVersions;
 import com.tbdev.teaneckminyanim.service.ScheduleEnrichmentService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.tbdev.teaneckminyanim.api.ScheduleResponseCache.CachedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +48,13 @@ import java.util.stream.Collectors;
  * Combined (all orgs):
  *   GET /api/v1/schedule?date=YYYY-MM-DD
  *   GET /api/v1/schedule?start=YYYY-MM-DD&end=YYYY-MM-DD   (max 14 days)
+ *   ...&shape=normalized   → organizations sent once, events reference them by ID
+ *
+ * Combined export (NDJSON, one event per line, streamed from the database):
+ *   GET /api/v1/schedule/export?start=YYYY-MM-DD&end=YYYY-MM-DD   (max 14 days; whole window when authenticated)
+ *
+ * Delta sync (per-day replacements since a cursor, for the app's offline cache):
+ *   GET /api/v1/schedule/changes?since=CURSOR[&start=YYYY-MM-DD&end=YYYY-MM-DD]
  *
  * Per-org:
  *   GET /api/v1/organizations/{id}/schedule?date=YYYY-MM-DD
@@ -36,6 +65,12 @@ import java.util.stream.Collectors;
  * - Flat event list, sorted by date then startTime. Client groups by date / type as needed.
  * - Org info is embedded in each event to avoid waterfall requests from the mobile app.
  * - The materialization window is surfaced in meta so the app knows query limits.
+ * - Responses carry a strong ETag built from {@link ScheduleDataVersions}; a matching
+ *   If-None-Match gets a 304 before any database access.
+ * - Combined responses are served as prepared (optionally gzipped) bytes from
+ *   {@link ScheduleResponseCache} while their data version is current.
+ * - Accept: application/x-protobuf selects the compact binary encoding
+ *   ({@link ProtobufApiMessageConverter}), with its own ETag.
  */
 @RestController
 @RequiredArgsConstructor
@@ -47,10 +82,20 @@ public class ScheduleApiController {
     private static final int MAX_COMBINED_DAYS = 14;
     /** Maximum date range for the per-org endpoint. */
     private static final int MAX_ORG_DAYS = 30;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
 
     private final EffectiveScheduleService effectiveScheduleService;
     private final OrganizationService organizationService;
     private final ScheduleEnrichmentService enrichmentService;
+    private final ScheduleDataVersions dataVersions;
+    private final ScheduleResponseCache responseCache;
+    private final ScheduleChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+
+    /** Org ID per path value (ID or slug) seen before, so revalidation can skip the org lookup. */
+    private final Cache<String, String> orgIdsByPathValue = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .build();
 
     // -----------------------------------------------------------------------
     // Combined schedule (all orgs) — powers the app's "Today" / "Week" views
@@ -61,14 +106,60 @@ public class ScheduleApiController {
                description = "Returns effective minyan events across all organizations for a date or date range " +
                              "(max 14 days). Omit all params to get today. " +
                              "Day-level IMPORTED→RULES precedence is applied server-side. " +
-                             "meta includes windowStart/windowEnd so the app knows the queryable range.")
+                             "meta includes windowStart/windowEnd so the app knows the queryable range. " +
+                             "Add shape=normalized for a smaller body with each organization sent once.")
     public ResponseEntity<ApiResponse<List<ScheduleEventDto>>> getCombinedSchedule(
             @Parameter(description = "Single date (YYYY-MM-DD). Shorthand for start=date&end=date.", example = "2026-03-15")
             @RequestParam(required = false) String date,
             @Parameter(description = "Range start date (YYYY-MM-DD)", example = "2026-03-15")
             @RequestParam(required = false) String start,
             @Parameter(description = "Range end date (YYYY-MM-DD), max 14 days after start", example = "2026-03-21")
-            @RequestParam(required = false) String end) {
+            @RequestParam(required = false) String end,
+            @Parameter(description = "Response shape: full (default, org embedded in each event) or normalized")
+            @RequestParam(required = false) String shape,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+
+        if (shape != null && !shape.equals("full")) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("INVALID_SHAPE", "shape must be full or normalized"));
+        }
+        return serveCombinedSchedule(date, start, end, ifNoneMatch, acceptEncoding, accept, response,
+                false, Function.identity());
+    }
+
+    @GetMapping(value = "/api/v1/schedule", params = "shape=normalized")
+    @Operation(summary = "Combined schedule — all orgs, normalized",
+               description = "Same events as the default shape, but organizations are sent once in " +
+                             "data.organizations (keyed by ID) and each event carries only organizationId.")
+    public ResponseEntity<ApiResponse<NormalizedScheduleDto>> getNormalizedCombinedSchedule(
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String start,
+            @RequestParam(required = false) String end,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+
+        return serveCombinedSchedule(date, start, end, ifNoneMatch, acceptEncoding, null, response,
+                true, NormalizedScheduleDto::from);
+    }
+
+    /**
+     * Validate the range and answer a combined request: 304 if the client's ETag is
+     * current, else the cached bytes, else a freshly built body (cached if the data did
+     * not change meanwhile). Returns null when the response was written directly.
+     *
+     * @param shaper turns the sorted, annotated events into the response payload
+     */
+    private <T> ResponseEntity<ApiResponse<T>> serveCombinedSchedule(
+            String date, String start, String end, String ifNoneMatch, String acceptEncoding, String accept,
+            HttpServletResponse response, boolean normalized, Function<List<ScheduleEventDto>, T> shaper)
+            throws IOException {
 
         // Resolve date range
         LocalDate from, to;
@@ -104,11 +195,225 @@ public class ScheduleApiController {
                                     + window.getStartDate() + " – " + window.getEndDate() + ")"));
         }
 
-        List<CalendarEvent> events = effectiveScheduleService.getAllOrgsEffectiveEventsInRange(from, to);
+        long version = dataVersions.versionFor(null, from, to);
+        if (!normalized && ProtobufApiMessageConverter.isRequested(accept)) {
+            // Encoded per request by ProtobufApiMessageConverter; the byte cache holds JSON only
+            String etag = ProtobufApiMessageConverter.protobufEtag(scheduleEtag(null, from, to, window, version));
+            if (etagMatches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return cacheable(buildCombinedResponse(from, to, window, shaper), etag,
+                    version == dataVersions.versionFor(null, from, to));
+        }
+
+        boolean gzip = ScheduleResponseCache.acceptsGzip(acceptEncoding);
+        CachedResponse cached = responseCache.get(from, to, normalized, version, window);
+        String etag = cached != null ? cached.etag() : shapeEtag(scheduleEtag(null, from, to, window, version), normalized);
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(cached != null ? cached.etag(gzip) : etag)
+                    .cacheControl(cacheControl())
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        if (cached != null) {
+            cached.writeTo(response, gzip, cacheControl().getHeaderValue());
+            return null;
+        }
+
+        ApiResponse<T> body = buildCombinedResponse(from, to, window, shaper);
+        if (version != dataVersions.versionFor(null, from, to)) {
+            return cacheable(body, etag, false);
+        }
+        responseCache.put(from, to, normalized, version, window, etag, body)
+                .writeTo(response, gzip, cacheControl().getHeaderValue());
+        return null;
+    }
+
+    // -----------------------------------------------------------------------
+    // Combined export — streamed NDJSON for admin tools and bulk consumers
+    // -----------------------------------------------------------------------
+
+    @GetMapping("/api/v1/schedule/export")
+    @Operation(summary = "Combined schedule export (NDJSON)",
+               description = "Streams effective events across all organizations as newline-delimited JSON " +
+                             "(application/x-ndjson), one ScheduleEventDto per line, ordered by date, then " +
+                             "organization, then startTime. Memory use is flat regardless of range. " +
+                             "Anonymous callers are limited to 14 days; API-key holders and signed-in admins " +
+                             "may export the whole materialized window. Errors are returned as regular JSON.")
+    public ResponseEntity<ApiResponse<Void>> exportCombinedSchedule(
+            @Parameter(description = "Range start date (YYYY-MM-DD)", example = "2026-03-15")
+            @RequestParam(required = false) String start,
+            @Parameter(description = "Range end date (YYYY-MM-DD)", example = "2026-04-15")
+            @RequestParam(required = false) String end,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        if (start == null || end == null) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("MISSING_RANGE", "start and end are required"));
+        }
+        LocalDate from, to;
+        try {
+            from = LocalDate.parse(start);
+            to = LocalDate.parse(end);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("INVALID_DATE", "Use ISO-8601 format: YYYY-MM-DD"));
+        }
+
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("INVALID_RANGE", "start must be before or equal to end"));
+        }
+        boolean authenticated = Boolean.TRUE.equals(request.getAttribute(ApiRateLimitFilter.API_KEY_HOLDER_ATTRIBUTE))
+                || request.getUserPrincipal() != null;
+        if (!authenticated && to.toEpochDay() - from.toEpochDay() > MAX_COMBINED_DAYS) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("RANGE_TOO_LARGE",
+                            "Export range cannot exceed " + MAX_COMBINED_DAYS + " days without an API key"));
+        }
+
+        WindowBounds window = effectiveScheduleService.getWindowBounds();
+        if (from.isBefore(window.getStartDate()) || to.isAfter(window.getEndDate())) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("OUT_OF_WINDOW",
+                            "Requested range is outside the materialized window ("
+                                    + window.getStartDate() + " – " + window.getEndDate() + ")"));
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        OutputStream out = response.getOutputStream();
+        Map<String, Optional<Organization>> orgs = new HashMap<>();
+        effectiveScheduleService.streamAllOrgsEffectiveEventsInRange(from, to, orgDay -> {
+            Optional<Organization> org = orgs.computeIfAbsent(
+                    orgDay.get(0).getOrganizationId(), organizationService::findById);
+            if (org.isEmpty()) {
+                return;
+            }
+            List<ScheduleEventDto> dtos = enrichmentService.annotatePlag(orgDay.stream()
+                    .map(e -> ScheduleEventDto.from(e, org.get()))
+                    .toList());
+            try {
+                for (ScheduleEventDto dto : dtos) {
+                    out.write(objectMapper.writeValueAsBytes(dto));
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+        return null;
+    }
+
+    // -----------------------------------------------------------------------
+    // Delta sync — keeps the app's cached schedule current without refetching
+    // -----------------------------------------------------------------------
+
+    @GetMapping("/api/v1/schedule/changes")
+    @Operation(summary = "Schedule changes since a cursor",
+               description = "Returns the effective events of every (date, organization) changed after the " +
+                             "given cursor, as whole-day replacements (an empty day means its events were " +
+                             "deleted; a null organizationId replaces that day for all orgs). Omit since on " +
+                             "first sync to get the current cursor. reset=true means the cursor is unknown or " +
+                             "too old: refetch the schedule, then sync from the returned cursor. " +
+                             "start/end limit the dates returned to those the client caches.")
+    public ResponseEntity<ApiResponse<ScheduleChangesDto>> getScheduleChanges(
+            @Parameter(description = "Cursor from the previous sync", example = "1042")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "First cached date (YYYY-MM-DD), defaults to windowStart", example = "2026-03-15")
+            @RequestParam(required = false) String start,
+            @Parameter(description = "Last cached date (YYYY-MM-DD), defaults to windowEnd", example = "2026-04-15")
+            @RequestParam(required = false) String end) {
+
+        Long cursor;
+        try {
+            cursor = since != null ? Long.valueOf(since) : null;
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("INVALID_CURSOR", "since must be a cursor returned by this endpoint"));
+        }
+
+        WindowBounds window = effectiveScheduleService.getWindowBounds();
+        LocalDate from, to;
+        try {
+            from = start != null ? LocalDate.parse(start) : window.getStartDate();
+            to = end != null ? LocalDate.parse(end) : window.getEndDate();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("INVALID_DATE", "Use ISO-8601 format: YYYY-MM-DD"));
+        }
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("INVALID_RANGE", "start must be before or equal to end"));
+        }
+        if (from.isBefore(window.getStartDate())) {
+            from = window.getStartDate();
+        }
+        if (to.isAfter(window.getEndDate())) {
+            to = window.getEndDate();
+        }
+
+        ChangeSet changeSet = changeLog.changesSince(cursor);
+        List<DayChange> changes = changeSet.reset() ? List.of() : toDayChanges(changeSet.changes(), from, to);
+        ScheduleChangesDto dto = new ScheduleChangesDto(changeSet.cursor(), changeSet.reset(), changes);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.ok(dto, buildMeta(from, to, changes.size(), window)));
+    }
+
+    /**
+     * Expand change log entries into per-day replacements within [from, to]. A day changed
+     * for all orgs is sent once with a null organization ID instead of per org.
+     */
+    private List<DayChange> toDayChanges(List<ScheduleChange> entries, LocalDate from, LocalDate to) {
+        SortedMap<LocalDate, Set<String>> changedOrgsByDate = new TreeMap<>();
+        Set<LocalDate> allOrgDates = new HashSet<>();
+        for (ScheduleChange entry : entries) {
+            LocalDate first = entry.getStartDate() == null || entry.getStartDate().isBefore(from) ? from : entry.getStartDate();
+            LocalDate last = entry.getEndDate() == null || entry.getEndDate().isAfter(to) ? to : entry.getEndDate();
+            for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+                Set<String> orgIds = changedOrgsByDate.computeIfAbsent(d, k -> new TreeSet<>());
+                if (entry.getOrganizationId() == null) {
+                    allOrgDates.add(d);
+                } else {
+                    orgIds.add(entry.getOrganizationId());
+                }
+            }
+        }
+        if (changedOrgsByDate.isEmpty()) {
+            return List.of();
+        }
+
+        List<CalendarEvent> events = effectiveScheduleService.getAllOrgsEffectiveEventsInRange(
+                changedOrgsByDate.firstKey(), changedOrgsByDate.lastKey()).stream()
+                .filter(e -> allOrgDates.contains(e.getDate())
+                        || changedOrgsByDate.getOrDefault(e.getDate(), Set.of()).contains(e.getOrganizationId()))
+                .toList();
         Map<String, Organization> orgCache = buildOrgCache(events);
-        List<ScheduleEventDto> dtos = enrichmentService.annotatePlag(toSortedDtos(events, orgCache));
+        Map<LocalDate, Map<String, List<CalendarEvent>>> eventsByDateAndOrg = events.stream()
+                .collect(Collectors.groupingBy(CalendarEvent::getDate,
+                        Collectors.groupingBy(CalendarEvent::getOrganizationId)));
 
-        return ResponseEntity.ok(ApiResponse.ok(dtos, buildMeta(from, to, dtos.size(), window)));
+        List<DayChange> changes = new ArrayList<>();
+        changedOrgsByDate.forEach((date, orgIds) -> {
+            Map<String, List<CalendarEvent>> dayEvents = eventsByDateAndOrg.getOrDefault(date, Map.of());
+            if (allOrgDates.contains(date)) {
+                List<CalendarEvent> all = dayEvents.values().stream().flatMap(List::stream).toList();
+                changes.add(new DayChange(date.toString(), null,
+                        enrichmentService.annotatePlag(toSortedDtos(all, orgCache))));
+                return;
+            }
+            for (String orgId : orgIds) {
+                changes.add(new DayChange(date.toString(), orgId,
+                        enrichmentService.annotatePlag(toSortedDtos(dayEvents.getOrDefault(orgId, List.of()), orgCache))));
+            }
+        });
+        return changes;
     }
 
     // -----------------------------------------------------------------------
@@ -124,7 +429,21 @@ public class ScheduleApiController {
             @PathVariable String idOrSlug,
             @RequestParam(required = false) String date,
             @RequestParam(required = false) String start,
-            @RequestParam(required = false) String end) {
+            @RequestParam(required = false) String end,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean protobuf = ProtobufApiMessageConverter.isRequested(accept);
+
+        // Revalidation for a previously resolved org: answer 304 without any lookup
+        String knownOrgId = orgIdsByPathValue.getIfPresent(idOrSlug);
+        if (knownOrgId != null && ifNoneMatch != null) {
+            ResponseEntity<ApiResponse<List<ScheduleEventDto>>> notModified =
+                    checkOrgNotModified(knownOrgId, date, start, end, ifNoneMatch, protobuf);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
 
         // Resolve org
         Optional<Organization> orgOpt = organizationService.findById(idOrSlug);
@@ -171,19 +490,124 @@ public class ScheduleApiController {
                                     + window.getStartDate() + " – " + window.getEndDate() + ")"));
         }
 
+        long version = dataVersions.versionFor(org.getId(), from, to);
+        String etag = representationEtag(scheduleEtag(org.getId(), from, to, window, version), protobuf);
+        orgIdsByPathValue.put(idOrSlug, org.getId());
+        if (etagMatches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
         List<CalendarEvent> events = effectiveScheduleService.getEffectiveEventsInRange(org.getId(), from, to);
         List<ScheduleEventDto> dtos = enrichmentService.annotatePlag(events.stream()
                 .sorted(Comparator.comparing(CalendarEvent::getDate).thenComparing(CalendarEvent::getStartTime))
                 .map(e -> ScheduleEventDto.from(e, org))
                 .toList());
 
-        return ResponseEntity.ok(ApiResponse.ok(dtos, buildMeta(from, to, dtos.size(), window)));
+        return cacheable(ApiResponse.ok(dtos, buildMeta(from, to, dtos.size(), window)),
+                etag, version == dataVersions.versionFor(org.getId(), from, to));
     }
 
     // -----------------------------------------------------------------------
     // Helpers
     // -----------------------------------------------------------------------
 
+    /**
+     * 304 for a known org when the request is valid and the client's ETag is current;
+     * null when the full path should run (including to produce any error response).
+     */
+    private ResponseEntity<ApiResponse<List<ScheduleEventDto>>> checkOrgNotModified(
+            String orgId, String date, String start, String end, String ifNoneMatch, boolean protobuf) {
+        LocalDate from, to;
+        try {
+            if (date != null) {
+                from = to = LocalDate.parse(date);
+            } else if (start != null && end != null) {
+                from = LocalDate.parse(start);
+                to = LocalDate.parse(end);
+            } else {
+                from = to = LocalDate.now();
+            }
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        WindowBounds window = effectiveScheduleService.getWindowBounds();
+        if (from.isAfter(to) || to.toEpochDay() - from.toEpochDay() > MAX_ORG_DAYS
+                || from.isBefore(window.getStartDate()) || to.isAfter(window.getEndDate())) {
+            return null;
+        }
+        String etag = representationEtag(
+                scheduleEtag(orgId, from, to, window, dataVersions.versionFor(orgId, from, to)), protobuf);
+        return etagMatches(ifNoneMatch, etag) ? notModified(etag) : null;
+    }
+
+    /**
+     * Strong ETag for a schedule response: identifies the feed, range, window (surfaced in
+     * meta) and the data version covering them.
+     */
+    private static String scheduleEtag(String orgId, LocalDate from, LocalDate to, WindowBounds window, long version) {
+        String key = (orgId != null ? orgId : "*") + "|" + from + "|" + to + "|"
+                + window.getStartDate() + "|" + window.getEndDate() + "|" + version;
+        return "\"" + Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8) + "\"";
+    }
+
+    /** JSON and protobuf bodies of the same data are different representations, so need different ETags. */
+    private static String representationEtag(String etag, boolean protobuf) {
+        return protobuf ? ProtobufApiMessageConverter.protobufEtag(etag) : etag;
+    }
+
+    /** The normalized body of a combined range is a different representation of the same data. */
+    private static String shapeEtag(String etag, boolean normalized) {
+        return normalized ? etag.substring(0, etag.length() - 1) + "-n\"" : etag;
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String gzipEtag = ScheduleResponseCache.gzipEtag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag) || value.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl())
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    /**
+     * 200 with ETag and Cache-Control, unless the data changed while the response was being
+     * built (then the ETag could describe a different body, so the response is not cacheable).
+     */
+    private <T> ResponseEntity<T> cacheable(T body, String etag, boolean versionStable) {
+        if (!versionStable) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl()).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    private CacheControl cacheControl() {
+        return CacheControl.maxAge(dataVersions.maxAge()).cachePublic().mustRevalidate();
+    }
+
+    private <T> ApiResponse<T> buildCombinedResponse(LocalDate from, LocalDate to, WindowBounds window,
+                                                     Function<List<ScheduleEventDto>, T> shaper) {
+        List<CalendarEvent> events = effectiveScheduleService.getAllOrgsEffectiveEventsInRange(from, to);
+        Map<String, Organization> orgCache = buildOrgCache(events);
+        List<ScheduleEventDto> dtos = enrichmentService.annotatePlag(toSortedDtos(events, orgCache));
+        return ApiResponse.ok(shaper.apply(dtos), buildMeta(from, to, dtos.size(), window));
+    }
+
     /** Build an org lookup map to avoid N+1 org fetches when converting events. */
     private Map<String, Organization> buildOrgCache(List<CalendarEvent> events) {
         Set<String> orgIds = events.stream()
@@ -0,0 +1,177 @@
+package com.tbdev.teaneckminyanim.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tbdev.teaneckminyanim.service.ApplicationSettingsChangedEvent;
+import com.tbdev.teaneckminyanim.service.CalendarEventsChangedEvent;
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationService.WindowBounds;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized bodies of combined {@code /api/v1/schedule} responses, keyed by the
+ * (start, end) range and response shape, so the app's "Today" / "Week" requests are answered
+ * by copying prepared bytes to the servlet output stream.
+ *
+ * <p>Each entry remembers the data version and materialization window it was built
+ * from and is only served while both are current, so a racing write can never serve a
+ * stale body. Entries are also dropped on the same events that bump the version.</p>
+ *
+ * <p>Bodies above {@link #GZIP_MIN_BYTES} are also kept gzip-compressed; the compressed
+ * variant has its own strong ETag ({@link #gzipEtag}).</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduleResponseCache {
+
+    /** Today, this week and a few neighbouring ranges; bodies are tens of KB each. */
+    static final int MAX_CACHED_RANGES = 64;
+    /** Below this the gzip framing and CPU cost outweigh the savings. */
+    static final int GZIP_MIN_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<RangeKey, CachedResponse> responses = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_RANGES)
+            .expireAfterWrite(6, TimeUnit.HOURS)
+            .build();
+
+    /**
+     * @param normalized true for the {@code shape=normalized} body of the range
+     * @return the cached response for the range if it was built from {@code version}
+     *         within {@code window}, otherwise null
+     */
+    public CachedResponse get(LocalDate from, LocalDate to, boolean normalized, long version, WindowBounds window) {
+        CachedResponse cached = responses.getIfPresent(new RangeKey(from, to, normalized));
+        if (cached == null || cached.version() != version || !cached.window().equals(window)) {
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Serialize {@code body} and cache it for the range.
+     *
+     * @param normalized true for the {@code shape=normalized} body of the range
+     * @return the new entry, ready to be written
+     */
+    public CachedResponse put(LocalDate from, LocalDate to, boolean normalized, long version, WindowBounds window,
+                              String etag, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize schedule response", e);
+        }
+        byte[] gzip = json.length >= GZIP_MIN_BYTES ? gzip(json) : null;
+        CachedResponse cached = new CachedResponse(version, window, etag, gzip != null ? gzipEtag(etag) : etag, json, gzip);
+        responses.put(new RangeKey(from, to, normalized), cached);
+        log.debug("Cached {}schedule response for {} – {} ({} bytes, {} gzipped)",
+                normalized ? "normalized " : "", from, to, json.length, gzip != null ? gzip.length : "not");
+        return cached;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CalendarEventsChangedEvent.ORDER_RESPONSE_CACHE)
+    public void onCalendarEventsChanged(CalendarEventsChangedEvent event) {
+        responses.asMap().keySet().removeIf(key -> key.overlaps(event.startDate(), event.endDate()));
+    }
+
+    @EventListener
+    @Order(ApplicationSettingsChangedEvent.ORDER_RESPONSE_CACHE)
+    public void onSettingsChanged(ApplicationSettingsChangedEvent event) {
+        if (event.affectsGeoLocation()) {
+            responses.invalidateAll();
+        }
+    }
+
+    /**
+     * @return the strong ETag of the gzip-encoded variant of a response with {@code etag}
+     */
+    public static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * @return true if the Accept-Encoding header allows gzip
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record RangeKey(LocalDate from, LocalDate to, boolean normalized) {
+        /** Null bounds are open-ended. */
+        boolean overlaps(LocalDate start, LocalDate end) {
+            return (start == null || !to.isBefore(start)) && (end == null || !from.isAfter(end));
+        }
+    }
+
+    /**
+     * A serialized 200 response. The byte arrays are shared and must not be modified.
+     */
+    public record CachedResponse(long version, WindowBounds window, String etag, String gzipEtag,
+                                 byte[] json, byte[] gzip) {
+
+        /**
+         * @return the ETag of the variant {@link #writeTo} sends for the given encoding preference
+         */
+        public String etag(boolean acceptsGzip) {
+            return acceptsGzip ? gzipEtag : etag;
+        }
+
+        /**
+         * Write the response (headers and body) straight to the servlet response.
+         */
+        public void writeTo(HttpServletResponse response, boolean acceptsGzip, String cacheControl) throws IOException {
+            boolean compressed = acceptsGzip && gzip != null;
+            byte[] body = compressed ? gzip : json;
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HttpHeaders.ETAG, etag(acceptsGzip));
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            if (compressed) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.tbdev.teaneckminyanim.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Public push channel for change notices (Server-Sent Events).
+ *
+ * GET /api/v1/stream   → text/event-stream of "schedule" and "notifications" notices
+ *
+ * Replaces polling: clients keep one connection open and refetch only when told to.
+ * See {@link ChangeStream} for the notice format.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.OPTIONS})
+@Tag(name = "Stream", description = "Server-Sent Events push channel for schedule and notification changes")
+public class StreamApiController {
+
+    private final ChangeStream changeStream;
+
+    @GetMapping(value = "/api/v1/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Change notices (SSE)",
+               description = "Opens a text/event-stream. Events: `ready` once connected; " +
+                             "`schedule` with {organizationId, start, end} when an org's days changed " +
+                             "(organizationId null = all orgs) — call /api/v1/schedule/changes to fetch them; " +
+                             "`notifications` with {id, type} when banners/popups changed — refetch " +
+                             "/api/v1/notifications. Connections close after 30 minutes; EventSource reconnects " +
+                             "automatically. Returns 503 when the server is at its connection limit.")
+    public ResponseEntity<SseEmitter> stream() {
+        SseEmitter emitter = changeStream.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", Long.toString(ChangeStream.RECONNECT_DELAY.toSeconds()))
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
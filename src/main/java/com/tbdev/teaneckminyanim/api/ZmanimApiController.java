@@ -2,6 +2,7 @@ package com.tbdev.teaneckminyanim.api;
 
 import com.tbdev.teaneckminyanim.api.dto.ApiResponse;
 import com.tbdev.teaneckminyanim.api.dto.ZmanimDto;
+import com.tbdev.teaneckminyanim.api.dto.ZmanimRangeDto;
 import com.tbdev.teaneckminyanim.enums.Zman;
 import com.tbdev.teaneckminyanim.service.ApplicationSettingsService;
 import com.tbdev.teaneckminyanim.service.ZmanimHandler;
@@ -12,19 +13,25 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Dictionary;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
 
 /**
  * Public REST API for Jewish prayer times (zmanim).
  *
  * GET /api/v1/zmanim?date=YYYY-MM-DD   → zmanim for a specific date
  * GET /api/v1/zmanim                   → zmanim for today (convenience)
+ * GET /api/v1/zmanim?start=YYYY-MM-DD&end=YYYY-MM-DD
+ *                                      → columnar zmanim for a range (max 92 days)
  */
 @RestController
 @RequestMapping("/api/v1/zmanim")
@@ -33,6 +40,13 @@ import java.util.TimeZone;
 @Tag(name = "Zmanim", description = "Jewish prayer times (halachic times) calculated for Teaneck, NJ")
 public class ZmanimApiController {
 
+    private static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
+    /** Maximum date range for the bulk endpoint (a quarter covers any month view). */
+    private static final int MAX_RANGE_DAYS = 92;
+
+    /** Bulk response columns, named as in {@link ZmanimDto.Times}. */
+    private static final Map<String, Zman> RANGE_COLUMNS = columns();
+
     private final ZmanimHandler zmanimHandler;
     private final ApplicationSettingsService settingsService;
 
@@ -52,43 +66,116 @@ public class ZmanimApiController {
                     .body(ApiResponse.err("INVALID_DATE", "Use ISO-8601 format: YYYY-MM-DD"));
         }
 
-        Dictionary<Zman, Date> zmanim = zmanimHandler.getZmanim(localDate);
+        ZoneId zoneId = settingsService.getZoneId();
         String hebrewDate = zmanimHandler.getHebrewDate(
-                Date.from(localDate.atStartOfDay(settingsService.getZoneId()).toInstant()));
+                Date.from(localDate.atStartOfDay(zoneId).toInstant()));
 
         ZmanimDto dto = new ZmanimDto(
                 localDate.toString(),
                 hebrewDate,
                 new ZmanimDto.Times(
-                        fmt(zmanim.get(Zman.ALOS_HASHACHAR)),
-                        fmt(zmanim.get(Zman.MISHEYAKIR)),
-                        fmt(zmanim.get(Zman.NETZ)),
-                        fmt(zmanim.get(Zman.SZKS)),
-                        fmt(zmanim.get(Zman.MASZKS)),
-                        fmt(zmanim.get(Zman.SZT)),
-                        fmt(zmanim.get(Zman.MASZT)),
-                        fmt(zmanim.get(Zman.CHATZOS)),
-                        fmt(zmanim.get(Zman.MINCHA_GEDOLA)),
-                        fmt(zmanim.get(Zman.MINCHA_KETANA)),
-                        fmt(zmanim.get(Zman.PLAG_HAMINCHA)),
-                        fmt(zmanim.get(Zman.SHEKIYA)),
-                        fmt(zmanim.get(Zman.EARLIEST_SHEMA)),
-                        fmt(zmanim.get(Zman.TZES)),
-                        fmt(zmanim.get(Zman.CHATZOS_LAILA))
+                        fmt(localDate, Zman.ALOS_HASHACHAR, zoneId),
+                        fmt(localDate, Zman.MISHEYAKIR, zoneId),
+                        fmt(localDate, Zman.NETZ, zoneId),
+                        fmt(localDate, Zman.SZKS, zoneId),
+                        fmt(localDate, Zman.MASZKS, zoneId),
+                        fmt(localDate, Zman.SZT, zoneId),
+                        fmt(localDate, Zman.MASZT, zoneId),
+                        fmt(localDate, Zman.CHATZOS, zoneId),
+                        fmt(localDate, Zman.MINCHA_GEDOLA, zoneId),
+                        fmt(localDate, Zman.MINCHA_KETANA, zoneId),
+                        fmt(localDate, Zman.PLAG_HAMINCHA, zoneId),
+                        fmt(localDate, Zman.SHEKIYA, zoneId),
+                        fmt(localDate, Zman.EARLIEST_SHEMA, zoneId),
+                        fmt(localDate, Zman.TZES, zoneId),
+                        fmt(localDate, Zman.CHATZOS_LAILA, zoneId)
                 )
         );
 
         return ResponseEntity.ok(ApiResponse.ok(dto, Map.of(
-                "timezone", settingsService.getZoneId().getId(),
+                "timezone", zoneId.getId(),
                 "location", settingsService.getLocationName()
         )));
     }
 
-    /** Format a Date to "HH:mm" in the app timezone, or null if the date is null. */
-    private String fmt(Date d) {
-        if (d == null) return null;
-        SimpleDateFormat sdf = new SimpleDateFormat("HH:mm");
-        sdf.setTimeZone(TimeZone.getTimeZone(settingsService.getZoneId()));
-        return sdf.format(d);
+    @GetMapping(params = {"start", "end"})
+    @Operation(summary = "Get Jewish prayer times for a date range",
+               description = "Returns the same 15 halachic times for every date from start to end (max 92 days) " +
+                             "in columnar form: times.<zman> is an array with one HH:mm entry per date " +
+                             "(null where the zman does not occur), index 0 being start. " +
+                             "One request replaces a request per day for week and month views.")
+    public ResponseEntity<ApiResponse<ZmanimRangeDto>> getZmanimRange(
+            @Parameter(description = "Range start date (YYYY-MM-DD)", example = "2026-03-01")
+            @RequestParam String start,
+            @Parameter(description = "Range end date (YYYY-MM-DD), max 92 days after start", example = "2026-03-31")
+            @RequestParam String end) {
+
+        LocalDate from, to;
+        try {
+            from = LocalDate.parse(start);
+            to = LocalDate.parse(end);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("INVALID_DATE", "Use ISO-8601 format: YYYY-MM-DD"));
+        }
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("INVALID_RANGE", "start must be before or equal to end"));
+        }
+        if (to.toEpochDay() - from.toEpochDay() > MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.err("RANGE_TOO_LARGE",
+                            "Zmanim range cannot exceed " + MAX_RANGE_DAYS + " days"));
+        }
+
+        ZoneId zoneId = settingsService.getZoneId();
+        Map<String, List<String>> times = new LinkedHashMap<>();
+        RANGE_COLUMNS.forEach((name, zman) -> {
+            long[] millis = zmanimHandler.getZmanEpochMillis(from, to, zman);
+            List<String> column = new ArrayList<>(millis.length);
+            for (long m : millis) {
+                column.add(m == ZmanimHandler.NO_ZMAN ? null : HH_MM.format(Instant.ofEpochMilli(m).atZone(zoneId)));
+            }
+            times.put(name, column);
+        });
+
+        List<String> hebrewDates = new ArrayList<>(times.get("netz").size());
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            hebrewDates.add(zmanimHandler.getHebrewDate(Date.from(d.atStartOfDay(zoneId).toInstant())));
+        }
+
+        ZmanimRangeDto dto = new ZmanimRangeDto(from.toString(), to.toString(), hebrewDates, times);
+        return ResponseEntity.ok(ApiResponse.ok(dto, Map.of(
+                "timezone", zoneId.getId(),
+                "location", settingsService.getLocationName(),
+                "count", hebrewDates.size()
+        )));
+    }
+
+    private static Map<String, Zman> columns() {
+        Map<String, Zman> columns = new LinkedHashMap<>();
+        columns.put("alotHashachar", Zman.ALOS_HASHACHAR);
+        columns.put("misheyakir", Zman.MISHEYAKIR);
+        columns.put("netz", Zman.NETZ);
+        columns.put("sofZmanShmaGra", Zman.SZKS);
+        columns.put("sofZmanShmaMga", Zman.MASZKS);
+        columns.put("sofZmanTfilaGra", Zman.SZT);
+        columns.put("sofZmanTfilaMga", Zman.MASZT);
+        columns.put("chatzos", Zman.CHATZOS);
+        columns.put("minchaGedola", Zman.MINCHA_GEDOLA);
+        columns.put("minchaKetana", Zman.MINCHA_KETANA);
+        columns.put("plagHamincha", Zman.PLAG_HAMINCHA);
+        columns.put("shekiya", Zman.SHEKIYA);
+        columns.put("earliestShema", Zman.EARLIEST_SHEMA);
+        columns.put("tzeis", Zman.TZES);
+        columns.put("chatzosLaila", Zman.CHATZOS_LAILA);
+        return Collections.unmodifiableMap(columns);
+    }
+
+    /** Format a zman as "HH:mm" in the app timezone, or null if it does not occur on the date. */
+    private String fmt(LocalDate date, Zman zman, ZoneId zoneId) {
+        long millis = zmanimHandler.getZmanEpochMillis(date, zman);
+        if (millis == ZmanimHandler.NO_ZMAN) return null;
+        return HH_MM.format(Instant.ofEpochMilli(millis).atZone(zoneId));
     }
 }
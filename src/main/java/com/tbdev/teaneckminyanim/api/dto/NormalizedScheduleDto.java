@@ -0,0 +1,54 @@
+package com.tbdev.teaneckminyanim.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tbdev.teaneckminyanim.api.dto.ScheduleEventDto.OrgSummary;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public-facing DTO for {@code /api/v1/schedule?shape=normalized}: the same events as the
+ * default shape, but each organization is sent once in {@code organizations} (keyed by ID)
+ * and events reference it by {@code organizationId} instead of embedding a copy.
+ */
+public record NormalizedScheduleDto(
+        Map<String, OrgSummary> organizations,  // "org-1" -> {id, name, slug, color, whatsapp}
+        List<Event> events
+) {
+    /**
+     * {@link ScheduleEventDto} with the embedded organization replaced by its ID.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Event(
+            String id,
+            String date,
+            String startTime,
+            String minyanType,
+            String minyanTypeDisplay,
+            String organizationId,
+            String locationName,
+            String notes,
+            String nusach,
+            String nusachDisplay,
+            String dynamicTimeString,
+            String source,
+            String whatsapp
+    ) {}
+
+    /**
+     * Normalize events in the default shape, keeping their order.
+     */
+    public static NormalizedScheduleDto from(List<ScheduleEventDto> events) {
+        Map<String, OrgSummary> organizations = new LinkedHashMap<>();
+        List<Event> lean = new ArrayList<>(events.size());
+        for (ScheduleEventDto e : events) {
+            organizations.putIfAbsent(e.organization().id(), e.organization());
+            lean.add(new Event(e.id(), e.date(), e.startTime(), e.minyanType(), e.minyanTypeDisplay(),
+                    e.organization().id(), e.locationName(), e.notes(), e.nusach(), e.nusachDisplay(),
+                    e.dynamicTimeString(), e.source(), e.whatsapp()));
+        }
+        return new NormalizedScheduleDto(organizations, lean);
+    }
+}
@@ -0,0 +1,26 @@
+package com.tbdev.teaneckminyanim.api.dto;
+
+import java.util.List;
+
+/**
+ * Public-facing DTO for the delta-sync endpoint: the effective schedule of every
+ * (date, organization) that changed after the client's cursor.
+ *
+ * Each {@link DayChange} replaces what the client has cached for that day and org —
+ * events missing from it were deleted. A null organizationId replaces the whole day
+ * for all orgs. When {@code reset} is true, {@code changes} is empty and the client
+ * must drop its cache and refetch before syncing from {@code cursor}.
+ */
+public record ScheduleChangesDto(
+        long cursor,               // pass back as ?since= on the next sync
+        boolean reset,
+        List<DayChange> changes    // ordered by date, then organizationId
+) {
+
+    public record DayChange(
+            String date,               // "2026-03-15"
+            String organizationId,     // null = all organizations
+            List<ScheduleEventDto> events
+    ) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.tbdev.teaneckminyanim.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public-facing DTO for zmanim across a date range, in columnar form: one array per zman
+ * (keyed by the same names as {@link ZmanimDto.Times}), where index {@code i} is the date
+ * {@code start + i} days. An entry is null when the zman does not occur on that date.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ZmanimRangeDto(
+        String start,                    // "2026-03-01"
+        String end,                      // "2026-03-31"
+        List<String> hebrewDates,        // one per date
+        Map<String, List<String>> times  // "netz" -> ["06:58", "06:56", ...]
+) {
+}
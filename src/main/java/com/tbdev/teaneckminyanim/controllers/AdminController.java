@@ -1965,7 +1965,9 @@ public class AdminController {
 
             ModelAndView mv = new ModelAndView("redirect:/admin/" + orgId + "/calendar-entries");
             
-            if (result.success) {
+            if (result.success && result.unchanged) {
+                mv.addObject("successMessage", "Calendar unchanged since the last import");
+            } else if (result.success) {
                 mv.addObject("successMessage",
                         "Import successful: %d new, %d updated, %d duplicates skipped".formatted(
                                 result.newEntries, result.updatedEntries, result.duplicatesSkipped));
@@ -2415,8 +2417,9 @@ public class AdminController {
             com.tbdev.teaneckminyanim.service.calendar.CalendarImportService importService = 
                     applicationContext.getBean(com.tbdev.teaneckminyanim.service.calendar.CalendarImportService.class);
             
+            // Unconditional: the entries were just deleted, so an unchanged calendar must still be re-imported
             com.tbdev.teaneckminyanim.service.calendar.CalendarImportService.ImportResult result = 
-                    importService.importCalendarForOrganization(orgId);
+                    importService.importCalendarForOrganization(orgId, false);
 
             if (result.success) {
                 return new RedirectView("/admin/" + orgId + "/calendar-entries?successMessage=Reimport+complete:+" 
@@ -10,6 +10,7 @@ import com.tbdev.teaneckminyanim.repo.CalendarEventRepository;
 import com.tbdev.teaneckminyanim.service.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
@@ -50,6 +51,7 @@ public class CalendarEventsAdminController {
     private final ApplicationSettingsService settingsService;
     private final EffectiveScheduleService effectiveScheduleService;
     private final SuperAdminOverrideXlsxService overrideXlsxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @ModelAttribute("siteName")
     public String siteName() {
@@ -569,6 +571,7 @@ public class CalendarEventsAdminController {
             event.setEditedAt(java.time.LocalDateTime.now());
             
             calendarEventRepository.save(event);
+            eventPublisher.publishEvent(CalendarEventsChangedEvent.forDate(orgId, event.getDate()));
             
             redirectAttributes.addFlashAttribute("successMessage", "Event updated successfully");
             
@@ -648,6 +651,7 @@ public class CalendarEventsAdminController {
             }
             
             calendarEventRepository.delete(event);
+            eventPublisher.publishEvent(CalendarEventsChangedEvent.forDate(orgId, event.getDate()));
             
             redirectAttributes.addFlashAttribute("successMessage", "Event deleted successfully");
             
@@ -685,6 +689,7 @@ public class CalendarEventsAdminController {
 
             event.setEnabled(!event.isEnabled());
             calendarEventRepository.save(event);
+            eventPublisher.publishEvent(CalendarEventsChangedEvent.forDate(orgId, event.getDate()));
 
             redirectAttributes.addFlashAttribute(
                     "successMessage",
@@ -3,6 +3,7 @@ package com.tbdev.teaneckminyanim.controllers;
 import com.tbdev.teaneckminyanim.model.Organization;
 import com.tbdev.teaneckminyanim.repo.OrganizationCalendarEntryRepository;
 import com.tbdev.teaneckminyanim.service.ApplicationSettingsService;
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationExecutor;
 import com.tbdev.teaneckminyanim.service.CalendarMaterializationScheduler;
 import com.tbdev.teaneckminyanim.service.OrganizationService;
 import com.tbdev.teaneckminyanim.service.TNMUserService;
@@ -33,7 +34,8 @@ import java.util.Map;
  *       from scratch (fixes stale notes such as "Shkiya:" that should have been replaced
  *       during the original import).</li>
  *   <li>Rematerialize All — triggers a full rebuild of the {@code calendar_events} table
- *       from the current set of Minyan rules and imported calendar entries.</li>
+ *       from the current set of Minyan rules and imported calendar entries, and reports
+ *       per-organization results and timing.</li>
  * </ul>
  */
 @Slf4j
@@ -142,9 +144,22 @@ public class SuperAdminMaintenanceController {
                 userService.getCurrentUser().getUsername());
 
         try {
-            materializationScheduler.triggerMaterialization();
-            redirectAttributes.addFlashAttribute("successMessage",
-                    "Full calendar rematerialization completed successfully.");
+            CalendarMaterializationExecutor.MaterializationReport report =
+                    materializationScheduler.triggerMaterialization();
+
+            String msg = "Rematerialization complete: %d org(s) succeeded, %d failed in %.1fs (%d workers)."
+                    .formatted(report.succeeded(), report.failed(), report.elapsedMillis() / 1000.0,
+                            report.parallelism());
+            if (report.failed() > 0) {
+                String failedNames = report.outcomes().stream()
+                        .filter(o -> !o.success())
+                        .map(o -> o.organizationName() + ": " + o.errorMessage())
+                        .reduce((a, b) -> a + "; " + b).orElse("");
+                redirectAttributes.addFlashAttribute("warningMessage", msg + " Failures: " + failedNames);
+            } else {
+                redirectAttributes.addFlashAttribute("successMessage", msg);
+            }
+            redirectAttributes.addFlashAttribute("materializationReport", report);
         } catch (Exception e) {
             log.error("Rematerialize-all failed", e);
             redirectAttributes.addFlashAttribute("errorMessage", "Rematerialization failed: " + e.getMessage());
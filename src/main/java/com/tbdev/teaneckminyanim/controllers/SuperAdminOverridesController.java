@@ -8,12 +8,14 @@ import com.tbdev.teaneckminyanim.model.Location;
 import com.tbdev.teaneckminyanim.model.Organization;
 import com.tbdev.teaneckminyanim.repo.CalendarEventRepository;
 import com.tbdev.teaneckminyanim.service.ApplicationSettingsService;
+import com.tbdev.teaneckminyanim.service.CalendarEventsChangedEvent;
 import com.tbdev.teaneckminyanim.service.LocationService;
 import com.tbdev.teaneckminyanim.service.OrganizationService;
 import com.tbdev.teaneckminyanim.service.SuperAdminOverrideXlsxService;
 import com.tbdev.teaneckminyanim.service.TNMUserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -53,6 +55,7 @@ public class SuperAdminOverridesController {
     private final LocationService locationService;
     private final CalendarEventRepository calendarEventRepository;
     private final SuperAdminOverrideXlsxService superAdminOverrideXlsxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @ModelAttribute("siteName")
     public String siteName() {
@@ -295,6 +298,8 @@ public class SuperAdminOverridesController {
             }
 
             calendarEventRepository.delete(event);
+            eventPublisher.publishEvent(
+                    CalendarEventsChangedEvent.forDate(event.getOrganizationId(), event.getDate()));
             redirectAttributes.addFlashAttribute("successMessage", "Manual override deleted.");
         } catch (Exception e) {
             log.error("Error deleting manual override {}", eventId, e);
@@ -324,6 +329,8 @@ public class SuperAdminOverridesController {
 
             event.setEnabled(!event.isEnabled());
             calendarEventRepository.save(event);
+            eventPublisher.publishEvent(
+                    CalendarEventsChangedEvent.forDate(event.getOrganizationId(), event.getDate()));
             redirectAttributes.addFlashAttribute(
                     "successMessage",
                     "Manual override " + (event.isEnabled() ? "enabled." : "disabled."));
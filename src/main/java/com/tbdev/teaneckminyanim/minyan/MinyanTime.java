@@ -1,17 +1,21 @@
 package com.tbdev.teaneckminyanim.minyan;
 import com.kosherjava.zmanim.util.Time;
 import com.tbdev.teaneckminyanim.enums.Zman;
+import com.tbdev.teaneckminyanim.service.ZmanimHandler;
+import lombok.extern.slf4j.Slf4j;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
-import java.time.temporal.WeekFields;
 import java.util.Date;
 import java.util.Dictionary;
-import java.util.Locale;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
 
+@Slf4j
 public class MinyanTime {
     private Time time;
     private TimeRule rule; 
@@ -37,7 +41,7 @@ public class MinyanTime {
             if (parts.length == 2) {
                 rule = new TimeRule(Zman.fromString(parts[0]), Integer.parseInt(parts[1]));
             } else {
-                System.out.println("Invalid time rule: " + rawTime);
+                log.debug("Invalid time rule: {}", rawTime);
                 return;
             }
         } else if (rawTime.startsWith("Q")) {
@@ -47,13 +51,13 @@ public class MinyanTime {
             if (parts.length == 2) {
                 rule = new TimeRule(Zman.fromString(parts[0]), Integer.parseInt(parts[1]), true);
             } else {
-                System.out.println("Invalid time rule: " + rawTime);
+                log.debug("Invalid time rule: {}", rawTime);
                 return;
             }
         } else if (rawTime.equalsIgnoreCase("NM")) {
             return;
         } else {
-            System.out.println("Invalid time: " + rawTime);
+            log.debug("Invalid time: {}", rawTime);
             return;
         }
     }
@@ -341,6 +345,47 @@ public class MinyanTime {
             Function<LocalDate, Dictionary<Zman, Date>> zmanimSupplier,
             LocalDate date,
             ZoneId zoneId) {
+        return resolveLocalTime((day, zman) -> {
+            Date zmanDate = zmanimSupplier.apply(day).get(zman);
+            return zmanDate != null ? zmanDate.getTime() : ZmanimHandler.NO_ZMAN;
+        }, date, zoneId);
+    }
+
+    /**
+     * Resolve this MinyanTime using a primitive zman lookup, e.g.
+     * {@link ZmanimHandler#getZmanEpochMillis}, which avoids building a zmanim
+     * dictionary per date.
+     *
+     * @param zmanEpochMillis maps (date, zman) to epoch millis, or {@link ZmanimHandler#NO_ZMAN}
+     * @param date            the calendar date being materialized
+     * @param zoneId          the application timezone (America/New_York)
+     * @return the resolved start time, or {@code null} if this is NONE or data is missing
+     */
+    public LocalTime resolveLocalTime(
+            ToLongBiFunction<LocalDate, Zman> zmanEpochMillis,
+            LocalDate date,
+            ZoneId zoneId) {
+        return resolveLocalTime(zmanEpochMillis,
+                (day, zman) -> ZmanimHandler.earliestInWeek(zmanEpochMillis, day, zman, zoneId),
+                date, zoneId);
+    }
+
+    /**
+     * Resolve this MinyanTime against the settings-aware {@link ZmanimHandler}. ROUNDED
+     * times use its per-week earliest-zman cache, so the Sunday–Friday scan happens once
+     * per week and zman rather than once per minyan per day.
+     */
+    public LocalTime resolveLocalTime(ZmanimHandler zmanimHandler, LocalDate date, ZoneId zoneId) {
+        return resolveLocalTime(zmanimHandler::getZmanEpochMillis,
+                (day, zman) -> zmanimHandler.getWeeklyEarliest(day, zman, zoneId),
+                date, zoneId);
+    }
+
+    private LocalTime resolveLocalTime(
+            ToLongBiFunction<LocalDate, Zman> zmanEpochMillis,
+            BiFunction<LocalDate, Zman, LocalTime> weeklyEarliest,
+            LocalDate date,
+            ZoneId zoneId) {
 
         switch (type()) {
             case FIXED: {
@@ -354,9 +399,9 @@ public class MinyanTime {
             }
             case DYNAMIC: {
                 if (rule == null) return null;
-                Date zmanDate = zmanimSupplier.apply(date).get(rule.getZman());
-                if (zmanDate == null) return null;
-                return zmanDate.toInstant()
+                long zmanMillis = zmanEpochMillis.applyAsLong(date, rule.getZman());
+                if (zmanMillis == ZmanimHandler.NO_ZMAN) return null;
+                return Instant.ofEpochMilli(zmanMillis)
                         .atZone(zoneId)
                         .toLocalTime()
                         .plusMinutes(rule.getOffsetMinutes())
@@ -364,16 +409,8 @@ public class MinyanTime {
             }
             case ROUNDED: {
                 if (rule == null) return null;
-                // Find the earliest occurrence of this zman across Sun–Fri of the week
-                LocalTime minTime = null;
-                for (int dow = 1; dow <= 6; dow++) {
-                    LocalDate day = date.with(WeekFields.of(Locale.US).dayOfWeek(), dow);
-                    Date dayZmanDate = zmanimSupplier.apply(day).get(rule.getZman());
-                    if (dayZmanDate != null) {
-                        LocalTime t = dayZmanDate.toInstant().atZone(zoneId).toLocalTime();
-                        if (minTime == null || t.isBefore(minTime)) minTime = t;
-                    }
-                }
+                // Earliest occurrence of this zman across Sun–Fri of the week
+                LocalTime minTime = weeklyEarliest.apply(date, rule.getZman());
                 if (minTime == null) return null;
                 LocalTime withOffset = minTime.plusMinutes(rule.getOffsetMinutes());
                 // Round down to nearest 5 minutes
@@ -1,7 +1,10 @@
 package com.tbdev.teaneckminyanim.minyan;
 
+import lombok.extern.slf4j.Slf4j;
+
 import java.util.HashMap;
 
+@Slf4j
 public class Schedule {
     private MinyanTime sunday;
     private MinyanTime monday;
@@ -121,16 +124,16 @@ public class Schedule {
 //    }
 
     public void printTimes() {
-        System.out.println("Sunday minyan time: " + sunday);
-        System.out.println("Monday minyan time: " + monday);
-        System.out.println("Tuesday minyan time: " + tuesday);
-        System.out.println("Wednesday minyan time: " + wednesday);
-        System.out.println("Thursday minyan time: " + thursday);
-        System.out.println("Friday minyan time: " + friday);
-        System.out.println("Shabbos minyan time: " + shabbos);
-        System.out.println("Rosh Chodesh minyan time: " + roshChodesh);
-        System.out.println("Yom Tov minyan time: " + yomTov);
-        System.out.println("Chanuka minyan time: " + chanuka);
-        System.out.println("RCC minyan time: " + roshChodeshChanuka);
+        log.debug("Sunday minyan time: {}", sunday);
+        log.debug("Monday minyan time: {}", monday);
+        log.debug("Tuesday minyan time: {}", tuesday);
+        log.debug("Wednesday minyan time: {}", wednesday);
+        log.debug("Thursday minyan time: {}", thursday);
+        log.debug("Friday minyan time: {}", friday);
+        log.debug("Shabbos minyan time: {}", shabbos);
+        log.debug("Rosh Chodesh minyan time: {}", roshChodesh);
+        log.debug("Yom Tov minyan time: {}", yomTov);
+        log.debug("Chanuka minyan time: {}", chanuka);
+        log.debug("RCC minyan time: {}", roshChodeshChanuka);
     }
 }
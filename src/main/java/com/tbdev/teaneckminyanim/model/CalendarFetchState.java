@@ -0,0 +1,47 @@
+package com.tbdev.teaneckminyanim.model;
+
+import lombok.*;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * What the calendar import last received from an organization's CSV export: the HTTP
+ * validators for conditional requests and a SHA-256 of the body, so an unchanged
+ * calendar is detected even when the host sends no validators.
+ *
+ * Only valid for {@code sourceUrl}; a different export URL starts over.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "calendar_fetch_state")
+public class CalendarFetchState {
+
+    @Id
+    @Column(name = "organization_id")
+    private String organizationId;
+
+    @Column(name = "source_url", columnDefinition = "TEXT")
+    private String sourceUrl;
+
+    @Column(name = "etag")
+    private String etag;
+
+    @Column(name = "last_modified")
+    private String lastModified;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /** Last successful fetch, changed or not. */
+    @Column(name = "fetched_at")
+    private LocalDateTime fetchedAt;
+
+    /** Last fetch whose content differed from the one before. */
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,45 @@
+package com.tbdev.teaneckminyanim.model;
+
+import lombok.*;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the schedule change log behind the delta-sync API: a committed
+ * calendar_events write (or an organization / zmanim change that alters schedule
+ * responses) covering an org and date range. The ID is the client's sync cursor.
+ *
+ * A null organization ID means every organization; null dates mean the whole
+ * materialization window on that side.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "schedule_changes",
+        indexes = {
+                @Index(name = "idx_schedule_changes_created_at", columnList = "created_at")
+        })
+public class ScheduleChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "organization_id")
+    private String organizationId;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
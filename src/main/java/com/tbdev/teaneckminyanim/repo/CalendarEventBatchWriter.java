@@ -0,0 +1,83 @@
+package com.tbdev.teaneckminyanim.repo;
+
+import com.tbdev.teaneckminyanim.model.CalendarEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Batched JDBC insert path for {@code calendar_events}.
+ *
+ * <p>{@link CalendarEvent} uses IDENTITY ids, which makes Hibernate insert one row per
+ * round-trip. Bulk writers (materialization, override imports) that don't need the
+ * generated ids back use this instead: rows are sent in JDBC batches of {@link #BATCH_SIZE},
+ * which the MariaDB driver turns into bulk statements. Runs in the caller's transaction.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class CalendarEventBatchWriter {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO calendar_events ("
+            + "organization_id, date, minyan_type, start_time, notes, location_id, location_name, enabled, "
+            + "source, source_ref, nusach, whatsapp, dynamic_time_string, manually_edited, edited_by, edited_at, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert new (unsaved) events. Timestamps are stamped as {@code @PrePersist} would;
+     * ids are not populated on the passed events.
+     *
+     * @return number of rows inserted
+     */
+    public int insertAll(Collection<CalendarEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<CalendarEvent> rows = new ArrayList<>(events);
+        for (CalendarEvent event : rows) {
+            if (event.getCreatedAt() == null) {
+                event.setCreatedAt(now);
+            }
+            event.setUpdatedAt(now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, e) -> {
+            ps.setString(1, e.getOrganizationId());
+            ps.setDate(2, Date.valueOf(e.getDate()));
+            ps.setString(3, e.getMinyanType().name());
+            ps.setTime(4, Time.valueOf(e.getStartTime()));
+            ps.setString(5, e.getNotes());
+            ps.setString(6, e.getLocationId());
+            ps.setString(7, e.getLocationName());
+            ps.setBoolean(8, e.isEnabled());
+            ps.setString(9, e.getSource().name());
+            ps.setString(10, e.getSourceRef());
+            ps.setString(11, e.getNusach() != null ? e.getNusach().name() : null);
+            ps.setString(12, e.getWhatsapp());
+            ps.setString(13, e.getDynamicTimeString());
+            ps.setBoolean(14, e.isManuallyEdited());
+            ps.setString(15, e.getEditedBy());
+            if (e.getEditedAt() != null) {
+                ps.setTimestamp(16, Timestamp.valueOf(e.getEditedAt()));
+            } else {
+                ps.setNull(16, Types.TIMESTAMP);
+            }
+            ps.setTimestamp(17, Timestamp.valueOf(e.getCreatedAt()));
+            ps.setTimestamp(18, Timestamp.valueOf(e.getUpdatedAt()));
+        });
+        return rows.size();
+    }
+}
@@ -3,10 +3,13 @@ package com.tbdev.teaneckminyanim.repo;
 import com.tbdev.teaneckminyanim.enums.EventSource;
 import com.tbdev.teaneckminyanim.minyan.MinyanType;
 import com.tbdev.teaneckminyanim.model.CalendarEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,6 +17,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long> {
@@ -24,6 +28,12 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Lo
     List<CalendarEvent> findByOrganizationIdAndDateAndEnabledTrue(
             String organizationId, LocalDate date);
 
+    /**
+     * Find all enabled events across ALL organizations on a specific date.
+     * Used to build the homepage day snapshot in a single round-trip.
+     */
+    List<CalendarEvent> findByDateAndEnabledTrue(LocalDate date);
+
     /**
      * Find a specific event by org/date/type/time/source.
      * Used for manual override upsert flows.
@@ -200,4 +210,16 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Lo
     List<CalendarEvent> findAllEnabledEventsInRange(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    /**
+     * Stream all enabled events across ALL organizations in a date range, grouped by
+     * date then organization, fetched from the driver in batches.
+     * Used by the NDJSON schedule export; must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM CalendarEvent e WHERE e.date BETWEEN :startDate AND :endDate " +
+            "AND e.enabled = true ORDER BY e.date, e.organizationId, e.startTime")
+    Stream<CalendarEvent> streamAllEnabledEventsInRange(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,9 @@
+package com.tbdev.teaneckminyanim.repo;
+
+import com.tbdev.teaneckminyanim.model.CalendarFetchState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CalendarFetchStateRepository extends JpaRepository<CalendarFetchState, String> {
+}
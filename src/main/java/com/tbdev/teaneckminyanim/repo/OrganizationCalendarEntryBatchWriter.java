@@ -0,0 +1,108 @@
+package com.tbdev.teaneckminyanim.repo;
+
+import com.tbdev.teaneckminyanim.model.OrganizationCalendarEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Batched JDBC insert path for {@code organization_calendar_entry}.
+ *
+ * <p>Like {@link CalendarEventBatchWriter}: {@link OrganizationCalendarEntry} uses IDENTITY
+ * ids, so Hibernate would insert one row per round-trip. The calendar import writes its
+ * new rows here in JDBC batches of {@link #BATCH_SIZE} instead. Runs in the caller's
+ * transaction; the caller must flush pending JPA changes first.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrganizationCalendarEntryBatchWriter {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO organization_calendar_entry ("
+            + "organization_id, date, start_time, start_datetime, end_time, end_datetime, title, type, name, "
+            + "location, description, hebrew_date, raw_text, source_url, fingerprint, enabled, enabled_manually_set, "
+            + "duplicate_reason, classification, classification_reason, notes, location_manually_edited, "
+            + "manually_edited_by, manually_edited_at, imported_at, updated_at, scraped_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert new (unsaved) entries. Timestamps are stamped as {@code @PrePersist} would;
+     * ids are not populated on the passed entries.
+     *
+     * @return number of rows inserted
+     */
+    public int insertAll(Collection<OrganizationCalendarEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OrganizationCalendarEntry> rows = new ArrayList<>(entries);
+        for (OrganizationCalendarEntry entry : rows) {
+            entry.setImportedAt(now);
+            entry.setUpdatedAt(now);
+            entry.setScrapedAt(now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, e) -> {
+            ps.setString(1, e.getOrganizationId());
+            ps.setDate(2, Date.valueOf(e.getDate()));
+            setTime(ps, 3, e.getStartTime());
+            setTimestamp(ps, 4, e.getStartDatetime());
+            setTime(ps, 5, e.getEndTime());
+            setTimestamp(ps, 6, e.getEndDatetime());
+            ps.setString(7, e.getTitle());
+            ps.setString(8, e.getType());
+            ps.setString(9, e.getName());
+            ps.setString(10, e.getLocation());
+            ps.setString(11, e.getDescription());
+            ps.setString(12, e.getHebrewDate());
+            ps.setString(13, e.getRawText());
+            ps.setString(14, e.getSourceUrl());
+            ps.setString(15, e.getFingerprint());
+            ps.setBoolean(16, e.isEnabled());
+            ps.setBoolean(17, e.isEnabledManuallySet());
+            ps.setString(18, e.getDuplicateReason());
+            ps.setString(19, e.getClassification() != null ? e.getClassification().name() : null);
+            ps.setString(20, e.getClassificationReason());
+            ps.setString(21, e.getNotes());
+            ps.setBoolean(22, e.isLocationManuallyEdited());
+            ps.setString(23, e.getManuallyEditedBy());
+            setTimestamp(ps, 24, e.getManuallyEditedAt());
+            ps.setTimestamp(25, Timestamp.valueOf(e.getImportedAt()));
+            ps.setTimestamp(26, Timestamp.valueOf(e.getUpdatedAt()));
+            ps.setTimestamp(27, Timestamp.valueOf(e.getScrapedAt()));
+        });
+        return rows.size();
+    }
+
+    private static void setTime(PreparedStatement ps, int index, LocalTime value) throws SQLException {
+        if (value != null) {
+            ps.setTime(index, Time.valueOf(value));
+        } else {
+            ps.setNull(index, Types.TIME);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+}
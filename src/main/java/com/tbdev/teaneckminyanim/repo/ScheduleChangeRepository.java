@@ -0,0 +1,34 @@
+package com.tbdev.teaneckminyanim.repo;
+
+import com.tbdev.teaneckminyanim.model.ScheduleChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduleChangeRepository extends JpaRepository<ScheduleChange, Long> {
+
+    /**
+     * Find changes after a cursor, oldest first
+     */
+    List<ScheduleChange> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT MIN(c.id) FROM ScheduleChange c")
+    Long findMinId();
+
+    @Query("SELECT MAX(c.id) FROM ScheduleChange c")
+    Long findMaxId();
+
+    /**
+     * Delete changes older than a cutoff with an ID below {@code keepFromId}
+     */
+    @Modifying
+    @Query("DELETE FROM ScheduleChange c WHERE c.createdAt < :cutoff AND c.id < :keepFromId")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("keepFromId") Long keepFromId);
+}
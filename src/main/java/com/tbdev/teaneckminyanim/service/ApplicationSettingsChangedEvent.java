@@ -0,0 +1,48 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.enums.SettingKey;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Application event published by {@link ApplicationSettingsService} after a setting
+ * is updated. A {@code null} key means the whole settings cache was refreshed.
+ *
+ * <p>Listeners declare an {@code @Order} from the constants below so that zmanim are
+ * recomputed before anything derived from them is versioned, cached or announced.</p>
+ */
+public record ApplicationSettingsChangedEvent(SettingKey key) {
+
+    /** Recompute zmanim for the new location first. */
+    public static final int ORDER_ZMANIM = 0;
+
+    /** Then bump data versions, so ETags computed afterwards see the new zmanim. */
+    public static final int ORDER_DATA_VERSIONS = 10;
+
+    /** Then drop cached API responses built from the old zmanim. */
+    public static final int ORDER_RESPONSE_CACHE = 20;
+
+    /** Then record the change for delta sync. */
+    public static final int ORDER_CHANGE_LOG = 30;
+
+    /** Last, notify streaming clients, who will immediately read everything above. */
+    public static final int ORDER_CHANGE_STREAM = 40;
+
+    private static final Set<SettingKey> GEO_LOCATION_KEYS = EnumSet.of(
+            SettingKey.LOCATION_LATITUDE,
+            SettingKey.LOCATION_LONGITUDE,
+            SettingKey.LOCATION_ELEVATION,
+            SettingKey.TIMEZONE);
+
+    public static ApplicationSettingsChangedEvent refreshed() {
+        return new ApplicationSettingsChangedEvent(null);
+    }
+
+    /**
+     * @return true if the change can move zmanim (latitude, longitude, elevation or timezone)
+     */
+    public boolean affectsGeoLocation() {
+        return key == null || GEO_LOCATION_KEYS.contains(key);
+    }
+}
@@ -7,6 +7,7 @@ import com.tbdev.teaneckminyanim.model.ApplicationSettings;
 import com.tbdev.teaneckminyanim.repo.ApplicationSettingsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 
@@ -30,6 +31,7 @@ import java.util.stream.Collectors;
 public class ApplicationSettingsService {
 
     private final ApplicationSettingsRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
     
     // Cache for performance
     private final Map<String, String> settingsCache = new ConcurrentHashMap<>();
@@ -282,6 +284,7 @@ public class ApplicationSettingsService {
         settingsCache.put(key.getKey(), normalizedValue);
         
         log.info("Updated setting: {} = {}", key.getKey(), normalizedValue);
+        eventPublisher.publishEvent(new ApplicationSettingsChangedEvent(key));
     }
     
     /**
@@ -318,6 +321,7 @@ public class ApplicationSettingsService {
             settingsCache.put(setting.getSettingKey(), setting.getSettingValue());
         }
         log.info("Settings cache refreshed");
+        eventPublisher.publishEvent(ApplicationSettingsChangedEvent.refreshed());
     }
     
     /**
@@ -36,9 +36,14 @@ public class CalendarEventAdapter {
             log.warn("Organization not found for event: {}", event.getOrganizationId());
             return null;
         }
-        
-        Organization org = orgOpt.get();
-        ZoneId zoneId = settingsService.getZoneId();
+        return toMinyanEvent(event, orgOpt.get(), settingsService.getZoneId());
+    }
+
+    /**
+     * Convert a CalendarEvent to a MinyanEvent using an already-loaded organization.
+     * Avoids the per-event organization lookup when the caller holds the org.
+     */
+    public MinyanEvent toMinyanEvent(CalendarEvent event, Organization org, ZoneId zoneId) {
         
         // Convert LocalDate + LocalTime to Date
         Date startTime = Date.from(
@@ -112,4 +117,22 @@ public class CalendarEventAdapter {
         
         return minyanEvents;
     }
+
+    /**
+     * Convert a list of CalendarEvents belonging to a single, already-loaded organization.
+     */
+    public List<MinyanEvent> toMinyanEvents(List<CalendarEvent> events, Organization org) {
+        List<MinyanEvent> minyanEvents = new ArrayList<>();
+        ZoneId zoneId = settingsService.getZoneId();
+
+        for (CalendarEvent event : events) {
+            try {
+                minyanEvents.add(toMinyanEvent(event, org, zoneId));
+            } catch (Exception e) {
+                log.warn("Failed to convert CalendarEvent to MinyanEvent: {}", event.getId(), e);
+            }
+        }
+
+        return minyanEvents;
+    }
 }
@@ -0,0 +1,53 @@
+package com.tbdev.teaneckminyanim.service;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published whenever rows in {@code calendar_events} are written
+ * (materialization, imported live-sync, manual overrides, admin edits), or when an
+ * organization whose details are embedded in schedule responses is edited.
+ *
+ * <p>A {@code null} organization ID means "all organizations"; {@code null} dates
+ * mean "all dates". Listeners use it to drop anything derived from the affected
+ * org/date range, e.g. the resolved effective-schedule cache.</p>
+ *
+ * <p>Listeners declare an {@code @Order} from the constants below so that anything
+ * derived from the schedule is dropped before anything that reads it back.</p>
+ */
+public record CalendarEventsChangedEvent(String organizationId, LocalDate startDate, LocalDate endDate) {
+
+    /** Evict resolved effective schedules first. */
+    public static final int ORDER_EVICT_SCHEDULES = 0;
+
+    /** Then bump data versions, so ETags computed afterwards see the change. */
+    public static final int ORDER_DATA_VERSIONS = 10;
+
+    /** Then drop cached API responses built from the old schedule. */
+    public static final int ORDER_RESPONSE_CACHE = 20;
+
+    /** Then record the changed dates for delta sync. */
+    public static final int ORDER_CHANGE_LOG = 30;
+
+    /** Last, notify streaming clients, who will immediately read everything above. */
+    public static final int ORDER_CHANGE_STREAM = 40;
+
+    public static CalendarEventsChangedEvent forDate(String organizationId, LocalDate date) {
+        return new CalendarEventsChangedEvent(organizationId, date, date);
+    }
+
+    public static CalendarEventsChangedEvent forRange(String organizationId, LocalDate startDate, LocalDate endDate) {
+        return new CalendarEventsChangedEvent(organizationId, startDate, endDate);
+    }
+
+    public static CalendarEventsChangedEvent all() {
+        return new CalendarEventsChangedEvent(null, null, null);
+    }
+
+    /**
+     * @return true if the given date falls within the changed range
+     */
+    public boolean affects(LocalDate date) {
+        return (startDate == null || !date.isBefore(startDate))
+                && (endDate == null || !date.isAfter(endDate));
+    }
+}
@@ -0,0 +1,150 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.model.Organization;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs full materialization across all organizations on a bounded worker pool.
+ *
+ * <p>Each organization is materialized in its own transaction (through the
+ * {@link CalendarMaterializationService} proxy), so a slow or failing org neither
+ * delays the others nor holds one giant transaction open. Pool size defaults to
+ * half the JDBC connection pool (capped at the CPU count) so web requests keep
+ * connections while a run is in progress.</p>
+ */
+@Slf4j
+@Service
+public class CalendarMaterializationExecutor {
+
+    private final CalendarMaterializationService materializationService;
+    private final OrganizationService organizationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int parallelism;
+
+    public CalendarMaterializationExecutor(
+            CalendarMaterializationService materializationService,
+            OrganizationService organizationService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${calendar.materialization.parallelism:0}") int configuredParallelism,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.materializationService = materializationService;
+        this.organizationService = organizationService;
+        this.eventPublisher = eventPublisher;
+        this.parallelism = configuredParallelism > 0
+                ? configuredParallelism
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), connectionPoolSize / 2));
+    }
+
+    /**
+     * Materialize every organization in the rolling window, then clean up events
+     * that fell out of it. Overlapping runs (startup, weekly job, admin trigger) are serialized.
+     *
+     * @return per-organization outcomes and timing
+     */
+    public synchronized MaterializationReport materializeAll() {
+        long start = System.nanoTime();
+        List<Organization> allOrgs = organizationService.getAll();
+        log.info("Starting full materialization for {} organizations (parallelism {})", allOrgs.size(), parallelism);
+
+        List<OrganizationOutcome> outcomes = new ArrayList<>(allOrgs.size());
+        try (ExecutorService pool = Executors.newFixedThreadPool(parallelism, workerThreadFactory())) {
+            List<Future<OrganizationOutcome>> futures = new ArrayList<>(allOrgs.size());
+            for (Organization org : allOrgs) {
+                futures.add(pool.submit(() -> materializeOne(org)));
+            }
+            for (Future<OrganizationOutcome> future : futures) {
+                outcomes.add(await(future));
+            }
+        }
+
+        try {
+            materializationService.cleanupOldEvents();
+        } catch (Exception e) {
+            log.error("Failed to clean up old calendar events: {}", e.getMessage(), e);
+        }
+        // Per-org changes were published by each run; only the cleaned-up history is left
+        LocalDate cleanedBefore = materializationService.getWindowBounds().getStartDate();
+        eventPublisher.publishEvent(CalendarEventsChangedEvent.forRange(null, null, cleanedBefore.minusDays(1)));
+
+        MaterializationReport report = new MaterializationReport(outcomes, elapsedMillis(start), parallelism);
+        log.info("Completed full materialization for {} organizations in {} ms ({} failed)",
+                allOrgs.size(), report.elapsedMillis(), report.failed());
+        return report;
+    }
+
+    private OrganizationOutcome materializeOne(Organization org) {
+        long start = System.nanoTime();
+        try {
+            CalendarMaterializationService.OrganizationSummary summary =
+                    materializationService.materializeOrganization(org.getId());
+            return new OrganizationOutcome(org.getId(), org.getName(), true, elapsedMillis(start), summary, null);
+        } catch (Exception e) {
+            log.error("Failed to materialize organization {}: {}", org.getId(), e.getMessage(), e);
+            return new OrganizationOutcome(org.getId(), org.getName(), false, elapsedMillis(start), null, e.getMessage());
+        }
+    }
+
+    private static OrganizationOutcome await(Future<OrganizationOutcome> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for materialization", e);
+        } catch (ExecutionException e) {
+            // materializeOne catches everything; only reachable on an Error
+            throw new IllegalStateException("Materialization worker failed", e.getCause());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "materialize-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Result of materializing one organization.
+     */
+    public record OrganizationOutcome(
+            String organizationId,
+            String organizationName,
+            boolean success,
+            long elapsedMillis,
+            CalendarMaterializationService.OrganizationSummary summary,
+            String errorMessage) {
+    }
+
+    /**
+     * Aggregate result of a full materialization run.
+     */
+    public record MaterializationReport(List<OrganizationOutcome> outcomes, long elapsedMillis, int parallelism) {
+
+        public long succeeded() {
+            return outcomes.stream().filter(OrganizationOutcome::success).count();
+        }
+
+        public long failed() {
+            return outcomes.size() - succeeded();
+        }
+    }
+}
@@ -21,7 +21,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CalendarMaterializationScheduler {
 
+    /** Weekly refresh: Sunday 2 AM, shared with the calendar import job. */
+    public static final String WEEKLY_CRON = "0 0 2 * * SUN";
+
     private final CalendarMaterializationService materializationService;
+    private final CalendarMaterializationExecutor materializationExecutor;
 
     /**
      * Run materialization on application startup.
@@ -31,7 +35,7 @@ public class CalendarMaterializationScheduler {
     public void materializeOnStartup() {
         log.info("Running initial calendar materialization on application startup");
         try {
-            materializationService.materializeAll();
+            materializationExecutor.materializeAll();
             log.info("Initial calendar materialization completed successfully");
         } catch (Exception e) {
             log.error("Initial calendar materialization failed: {}", e.getMessage(), e);
@@ -43,11 +47,11 @@ public class CalendarMaterializationScheduler {
      * Cron: second, minute, hour, day of month, month, day of week
      * "0 0 2 * * SUN" = 2:00 AM every Sunday
      */
-    @Scheduled(cron = "0 0 2 * * SUN")
+    @Scheduled(cron = WEEKLY_CRON)
     public void materializeWeekly() {
         log.info("Running scheduled weekly calendar materialization");
         try {
-            materializationService.materializeAll();
+            materializationExecutor.materializeAll();
             log.info("Scheduled weekly calendar materialization completed successfully");
         } catch (Exception e) {
             log.error("Scheduled weekly calendar materialization failed: {}", e.getMessage(), e);
@@ -56,10 +60,12 @@ public class CalendarMaterializationScheduler {
 
     /**
      * Manual trigger for materialization (called from admin controller).
+     *
+     * @return per-organization outcomes and timing
      */
-    public void triggerMaterialization() {
+    public CalendarMaterializationExecutor.MaterializationReport triggerMaterialization() {
         log.info("Manual trigger for calendar materialization");
-        materializationService.materializeAll();
+        return materializationExecutor.materializeAll();
     }
 
     /**
@@ -4,10 +4,12 @@ import com.tbdev.teaneckminyanim.enums.EventSource;
 import com.tbdev.teaneckminyanim.minyan.MinyanTime;
 import com.tbdev.teaneckminyanim.minyan.MinyanType;
 import com.tbdev.teaneckminyanim.model.*;
+import com.tbdev.teaneckminyanim.repo.CalendarEventBatchWriter;
 import com.tbdev.teaneckminyanim.repo.CalendarEventRepository;
 import com.tbdev.teaneckminyanim.repo.OrganizationCalendarEntryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,16 +20,19 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Service responsible for materializing calendar events from various sources.
  * 
  * Materialization strategy:
- * - RULES events: Delete + rebuild for rolling window (past 3 weeks, next 8 weeks)
+ * - RULES events: Diffed against existing rows by natural key (minyan + date + type + start time);
+ *   only changed rows are inserted, updated or deleted
  * - IMPORTED events: Materialize from OrganizationCalendarEntry (preserve existing)
  * - Window: Past 3 weeks to next 8 weeks from today
- * - Cadence: Weekly (triggered by scheduled job or manual admin action)
+ * - Cadence: Weekly (triggered by scheduled job or manual admin action), one transaction
+ *   per organization via {@link CalendarMaterializationExecutor}
  */
 @Slf4j
 @Service
@@ -35,69 +40,167 @@ import java.util.Optional;
 public class CalendarMaterializationService {
 
     private final CalendarEventRepository calendarEventRepository;
+    private final CalendarEventBatchWriter calendarEventBatchWriter;
     private final OrganizationCalendarEntryRepository importedEntryRepository;
     private final MinyanService minyanService;
     private final OrganizationService organizationService;
     private final LocationService locationService;
     private final ApplicationSettingsService settingsService;
     private final ZmanimHandler zmanimHandler;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Rolling window configuration
     private static final int PAST_WEEKS = 3;
     private static final int FUTURE_WEEKS = 8;
 
-    /**
-     * Materialize all events for all organizations in the rolling window.
-     * This is the main entry point for scheduled materialization.
-     */
-    @Transactional
-    public void materializeAll() {
-        log.info("Starting full materialization for all organizations");
-        
-        List<Organization> allOrgs = organizationService.getAll();
-        
-        for (Organization org : allOrgs) {
-            try {
-                materializeOrganization(org.getId());
-            } catch (Exception e) {
-                log.error("Failed to materialize organization {}: {}", org.getId(), e.getMessage(), e);
-            }
-        }
-        
-        // Cleanup old events outside the window
-        cleanupOldEvents();
-        
-        log.info("Completed full materialization for {} organizations", allOrgs.size());
-    }
-
     /**
      * Materialize events for a specific organization.
-     * Public method for manual admin triggers.
+     * Runs in its own transaction; full runs go through {@link CalendarMaterializationExecutor}.
+     *
+     * @return counts of what was materialized
      */
     @Transactional
-    public void materializeOrganization(String organizationId) {
+    public OrganizationSummary materializeOrganization(String organizationId) {
         log.info("Materializing events for organization: {}", organizationId);
         
         LocalDate today = LocalDate.now();
         LocalDate startDate = today.minusWeeks(PAST_WEEKS);
         LocalDate endDate = today.plusWeeks(FUTURE_WEEKS);
         
-        // Step 1: Delete existing RULES events in the window
-        log.debug("Deleting RULES events for {} from {} to {}", organizationId, startDate, endDate);
-        calendarEventRepository.deleteRulesEventsInRange(organizationId, startDate, endDate);
-        
-        // Step 2: Generate new RULES events
-        List<CalendarEvent> rulesEvents = generateRulesEvents(organizationId, startDate, endDate);
-        log.debug("Generated {} RULES events for {}", rulesEvents.size(), organizationId);
-        calendarEventRepository.saveAll(rulesEvents);
+        // Step 1: Generate RULES events and apply only the differences
+        RulesDiff rulesDiff = syncRulesEvents(organizationId, startDate, endDate);
         
-        // Step 3: Materialize IMPORTED events (if any new ones exist)
-        List<CalendarEvent> importedEvents = materializeImportedEvents(organizationId, startDate, endDate);
+        // Step 2: Materialize IMPORTED events (if any new ones exist)
+        ImportedChanges imported = materializeImportedEvents(organizationId, startDate, endDate);
+        List<CalendarEvent> importedEvents = imported.toSave();
         log.debug("Materialized {} IMPORTED events for {}", importedEvents.size(), organizationId);
-        calendarEventRepository.saveAll(importedEvents);
+        if (!importedEvents.isEmpty()) {
+            calendarEventRepository.saveAll(importedEvents);
+        }
+        if (rulesDiff.hasChanges() || imported.hasChanges()) {
+            // Only the changed dates, so delta sync and caches are not refreshed window-wide
+            LocalDate firstChanged = rulesDiff.firstChanged();
+            LocalDate lastChanged = rulesDiff.lastChanged();
+            for (LocalDate date : imported.changedDates()) {
+                firstChanged = firstChanged == null || date.isBefore(firstChanged) ? date : firstChanged;
+                lastChanged = lastChanged == null || date.isAfter(lastChanged) ? date : lastChanged;
+            }
+            eventPublisher.publishEvent(CalendarEventsChangedEvent.forRange(organizationId, firstChanged, lastChanged));
+        }
         
-        log.info("Completed materialization for organization {}: {} rules, {} imported", 
-                organizationId, rulesEvents.size(), importedEvents.size());
+        log.info("Completed materialization for organization {}: {} rules ({} inserted, {} updated, {} deleted), {} imported",
+                organizationId, rulesDiff.total(), rulesDiff.inserted(), rulesDiff.updated(), rulesDiff.deleted(),
+                importedEvents.size());
+        return new OrganizationSummary(rulesDiff.total(),
+                rulesDiff.inserted() + rulesDiff.updated() + rulesDiff.deleted(), importedEvents.size());
+    }
+
+    /**
+     * Bring the org's RULES rows in the window in line with the generated set.
+     * Rows are matched by natural key; matching rows are updated only if their content
+     * drifted, unmatched existing rows are deleted in one batch and the rest inserted
+     * through JDBC batches.
+     * An unchanged schedule therefore only reads.
+     */
+    private RulesDiff syncRulesEvents(String organizationId, LocalDate startDate, LocalDate endDate) {
+        List<CalendarEvent> desired = generateRulesEvents(organizationId, startDate, endDate);
+        List<CalendarEvent> existing = calendarEventRepository.findByOrganizationIdAndSourceAndDateBetween(
+                organizationId, EventSource.RULES, startDate, endDate);
+
+        Map<RulesEventKey, CalendarEvent> existingByKey = new HashMap<>();
+        List<CalendarEvent> toDelete = new ArrayList<>();
+        for (CalendarEvent event : existing) {
+            if (existingByKey.putIfAbsent(RulesEventKey.of(event), event) != null) {
+                toDelete.add(event);
+            }
+        }
+
+        List<CalendarEvent> toInsert = new ArrayList<>();
+        List<CalendarEvent> toUpdate = new ArrayList<>();
+        for (CalendarEvent event : desired) {
+            CalendarEvent current = existingByKey.remove(RulesEventKey.of(event));
+            if (current == null) {
+                toInsert.add(event);
+            } else if (copyRulesContent(event, current)) {
+                toUpdate.add(current);
+            }
+        }
+        toDelete.addAll(existingByKey.values());
+
+        if (!toDelete.isEmpty()) {
+            calendarEventRepository.deleteAllInBatch(toDelete);
+        }
+        if (!toUpdate.isEmpty()) {
+            calendarEventRepository.saveAll(toUpdate);
+        }
+        calendarEventBatchWriter.insertAll(toInsert);
+
+        LocalDate firstChanged = null;
+        LocalDate lastChanged = null;
+        for (List<CalendarEvent> changed : List.of(toDelete, toUpdate, toInsert)) {
+            for (CalendarEvent event : changed) {
+                firstChanged = firstChanged == null || event.getDate().isBefore(firstChanged) ? event.getDate() : firstChanged;
+                lastChanged = lastChanged == null || event.getDate().isAfter(lastChanged) ? event.getDate() : lastChanged;
+            }
+        }
+
+        log.debug("RULES diff for {}: {} desired, {} inserted, {} updated, {} deleted",
+                organizationId, desired.size(), toInsert.size(), toUpdate.size(), toDelete.size());
+        return new RulesDiff(desired.size(), toInsert.size(), toUpdate.size(), toDelete.size(),
+                firstChanged, lastChanged);
+    }
+
+    /**
+     * Copy rule-derived content onto an existing row, resetting admin edits exactly as
+     * the previous delete-and-rebuild did.
+     *
+     * @return true if anything changed
+     */
+    private boolean copyRulesContent(CalendarEvent from, CalendarEvent to) {
+        boolean unchanged = Objects.equals(from.getNotes(), to.getNotes())
+                && Objects.equals(from.getLocationId(), to.getLocationId())
+                && Objects.equals(from.getLocationName(), to.getLocationName())
+                && from.isEnabled() == to.isEnabled()
+                && from.getNusach() == to.getNusach()
+                && Objects.equals(from.getWhatsapp(), to.getWhatsapp())
+                && Objects.equals(from.getDynamicTimeString(), to.getDynamicTimeString())
+                && from.isManuallyEdited() == to.isManuallyEdited()
+                && to.getEditedBy() == null
+                && to.getEditedAt() == null;
+        if (unchanged) {
+            return false;
+        }
+        to.setNotes(from.getNotes());
+        to.setLocationId(from.getLocationId());
+        to.setLocationName(from.getLocationName());
+        to.setEnabled(from.isEnabled());
+        to.setNusach(from.getNusach());
+        to.setWhatsapp(from.getWhatsapp());
+        to.setDynamicTimeString(from.getDynamicTimeString());
+        to.setManuallyEdited(from.isManuallyEdited());
+        to.setEditedBy(null);
+        to.setEditedAt(null);
+        return true;
+    }
+
+    /**
+     * Natural key of a RULES event: one row per minyan, date, type and start time.
+     */
+    private record RulesEventKey(String sourceRef, LocalDate date, MinyanType minyanType, LocalTime startTime) {
+        static RulesEventKey of(CalendarEvent event) {
+            return new RulesEventKey(event.getSourceRef(), event.getDate(), event.getMinyanType(), event.getStartTime());
+        }
+    }
+
+    /**
+     * @param firstChanged earliest date with an inserted, updated or deleted row (null if none)
+     * @param lastChanged  latest such date (null if none)
+     */
+    private record RulesDiff(int total, int inserted, int updated, int deleted,
+                             LocalDate firstChanged, LocalDate lastChanged) {
+        boolean hasChanges() {
+            return inserted + updated + deleted > 0;
+        }
     }
 
     /**
@@ -118,6 +221,12 @@ public class CalendarMaterializationService {
         
         // Get timezone from settings
         ZoneId zoneId = settingsService.getZoneId();
+
+        // Preload the org's locations once instead of a lookup per minyan per day
+        Map<String, Location> locationsById = new HashMap<>();
+        for (Location location : locationService.findMatching(organizationId)) {
+            locationsById.put(location.getId(), location);
+        }
         
         // Iterate through each day in the window
         LocalDate currentDate = startDate;
@@ -134,14 +243,14 @@ public class CalendarMaterializationService {
                         // This avoids the bug in TimeRule.getTime() which creates its own
                         // ZmanimHandler() that falls back to Jerusalem coordinates.
                         LocalTime startTime = minyanTime.resolveLocalTime(
-                                zmanimHandler::getZmanim, date, zoneId);
+                                zmanimHandler, date, zoneId);
 
                         if (startTime != null) {
                             
                             // Get location details
                             String locationId = minyan.getLocationId();
                             String locationName = null;
-                            Location location = locationService.findById(locationId);
+                            Location location = lookupLocation(locationId, locationsById);
                             if (location != null) {
                                 locationName = location.getName();
                             }
@@ -184,18 +293,30 @@ public class CalendarMaterializationService {
         return events;
     }
 
+    /**
+     * Resolve a minyan's location from the preloaded org map, falling back to a direct
+     * lookup (remembered for the rest of the run) for locations owned by another org.
+     */
+    private Location lookupLocation(String locationId, Map<String, Location> locationsById) {
+        if (locationId == null) {
+            return null;
+        }
+        return locationsById.computeIfAbsent(locationId, locationService::findById);
+    }
+
     /**
      * Materialize imported calendar entries into calendar events.
-     * Creates missing rows and syncs existing rows (including enabled drift).
+     * Creates missing rows and syncs existing rows (including enabled drift);
+     * only rows that are new or actually differ are returned for saving.
      */
-    private List<CalendarEvent> materializeImportedEvents(String organizationId, LocalDate startDate, LocalDate endDate) {
+    private ImportedChanges materializeImportedEvents(String organizationId, LocalDate startDate, LocalDate endDate) {
         List<OrganizationCalendarEntry> entries =
                 importedEntryRepository.findEntriesInRange(organizationId, startDate, endDate);
 
         Optional<Organization> orgOpt = organizationService.findById(organizationId);
         if (orgOpt.isEmpty()) {
             log.warn("Organization not found: {}", organizationId);
-            return List.of();
+            return new ImportedChanges(List.of(), List.of());
         }
         Organization org = orgOpt.get();
 
@@ -203,15 +324,25 @@ public class CalendarMaterializationService {
                 calendarEventRepository.findByOrganizationIdAndSourceAndDateBetween(
                         organizationId, EventSource.IMPORTED, startDate, endDate);
 
+        ImportedChanges changes = new ImportedChanges(new ArrayList<>(), new ArrayList<>());
         Map<String, CalendarEvent> bySourceRef = new HashMap<>();
-        populateImportedEventCache(organizationId, existingImported, bySourceRef);
+        populateImportedEventCache(organizationId, existingImported, bySourceRef, changes);
 
-        List<CalendarEvent> eventsToSave = new ArrayList<>();
         for (OrganizationCalendarEntry entry : entries) {
-            upsertImportedEventFromEntry(entry, org, bySourceRef, eventsToSave);
+            upsertImportedEventFromEntry(entry, org, bySourceRef, changes);
         }
 
-        return eventsToSave;
+        return changes;
+    }
+
+    /**
+     * IMPORTED rows to save, plus every date they touch (a moved row touches its old
+     * date too, a deleted duplicate its own).
+     */
+    private record ImportedChanges(List<CalendarEvent> toSave, List<LocalDate> changedDates) {
+        boolean hasChanges() {
+            return !changedDates.isEmpty();
+        }
     }
 
     /**
@@ -259,25 +390,35 @@ public class CalendarMaterializationService {
                 calendarEventRepository.findByOrganizationIdAndSourceAndDateBetween(
                         organizationId, EventSource.IMPORTED, effectiveStart, effectiveEnd);
 
+        ImportedChanges changes = new ImportedChanges(new ArrayList<>(), new ArrayList<>());
         Map<String, CalendarEvent> bySourceRef = new HashMap<>();
-        populateImportedEventCache(organizationId, existingImported, bySourceRef);
+        populateImportedEventCache(organizationId, existingImported, bySourceRef, changes);
 
-        List<CalendarEvent> eventsToSave = new ArrayList<>();
         for (OrganizationCalendarEntry entry : entries) {
-            upsertImportedEventFromEntry(entry, org, bySourceRef, eventsToSave);
+            upsertImportedEventFromEntry(entry, org, bySourceRef, changes);
         }
 
-        if (!eventsToSave.isEmpty()) {
-            calendarEventRepository.saveAll(eventsToSave);
-            log.debug("Live-synced {} imported materialized events for {}", eventsToSave.size(), organizationId);
+        if (!changes.hasChanges()) {
+            return;
+        }
+        if (!changes.toSave().isEmpty()) {
+            calendarEventRepository.saveAll(changes.toSave());
+            log.debug("Live-synced {} imported materialized events for {}", changes.toSave().size(), organizationId);
+        }
+        LocalDate firstChanged = null;
+        LocalDate lastChanged = null;
+        for (LocalDate date : changes.changedDates()) {
+            firstChanged = firstChanged == null || date.isBefore(firstChanged) ? date : firstChanged;
+            lastChanged = lastChanged == null || date.isAfter(lastChanged) ? date : lastChanged;
         }
+        eventPublisher.publishEvent(CalendarEventsChangedEvent.forRange(organizationId, firstChanged, lastChanged));
     }
 
     private void upsertImportedEventFromEntry(
             OrganizationCalendarEntry entry,
             Organization org,
             Map<String, CalendarEvent> existingBySourceRef,
-            List<CalendarEvent> eventsToSave) {
+            ImportedChanges changes) {
         if (entry == null || entry.getId() == null) {
             return;
         }
@@ -294,11 +435,16 @@ public class CalendarMaterializationService {
         if (!materializable) {
             if (existingEvent != null && existingEvent.isEnabled()) {
                 existingEvent.setEnabled(false);
-                eventsToSave.add(existingEvent);
+                changes.toSave().add(existingEvent);
+                changes.changedDates().add(existingEvent.getDate());
             }
             return;
         }
 
+        if (existingEvent != null && matchesImportedEntry(existingEvent, entry, minyanType, resolvedStartTime, org)) {
+            return;
+        }
+
         CalendarEvent target = existingEvent != null
                 ? existingEvent
                 : CalendarEvent.builder()
@@ -310,6 +456,9 @@ public class CalendarMaterializationService {
                 .manuallyEdited(false)
                 .build();
 
+        if (existingEvent != null && existingEvent.getDate() != null) {
+            changes.changedDates().add(existingEvent.getDate());
+        }
         target.setDate(entry.getDate());
         target.setMinyanType(minyanType);
         target.setStartTime(resolvedStartTime);
@@ -319,7 +468,24 @@ public class CalendarMaterializationService {
         target.setEnabled(entry.isEnabled());
         target.setNusach(org.getNusach());
 
-        eventsToSave.add(target);
+        changes.toSave().add(target);
+        changes.changedDates().add(target.getDate());
+    }
+
+    /**
+     * Whether an existing materialized row already carries what the entry would write,
+     * so unchanged imports are not saved (or reported) again.
+     */
+    private boolean matchesImportedEntry(CalendarEvent event, OrganizationCalendarEntry entry,
+                                         MinyanType minyanType, LocalTime startTime, Organization org) {
+        return Objects.equals(event.getDate(), entry.getDate())
+                && event.getMinyanType() == minyanType
+                && Objects.equals(event.getStartTime(), startTime)
+                && Objects.equals(event.getNotes(), entry.getNotes())
+                && event.getLocationId() == null
+                && Objects.equals(event.getLocationName(), entry.getLocation())
+                && event.isEnabled() == entry.isEnabled()
+                && event.getNusach() == org.getNusach();
     }
 
     private LocalTime resolveStartTime(OrganizationCalendarEntry entry) {
@@ -339,7 +505,8 @@ public class CalendarMaterializationService {
     private void populateImportedEventCache(
             String organizationId,
             List<CalendarEvent> existingImported,
-            Map<String, CalendarEvent> bySourceRef) {
+            Map<String, CalendarEvent> bySourceRef,
+            ImportedChanges changes) {
         List<CalendarEvent> duplicates = new ArrayList<>();
 
         for (CalendarEvent existing : existingImported) {
@@ -363,6 +530,11 @@ public class CalendarMaterializationService {
 
         if (!duplicates.isEmpty()) {
             calendarEventRepository.deleteAll(duplicates);
+            for (CalendarEvent duplicate : duplicates) {
+                if (duplicate.getDate() != null) {
+                    changes.changedDates().add(duplicate.getDate());
+                }
+            }
             log.warn("Deleted {} duplicate imported calendar_events rows for {}", duplicates.size(), organizationId);
         }
     }
@@ -409,6 +581,16 @@ public class CalendarMaterializationService {
         return !date.isBefore(bounds.getStartDate()) && !date.isAfter(bounds.getEndDate());
     }
 
+    /**
+     * Counts from materializing one organization.
+     *
+     * @param rulesEvents    RULES events in the window after materialization
+     * @param rulesChanged   RULES rows inserted, updated or deleted
+     * @param importedEvents IMPORTED events created or synced
+     */
+    public record OrganizationSummary(int rulesEvents, int rulesChanged, int importedEvents) {
+    }
+
     /**
      * Helper class for window bounds.
      */
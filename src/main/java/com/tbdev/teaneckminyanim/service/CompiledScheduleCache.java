@@ -0,0 +1,117 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tbdev.teaneckminyanim.minyan.MinyanTime;
+import com.tbdev.teaneckminyanim.minyan.Schedule;
+import com.tbdev.teaneckminyanim.model.Minyan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cache of compiled {@link Schedule}s, one per minyan.
+ *
+ * <p>Each entry remembers the eleven raw {@code START_TIME_*} strings it was compiled
+ * from, so a lookup reuses the compiled schedule only while the minyan's content is
+ * unchanged; an edited minyan is recompiled on its next load. Compiled schedules are
+ * immutable and shared between requests.</p>
+ *
+ * <p>Unparseable time strings compile to an empty (NONE) slot instead of failing the
+ * whole lookup; they are logged and counted in {@code minyan.schedule.invalid_rules}.</p>
+ */
+@Slf4j
+@Component
+public class CompiledScheduleCache {
+
+    private static final int MAX_CACHED_MINYANIM = 4096;
+
+    private final Cache<String, CompiledSchedule> schedules = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_MINYANIM)
+            .build();
+
+    private final Counter invalidRules;
+
+    public CompiledScheduleCache(MeterRegistry meterRegistry) {
+        this.invalidRules = Counter.builder("minyan.schedule.invalid_rules")
+                .description("Minyan START_TIME values that could not be parsed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the compiled schedule for a minyan, compiling it if the minyan is new or its
+     * raw times changed since it was last compiled.
+     */
+    public Schedule get(Minyan minyan) {
+        List<String> rawTimes = rawTimes(minyan);
+        if (minyan.getId() == null) {
+            return compile(minyan.getId(), rawTimes);
+        }
+
+        CompiledSchedule cached = schedules.getIfPresent(minyan.getId());
+        if (cached != null && cached.rawTimes().equals(rawTimes)) {
+            return cached.schedule();
+        }
+
+        Schedule schedule = compile(minyan.getId(), rawTimes);
+        schedules.put(minyan.getId(), new CompiledSchedule(rawTimes, schedule));
+        return schedule;
+    }
+
+    /**
+     * Drop a minyan's compiled schedule (e.g. after it is deleted).
+     */
+    public void evict(String minyanId) {
+        if (minyanId != null) {
+            schedules.invalidate(minyanId);
+        }
+    }
+
+    private Schedule compile(String minyanId, List<String> rawTimes) {
+        MinyanTime[] times = new MinyanTime[rawTimes.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = compileTime(minyanId, rawTimes.get(i));
+        }
+        return new Schedule(times[0], times[1], times[2], times[3], times[4], times[5],
+                times[6], times[7], times[8], times[9], times[10]);
+    }
+
+    private MinyanTime compileTime(String minyanId, String rawTime) {
+        try {
+            MinyanTime minyanTime = new MinyanTime(rawTime);
+            if (minyanTime.isNone() && !isBlankOrNoMinyan(rawTime)) {
+                reportInvalid(minyanId, rawTime, null);
+            }
+            return minyanTime;
+        } catch (RuntimeException e) {
+            reportInvalid(minyanId, rawTime, e);
+            return new MinyanTime();
+        }
+    }
+
+    private void reportInvalid(String minyanId, String rawTime, RuntimeException e) {
+        invalidRules.increment();
+        log.warn("Invalid time rule '{}' for minyan {}{}", rawTime, minyanId,
+                e != null ? ": " + e.getMessage() : "");
+    }
+
+    private static boolean isBlankOrNoMinyan(String rawTime) {
+        return rawTime == null || rawTime.isEmpty() || rawTime.equalsIgnoreCase("NM");
+    }
+
+    private static List<String> rawTimes(Minyan minyan) {
+        // Same slot order as the Schedule(String...) constructor
+        return Arrays.asList(
+                minyan.getStartTime1(), minyan.getStartTime2(), minyan.getStartTime3(),
+                minyan.getStartTime4(), minyan.getStartTime5(), minyan.getStartTime6(),
+                minyan.getStartTime7(), minyan.getStartTimeRC(), minyan.getStartTimeYT(),
+                minyan.getStartTimeCH(), minyan.getStartTimeCHRC());
+    }
+
+    private record CompiledSchedule(List<String> rawTimes, Schedule schedule) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tbdev.teaneckminyanim.model.CalendarEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * In-process cache of fully resolved effective schedules, one entry per date
+ * holding every organization's events with MANUAL/IMPORTED/RULES precedence
+ * already applied.
+ *
+ * <p>Entries are dropped when a {@link CalendarEventsChangedEvent} is published
+ * (after the writing transaction commits). A global version counter guards
+ * against a load that raced a write: if any invalidation happened while a load
+ * was in flight, the loaded days are not kept.</p>
+ *
+ * <p>Cached lists and events are shared between requests and must be treated as read-only.</p>
+ */
+@Slf4j
+@Component
+public class EffectiveScheduleCache {
+
+    /** Comfortably larger than the rolling materialization window (~11 weeks). */
+    static final int MAX_CACHED_DAYS = 128;
+
+    private final Cache<LocalDate, Map<String, List<CalendarEvent>>> days = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_DAYS)
+            .expireAfterWrite(6, TimeUnit.HOURS)
+            .build();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Get resolved schedules for every date in {@code [startDate, endDate]}, loading
+     * any missing dates with a single call to {@code loader} spanning the missing span.
+     *
+     * @param loader loads resolved days for an inclusive range; dates without events may be absent
+     * @return resolved days keyed by date, in date order (every requested date present)
+     */
+    public Map<LocalDate, Map<String, List<CalendarEvent>>> getDays(
+            LocalDate startDate,
+            LocalDate endDate,
+            BiFunction<LocalDate, LocalDate, Map<LocalDate, Map<String, List<CalendarEvent>>>> loader) {
+
+        List<LocalDate> requested = startDate.datesUntil(endDate.plusDays(1)).toList();
+        Map<LocalDate, Map<String, List<CalendarEvent>>> present = days.getAllPresent(requested);
+        if (present.size() == requested.size()) {
+            return ordered(requested, present, Map.of());
+        }
+
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate date : requested) {
+            if (!present.containsKey(date)) {
+                missing.add(date);
+            }
+        }
+
+        long versionBeforeLoad = version.get();
+        LocalDate loadStart = missing.get(0);
+        LocalDate loadEnd = missing.get(missing.size() - 1);
+        Map<LocalDate, Map<String, List<CalendarEvent>>> loaded = loader.apply(loadStart, loadEnd);
+        log.debug("Loaded effective schedule for {} – {} ({} cached, {} missing)",
+                loadStart, loadEnd, present.size(), missing.size());
+
+        for (LocalDate date : missing) {
+            days.put(date, loaded.getOrDefault(date, Map.of()));
+        }
+        if (version.get() != versionBeforeLoad) {
+            // A write committed while we were loading; what we just stored may be stale.
+            days.invalidateAll(missing);
+        }
+
+        return ordered(requested, present, loaded);
+    }
+
+    /**
+     * Get the resolved schedule for a single date.
+     */
+    public Map<String, List<CalendarEvent>> getDay(
+            LocalDate date,
+            BiFunction<LocalDate, LocalDate, Map<LocalDate, Map<String, List<CalendarEvent>>>> loader) {
+        return getDays(date, date, loader).get(date);
+    }
+
+    /**
+     * Drop cached days touched by a calendar_events write. Runs after the writing
+     * transaction commits, or immediately when published outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CalendarEventsChangedEvent.ORDER_EVICT_SCHEDULES)
+    public void onCalendarEventsChanged(CalendarEventsChangedEvent event) {
+        version.incrementAndGet();
+        if (event.startDate() == null && event.endDate() == null) {
+            days.invalidateAll();
+        } else {
+            days.asMap().keySet().removeIf(event::affects);
+        }
+        log.debug("Invalidated effective schedule cache for org {} ({} – {})",
+                event.organizationId(), event.startDate(), event.endDate());
+    }
+
+    private static Map<LocalDate, Map<String, List<CalendarEvent>>> ordered(
+            List<LocalDate> requested,
+            Map<LocalDate, Map<String, List<CalendarEvent>>> present,
+            Map<LocalDate, Map<String, List<CalendarEvent>>> loaded) {
+        Map<LocalDate, Map<String, List<CalendarEvent>>> result = new LinkedHashMap<>();
+        for (LocalDate date : requested) {
+            Map<String, List<CalendarEvent>> day = present.get(date);
+            if (day == null) {
+                day = loaded.getOrDefault(date, Map.of());
+            }
+            result.put(date, day);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -4,16 +4,22 @@ import com.tbdev.teaneckminyanim.enums.EventSource;
 import com.tbdev.teaneckminyanim.minyan.MinyanType;
 import com.tbdev.teaneckminyanim.model.CalendarEvent;
 import com.tbdev.teaneckminyanim.repo.CalendarEventRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -24,6 +30,9 @@ import java.util.stream.Stream;
  * - If any MANUAL full-day overrides exist for org+date, only MANUAL events are shown
  * - Otherwise, IMPORTED events override RULES events for that day
  * - MANUAL additive overrides are appended to the winning source for that day
+ *
+ * Resolved days inside the materialization window are served from
+ * {@link EffectiveScheduleCache}, which is invalidated on every calendar_events write.
  */
 @Slf4j
 @Service
@@ -34,6 +43,8 @@ public class EffectiveScheduleService {
 
     private final CalendarEventRepository calendarEventRepository;
     private final CalendarMaterializationService materializationService;
+    private final EffectiveScheduleCache scheduleCache;
+    private final EntityManager entityManager;
 
     /**
      * Get effective events for an organization on a specific date.
@@ -50,9 +61,8 @@ public class EffectiveScheduleService {
             return List.of();
         }
 
-        List<CalendarEvent> dayEvents = calendarEventRepository
-                .findByOrganizationIdAndDateAndEnabledTrue(organizationId, date);
-        return applyDayPrecedence(dayEvents);
+        return scheduleCache.getDay(date, this::loadResolvedDays)
+                .getOrDefault(organizationId, List.of());
     }
 
     /**
@@ -64,7 +74,13 @@ public class EffectiveScheduleService {
      * @return List of effective events with precedence applied
      */
     public List<CalendarEvent> getEffectiveEventsInRange(String organizationId, LocalDate startDate, LocalDate endDate) {
-        // Get all enabled events in range
+        if (isRangeInWindow(startDate, endDate)) {
+            return scheduleCache.getDays(startDate, endDate, this::loadResolvedDays).values().stream()
+                    .flatMap(day -> day.getOrDefault(organizationId, List.of()).stream())
+                    .collect(Collectors.toList());
+        }
+
+        // Outside the window (admin views): get all enabled events in range
         List<CalendarEvent> allEvents = calendarEventRepository
                 .findEnabledEventsInRange(organizationId, startDate, endDate);
 
@@ -88,6 +104,14 @@ public class EffectiveScheduleService {
      * @return Effective events sorted by date then startTime
      */
     public List<CalendarEvent> getAllOrgsEffectiveEventsInRange(LocalDate startDate, LocalDate endDate) {
+        if (isRangeInWindow(startDate, endDate)) {
+            return scheduleCache.getDays(startDate, endDate, this::loadResolvedDays).values().stream()
+                    .flatMap(day -> day.values().stream()
+                            .flatMap(List::stream)
+                            .sorted(Comparator.comparing(CalendarEvent::getStartTime)))
+                    .collect(Collectors.toList());
+        }
+
         List<CalendarEvent> allEvents = calendarEventRepository.findAllEnabledEventsInRange(startDate, endDate);
 
         // Group by orgId+date key, apply precedence per org per day
@@ -99,6 +123,53 @@ public class EffectiveScheduleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Stream effective events across ALL organizations for a date range without holding
+     * the range in memory: rows are read through a database cursor and each org's day is
+     * resolved (MANUAL/IMPORTED/RULES precedence) and handed to {@code orgDayConsumer} as
+     * soon as it is complete, then released. Bypasses {@link EffectiveScheduleCache}.
+     *
+     * @param orgDayConsumer receives one org's effective events for one date, sorted by
+     *                       startTime; calls arrive ordered by date, then organization ID
+     */
+    @Transactional(readOnly = true)
+    public void streamAllOrgsEffectiveEventsInRange(LocalDate startDate, LocalDate endDate,
+                                                    Consumer<List<CalendarEvent>> orgDayConsumer) {
+        List<CalendarEvent> orgDay = new ArrayList<>();
+        try (Stream<CalendarEvent> events = calendarEventRepository.streamAllEnabledEventsInRange(startDate, endDate)) {
+            Iterator<CalendarEvent> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                CalendarEvent event = iterator.next();
+                if (!orgDay.isEmpty() && !isSameOrgDay(orgDay.get(0), event)) {
+                    emitOrgDay(orgDay, orgDayConsumer);
+                }
+                orgDay.add(event);
+            }
+            if (!orgDay.isEmpty()) {
+                emitOrgDay(orgDay, orgDayConsumer);
+            }
+        }
+    }
+
+    /**
+     * Get a day snapshot of effective events across ALL organizations.
+     * Loads every enabled event for the date in one query and applies
+     * MANUAL/IMPORTED/RULES precedence per organization in memory; the result
+     * is cached until the day's calendar_events change.
+     * Used by the homepage, which renders every shul for a single day.
+     *
+     * @param date Date to get events for
+     * @return Effective events keyed by organization ID (orgs without events are absent)
+     */
+    public Map<String, List<CalendarEvent>> getAllOrgsEffectiveEventsForDate(LocalDate date) {
+        if (!materializationService.isDateInWindow(date)) {
+            log.debug("Date {} is outside materialization window", date);
+            return Map.of();
+        }
+
+        return scheduleCache.getDay(date, this::loadResolvedDays);
+    }
+
     /**
      * Get all events (including disabled) for admin views.
      * Does NOT apply precedence - shows everything.
@@ -138,6 +209,44 @@ public class EffectiveScheduleService {
         return materializationService.getWindowBounds();
     }
 
+    private boolean isRangeInWindow(LocalDate startDate, LocalDate endDate) {
+        return !endDate.isBefore(startDate)
+                && materializationService.isDateInWindow(startDate)
+                && materializationService.isDateInWindow(endDate);
+    }
+
+    /**
+     * Load enabled events for a date range in one query and resolve each day,
+     * applying precedence per organization. Cache loader for {@link EffectiveScheduleCache}.
+     */
+    private Map<LocalDate, Map<String, List<CalendarEvent>>> loadResolvedDays(LocalDate startDate, LocalDate endDate) {
+        List<CalendarEvent> events = startDate.equals(endDate)
+                ? calendarEventRepository.findByDateAndEnabledTrue(startDate)
+                : calendarEventRepository.findAllEnabledEventsInRange(startDate, endDate);
+
+        Map<LocalDate, Map<String, List<CalendarEvent>>> resolved = new LinkedHashMap<>();
+        events.stream()
+                .collect(Collectors.groupingBy(CalendarEvent::getDate, LinkedHashMap::new,
+                        Collectors.groupingBy(CalendarEvent::getOrganizationId, LinkedHashMap::new, Collectors.toList())))
+                .forEach((date, byOrg) -> {
+                    Map<String, List<CalendarEvent>> effectiveByOrg = new LinkedHashMap<>();
+                    byOrg.forEach((orgId, orgEvents) -> effectiveByOrg.put(orgId, applyDayPrecedence(orgEvents)));
+                    resolved.put(date, Collections.unmodifiableMap(effectiveByOrg));
+                });
+        return resolved;
+    }
+
+    private void emitOrgDay(List<CalendarEvent> orgDay, Consumer<List<CalendarEvent>> orgDayConsumer) {
+        orgDayConsumer.accept(applyDayPrecedence(List.copyOf(orgDay)));
+        orgDay.clear();
+        // Streamed rows are read-only; drop them from the persistence context so it stays small
+        entityManager.clear();
+    }
+
+    private static boolean isSameOrgDay(CalendarEvent a, CalendarEvent b) {
+        return a.getDate().equals(b.getDate()) && a.getOrganizationId().equals(b.getOrganizationId());
+    }
+
     private List<CalendarEvent> applyDayPrecedence(List<CalendarEvent> dayEvents) {
         if (dayEvents == null || dayEvents.isEmpty()) {
             return List.of();
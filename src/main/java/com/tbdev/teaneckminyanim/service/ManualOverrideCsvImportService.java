@@ -6,6 +6,7 @@ import com.tbdev.teaneckminyanim.minyan.MinyanType;
 import com.tbdev.teaneckminyanim.model.CalendarEvent;
 import com.tbdev.teaneckminyanim.model.Location;
 import com.tbdev.teaneckminyanim.model.Organization;
+import com.tbdev.teaneckminyanim.repo.CalendarEventBatchWriter;
 import com.tbdev.teaneckminyanim.repo.CalendarEventRepository;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -58,8 +60,10 @@ public class ManualOverrideCsvImportService {
     private static final Set<String> FALSE_VALUES = Set.of("false", "0", "no", "n");
 
     private final CalendarEventRepository calendarEventRepository;
+    private final CalendarEventBatchWriter calendarEventBatchWriter;
     private final OrganizationService organizationService;
     private final LocationService locationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ImportResult importCsv(String orgId, MultipartFile file, String username) {
@@ -126,23 +130,42 @@ public class ManualOverrideCsvImportService {
         for (LocalDate date : fullDayReplaceDates) {
             deletedCount += calendarEventRepository.deleteByOrganizationIdAndDateAndSource(
                     orgId, date, EventSource.MANUAL);
+            eventPublisher.publishEvent(CalendarEventsChangedEvent.forDate(orgId, date));
         }
         result.setDeletedManualCount(deletedCount);
 
+        // New rows are collected and inserted in one JDBC batch; rows repeating a key
+        // within the file update the pending row, as they would have updated the saved one.
+        Map<ManualEventKey, CalendarEvent> pendingInserts = new LinkedHashMap<>();
+        Set<LocalDate> touchedDates = new TreeSet<>();
         for (ParsedRow row : parsedRows) {
             try {
-                upsertRow(orgId, username, row, result);
+                upsertRow(orgId, username, row, pendingInserts, result);
+                touchedDates.add(row.date());
             } catch (Exception e) {
                 result.addError("Row " + row.rowNumber() + ": failed to save (" + e.getMessage() + ")");
             }
         }
 
+        calendarEventBatchWriter.insertAll(pendingInserts.values());
+        for (LocalDate date : touchedDates) {
+            eventPublisher.publishEvent(CalendarEventsChangedEvent.forDate(orgId, date));
+        }
+
         return result;
     }
 
-    private void upsertRow(String orgId, String username, ParsedRow row, ImportResult result) {
-        Optional<CalendarEvent> existing = calendarEventRepository
-                .findFirstByOrganizationIdAndDateAndMinyanTypeAndStartTimeAndSource(
+    private void upsertRow(
+            String orgId,
+            String username,
+            ParsedRow row,
+            Map<ManualEventKey, CalendarEvent> pendingInserts,
+            ImportResult result) {
+        ManualEventKey key = new ManualEventKey(row.date(), row.minyanType(), row.startTime());
+        CalendarEvent pending = pendingInserts.get(key);
+        Optional<CalendarEvent> existing = pending != null
+                ? Optional.of(pending)
+                : calendarEventRepository.findFirstByOrganizationIdAndDateAndMinyanTypeAndStartTimeAndSource(
                         orgId, row.date(), row.minyanType(), row.startTime(), EventSource.MANUAL);
 
         String sourceRefPrefix = MODE_FULL_DAY_REPLACE.equals(row.overrideMode())
@@ -170,7 +193,11 @@ public class ManualOverrideCsvImportService {
         event.setDynamicTimeString(null);
         event.setWhatsapp(null);
 
-        calendarEventRepository.save(event);
+        if (event.getId() != null) {
+            calendarEventRepository.save(event);
+        } else {
+            pendingInserts.put(key, event);
+        }
 
         if (existing.isPresent()) {
             result.incrementUpdatedCount();
@@ -179,6 +206,9 @@ public class ManualOverrideCsvImportService {
         }
     }
 
+    private record ManualEventKey(LocalDate date, MinyanType minyanType, LocalTime startTime) {
+    }
+
     private ParsedRow parseRow(CSVRecord record, Organization org, Map<String, Location> locationsByLowerName) {
         String dateRaw = require(record, "date");
         String typeRaw = require(record, "minyan_type");
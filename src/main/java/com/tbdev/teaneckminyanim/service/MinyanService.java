@@ -3,7 +3,6 @@ package com.tbdev.teaneckminyanim.service;
 import com.tbdev.teaneckminyanim.enums.Nusach;
 import com.tbdev.teaneckminyanim.repo.LocationRepository;
 import com.tbdev.teaneckminyanim.repo.MinyanRepository;
-import com.tbdev.teaneckminyanim.minyan.Schedule;
 import com.tbdev.teaneckminyanim.model.Location;
 import com.tbdev.teaneckminyanim.model.Minyan;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +17,7 @@ public class MinyanService {
 
     private final MinyanRepository minyanRepository;
     private final LocationRepository locationRepository;
+    private final CompiledScheduleCache compiledSchedules;
 
     public Minyan findById(String id) {
         Optional<Minyan> minyanById = minyanRepository.findById(id);
@@ -41,6 +41,7 @@ public class MinyanService {
 
     public void delete(Minyan minyan) {
         minyanRepository.delete(minyan);
+        compiledSchedules.evict(minyan.getId());
     }
 
     public Minyan update(Minyan minyan) {
@@ -71,7 +72,7 @@ public class MinyanService {
     }
     private void setupMinyanObj(Minyan minyan) {
         minyan.setOrgColor("#275ed8");
-        minyan.setSchedule(new Schedule(minyan.getStartTime1(), minyan.getStartTime2(), minyan.getStartTime3(), minyan.getStartTime4(), minyan.getStartTime5(), minyan.getStartTime6(), minyan.getStartTime7(), minyan.getStartTimeRC(), minyan.getStartTimeYT(), minyan.getStartTimeCH(), minyan.getStartTimeCHRC()));
+        minyan.setSchedule(compiledSchedules.get(minyan));
     }
 }
 
@@ -4,6 +4,7 @@ import com.tbdev.teaneckminyanim.model.Notification;
 import com.tbdev.teaneckminyanim.repo.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all active banner notifications
@@ -62,7 +64,9 @@ public class NotificationService {
      */
     @Transactional
     public Notification save(Notification notification) {
-        return repository.save(notification);
+        Notification saved = repository.save(notification);
+        eventPublisher.publishEvent(new NotificationsChangedEvent(saved.getId(), saved.getType()));
+        return saved;
     }
 
     /**
@@ -71,6 +75,7 @@ public class NotificationService {
     @Transactional
     public void delete(String id) {
         repository.deleteById(id);
+        eventPublisher.publishEvent(new NotificationsChangedEvent(id, null));
     }
 
     /**
@@ -82,6 +87,7 @@ public class NotificationService {
         if (notification != null) {
             notification.setEnabled(!notification.getEnabled());
             repository.save(notification);
+            eventPublisher.publishEvent(new NotificationsChangedEvent(id, notification.getType()));
             return notification.getEnabled();
         }
         return false;
@@ -0,0 +1,9 @@
+package com.tbdev.teaneckminyanim.service;
+
+/**
+ * Application event published by {@link NotificationService} after a banner or popup
+ * is created, edited, toggled or deleted. {@code type} is null when it is not known
+ * (e.g. the notification was deleted).
+ */
+public record NotificationsChangedEvent(String notificationId, String type) {
+}
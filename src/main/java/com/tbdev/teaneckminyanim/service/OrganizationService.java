@@ -7,6 +7,7 @@ import com.tbdev.teaneckminyanim.model.Account;
 import com.tbdev.teaneckminyanim.model.Organization;
 import com.tbdev.teaneckminyanim.tools.SlugGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
@@ -18,10 +19,12 @@ import java.util.Optional;
 public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public OrganizationService(OrganizationRepository organizationRepository) {
+    public OrganizationService(OrganizationRepository organizationRepository, ApplicationEventPublisher eventPublisher) {
         this.organizationRepository = organizationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Organization findByName(String name) {
@@ -58,6 +61,7 @@ public class OrganizationService {
         } catch (Exception e) {
             return false;
         }
+        publishOrganizationChanged(organization.getId());
         return true;
     }
 
@@ -67,6 +71,7 @@ public class OrganizationService {
         } catch (Exception e) {
             return false;
         }
+        publishOrganizationChanged(organization.getId());
         return true;
     }
 
@@ -76,6 +81,7 @@ public class OrganizationService {
         } catch (Exception e) {
             return false;
         }
+        publishOrganizationChanged(organization.getId());
         return true;
     }
 
@@ -85,12 +91,24 @@ public class OrganizationService {
      */
     public boolean updateGeocode(String id, double lat, double lng) {
         try {
-            return organizationRepository.updateGeocode(id, lat, lng) > 0;
+            boolean updated = organizationRepository.updateGeocode(id, lat, lng) > 0;
+            if (updated) {
+                publishOrganizationChanged(id);
+            }
+            return updated;
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Org details are embedded in every schedule API event, so an org edit
+     * invalidates everything derived from its schedule.
+     */
+    private void publishOrganizationChanged(String organizationId) {
+        eventPublisher.publishEvent(CalendarEventsChangedEvent.forRange(organizationId, null, null));
+    }
+
     public List<TNMUser> getUsersForOrganization(Organization organization) {
         List<TNMUser> users = new ArrayList<>();
         List<Account> accountsByOrganizationId = organizationRepository.findAccountsByOrganizationId(organization.getId());
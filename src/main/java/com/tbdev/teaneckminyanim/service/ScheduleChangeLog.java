@@ -0,0 +1,133 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.model.ScheduleChange;
+import com.tbdev.teaneckminyanim.repo.ScheduleChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persistent, monotonically increasing log of schedule changes for the delta-sync API.
+ *
+ * <p>Every committed {@link CalendarEventsChangedEvent} (materialization, imports,
+ * manual overrides, admin edits, organization edits) and every zmanim location change
+ * appends one {@link ScheduleChange}; its ID is the sync cursor. Entries are written one
+ * at a time in their own transaction so IDs become visible in order, and a reader
+ * holding cursor N can never later see an entry below N appear.</p>
+ *
+ * <p>Entries are kept for {@link #RETENTION_DAYS}; a client whose cursor predates that
+ * (or that is unknown, e.g. after a database restore) is told to reset.</p>
+ */
+@Slf4j
+@Service
+public class ScheduleChangeLog {
+
+    /** How long entries are kept; a client offline longer than this refetches everything. */
+    static final int RETENTION_DAYS = 30;
+    /** More changes than this since a cursor are answered with a reset instead. */
+    static final int MAX_CHANGES_PER_SYNC = 500;
+
+    private final ScheduleChangeRepository changeRepository;
+    private final CalendarMaterializationService materializationService;
+    private final TransactionTemplate newTransaction;
+
+    public ScheduleChangeLog(ScheduleChangeRepository changeRepository,
+                             CalendarMaterializationService materializationService,
+                             PlatformTransactionManager transactionManager) {
+        this.changeRepository = changeRepository;
+        this.materializationService = materializationService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Changes after a cursor.
+     *
+     * @param cursor   last cursor the client applied, or null for a first sync
+     * @param changes  entries after the cursor, oldest first (empty on reset)
+     * @param reset    true if the client must discard its cache and refetch
+     */
+    public record ChangeSet(long cursor, boolean reset, List<ScheduleChange> changes) {
+    }
+
+    /**
+     * @param since the client's last cursor, or null if it has none
+     */
+    public ChangeSet changesSince(Long since) {
+        Long maxId = changeRepository.findMaxId();
+        long current = maxId != null ? maxId : 0L;
+        if (since == null || since > current) {
+            return new ChangeSet(current, true, List.of());
+        }
+        Long minId = changeRepository.findMinId();
+        if (minId != null && since < minId - 1) {
+            // Entries after the cursor may have been pruned
+            return new ChangeSet(current, true, List.of());
+        }
+
+        List<ScheduleChange> changes = changeRepository.findByIdGreaterThanOrderByIdAsc(
+                since, PageRequest.of(0, MAX_CHANGES_PER_SYNC + 1));
+        if (changes.size() > MAX_CHANGES_PER_SYNC) {
+            return new ChangeSet(current, true, List.of());
+        }
+        long cursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getId();
+        return new ChangeSet(cursor, false, changes);
+    }
+
+    /**
+     * Append a change once the writing transaction has committed (or immediately when
+     * published outside a transaction). Ranges entirely before the window are skipped:
+     * those dates are never served.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CalendarEventsChangedEvent.ORDER_CHANGE_LOG)
+    public synchronized void onCalendarEventsChanged(CalendarEventsChangedEvent event) {
+        LocalDate windowStart = materializationService.getWindowBounds().getStartDate();
+        if (event.endDate() != null && event.endDate().isBefore(windowStart)) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> changeRepository.save(ScheduleChange.builder()
+                    .organizationId(event.organizationId())
+                    .startDate(event.startDate())
+                    .endDate(event.endDate())
+                    .createdAt(LocalDateTime.now())
+                    .build()));
+        } catch (RuntimeException e) {
+            log.error("Failed to record schedule change for org {} ({} – {}): {}",
+                    event.organizationId(), event.startDate(), event.endDate(), e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    @Order(ApplicationSettingsChangedEvent.ORDER_CHANGE_LOG)
+    public void onSettingsChanged(ApplicationSettingsChangedEvent event) {
+        if (event.affectsGeoLocation()) {
+            // Plag annotations in schedule responses depend on zmanim
+            onCalendarEventsChanged(CalendarEventsChangedEvent.all());
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public synchronized void pruneOldChanges() {
+        Long maxId = changeRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        // The latest entry is always kept so the current cursor survives quiet periods
+        Integer deleted = newTransaction.execute(status ->
+                changeRepository.deleteCreatedBefore(LocalDateTime.now().minusDays(RETENTION_DAYS), maxId));
+        log.info("Pruned {} schedule change log entries older than {} days", deleted, RETENTION_DAYS);
+    }
+}
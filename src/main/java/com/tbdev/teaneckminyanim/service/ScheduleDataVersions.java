@@ -0,0 +1,148 @@
+package com.tbdev.teaneckminyanim.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory data versions for the public schedule API, used to build strong ETags
+ * without touching the database.
+ *
+ * <p>Every {@link CalendarEventsChangedEvent} stamps the affected (org, date) pairs
+ * with a new, strictly increasing version; organization-wide and global changes
+ * (including zmanim location settings) stamp everything they cover. The counter is
+ * seeded from the clock at startup so versions never repeat across restarts.</p>
+ *
+ * <p>Also derives the {@code Cache-Control} max-age: never past the next scheduled
+ * import/materialization run or local midnight, and never above the configured cap
+ * so admin edits still propagate.</p>
+ */
+@Component
+public class ScheduleDataVersions {
+
+    /** Any org's change, for the combined all-orgs feed. */
+    private static final String COMBINED = "*";
+    /** Changes that apply to every org at once. */
+    private static final String EVERY_ORG = "**";
+
+    private final CalendarMaterializationService materializationService;
+    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis());
+    private final CronExpression refreshSchedule = CronExpression.parse(CalendarMaterializationScheduler.WEEKLY_CRON);
+
+    /** Version of the most recent change that touched every org and date. */
+    private volatile long globalVersion = counter.get();
+    /** Latest date-unbounded change per org (COMBINED: any org). */
+    private final Map<String, Long> orgWideVersions = new ConcurrentHashMap<>();
+    /** Latest change per key (org ID, COMBINED or EVERY_ORG) per date. */
+    private final Map<String, Map<LocalDate, Long>> dateVersions = new ConcurrentHashMap<>();
+
+    @Value("${api.schedule.cache.max-age-seconds:300}")
+    private long maxAgeSeconds = 300;
+
+    public ScheduleDataVersions(CalendarMaterializationService materializationService) {
+        this.materializationService = materializationService;
+    }
+
+    /**
+     * @param organizationId org ID, or {@code null} for the combined all-orgs feed
+     * @return the latest version of any data covering the org and range
+     */
+    public long versionFor(String organizationId, LocalDate from, LocalDate to) {
+        if (organizationId == null) {
+            return Math.max(Math.max(globalVersion, orgWideVersions.getOrDefault(COMBINED, 0L)),
+                    latestInRange(COMBINED, from, to));
+        }
+        long version = Math.max(globalVersion, orgWideVersions.getOrDefault(organizationId, 0L));
+        return Math.max(version, Math.max(latestInRange(organizationId, from, to), latestInRange(EVERY_ORG, from, to)));
+    }
+
+    /**
+     * @return how long clients may reuse a schedule response without revalidating
+     */
+    public Duration maxAge() {
+        LocalDateTime now = LocalDateTime.now();
+        Duration max = Duration.ofSeconds(maxAgeSeconds);
+        Duration untilMidnight = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay());
+        LocalDateTime nextRefresh = refreshSchedule.next(now);
+        Duration untilRefresh = nextRefresh != null ? Duration.between(now, nextRefresh) : max;
+        Duration maxAge = min(max, min(untilMidnight, untilRefresh));
+        return maxAge.isNegative() ? Duration.ZERO : maxAge;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CalendarEventsChangedEvent.ORDER_DATA_VERSIONS)
+    public void onCalendarEventsChanged(CalendarEventsChangedEvent event) {
+        long version = counter.incrementAndGet();
+        if (event.organizationId() == null && event.startDate() == null && event.endDate() == null) {
+            globalVersion = version;
+            dateVersions.clear();
+            orgWideVersions.clear();
+            return;
+        }
+        if (event.startDate() == null && event.endDate() == null) {
+            // Unbounded dates: treat as every date for the org (or every org)
+            if (event.organizationId() == null) {
+                globalVersion = version;
+            } else {
+                orgWideVersions.put(event.organizationId(), version);
+            }
+            orgWideVersions.put(COMBINED, version);
+            return;
+        }
+
+        // Dates outside the window are never served; a date that enters it later has no cached copies
+        CalendarMaterializationService.WindowBounds window = materializationService.getWindowBounds();
+        LocalDate start = event.startDate() == null || event.startDate().isBefore(window.getStartDate())
+                ? window.getStartDate() : event.startDate();
+        LocalDate end = event.endDate() == null || event.endDate().isAfter(window.getEndDate())
+                ? window.getEndDate() : event.endDate();
+        stampDates(COMBINED, start, end, version);
+        stampDates(event.organizationId() != null ? event.organizationId() : EVERY_ORG, start, end, version);
+        pruneBefore(window.getStartDate());
+    }
+
+    @EventListener
+    @Order(ApplicationSettingsChangedEvent.ORDER_DATA_VERSIONS)
+    public void onSettingsChanged(ApplicationSettingsChangedEvent event) {
+        if (event.affectsGeoLocation()) {
+            // Plag annotations in schedule responses depend on zmanim
+            onCalendarEventsChanged(CalendarEventsChangedEvent.all());
+        }
+    }
+
+    private long latestInRange(String key, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> byDate = dateVersions.get(key);
+        long version = 0L;
+        if (byDate != null) {
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                version = Math.max(version, byDate.getOrDefault(d, 0L));
+            }
+        }
+        return version;
+    }
+
+    private void stampDates(String key, LocalDate start, LocalDate end, long version) {
+        Map<LocalDate, Long> byDate = dateVersions.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            byDate.merge(d, version, Math::max);
+        }
+    }
+
+    private void pruneBefore(LocalDate cutoff) {
+        dateVersions.values().forEach(byDate -> byDate.keySet().removeIf(d -> d.isBefore(cutoff)));
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
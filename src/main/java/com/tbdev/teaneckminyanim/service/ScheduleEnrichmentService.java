@@ -112,8 +112,8 @@ public class ScheduleEnrichmentService {
 
     private Date getPlag(LocalDate date) {
         try {
-            Dictionary<Zman, Date> zmanim = zmanimHandler.getZmanim(date);
-            return zmanim != null ? zmanim.get(Zman.PLAG_HAMINCHA) : null;
+            long plag = zmanimHandler.getZmanEpochMillis(date, Zman.PLAG_HAMINCHA);
+            return plag != ZmanimHandler.NO_ZMAN ? new Date(plag) : null;
         } catch (Exception e) {
             log.warn("Could not compute plag for {}: {}", date, e.getMessage());
             return null;
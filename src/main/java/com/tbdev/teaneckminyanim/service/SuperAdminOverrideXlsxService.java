@@ -6,6 +6,7 @@ import com.tbdev.teaneckminyanim.minyan.MinyanType;
 import com.tbdev.teaneckminyanim.model.CalendarEvent;
 import com.tbdev.teaneckminyanim.model.Location;
 import com.tbdev.teaneckminyanim.model.Organization;
+import com.tbdev.teaneckminyanim.repo.CalendarEventBatchWriter;
 import com.tbdev.teaneckminyanim.repo.CalendarEventRepository;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddressList;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -82,8 +84,10 @@ public class SuperAdminOverrideXlsxService {
     private static final Set<String> FALSE_VALUES = Set.of("false", "0", "no", "n");
 
     private final CalendarEventRepository calendarEventRepository;
+    private final CalendarEventBatchWriter calendarEventBatchWriter;
     private final OrganizationService organizationService;
     private final LocationService locationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ---------------------------------------------------------------------
     // Public template APIs
@@ -303,17 +307,36 @@ public class SuperAdminOverrideXlsxService {
                 .findFirstByOrganizationIdAndDateAndMinyanTypeAndStartTimeAndSource(
                         organizationId, date, minyanType, startTime, EventSource.MANUAL);
 
-        String sourceRefPrefix = MODE_FULL_DAY_REPLACE.equals(overrideMode)
-                ? EffectiveScheduleService.MANUAL_FULL_DAY_SOURCE_REF_PREFIX
-                : MANUAL_ADDITIVE_SOURCE_REF_PREFIX;
+        CalendarEvent event = existing.orElseGet(() -> newManualEvent(organizationId, date, minyanType, startTime));
+        applyManualFields(event, overrideMode, locationId, locationName, notes, nusach, enabled, username);
 
-        CalendarEvent event = existing.orElseGet(() -> CalendarEvent.builder()
+        calendarEventRepository.save(event);
+        eventPublisher.publishEvent(CalendarEventsChangedEvent.forDate(organizationId, date));
+        return existing.isPresent();
+    }
+
+    private CalendarEvent newManualEvent(String organizationId, LocalDate date, MinyanType minyanType, LocalTime startTime) {
+        return CalendarEvent.builder()
                 .organizationId(organizationId)
                 .date(date)
                 .minyanType(minyanType)
                 .startTime(startTime)
                 .source(EventSource.MANUAL)
-                .build());
+                .build();
+    }
+
+    private void applyManualFields(
+            CalendarEvent event,
+            String overrideMode,
+            String locationId,
+            String locationName,
+            String notes,
+            Nusach nusach,
+            boolean enabled,
+            String username) {
+        String sourceRefPrefix = MODE_FULL_DAY_REPLACE.equals(overrideMode)
+                ? EffectiveScheduleService.MANUAL_FULL_DAY_SOURCE_REF_PREFIX
+                : MANUAL_ADDITIVE_SOURCE_REF_PREFIX;
 
         event.setLocationId(locationId);
         event.setLocationName(locationName);
@@ -327,9 +350,6 @@ public class SuperAdminOverrideXlsxService {
         event.setEditedAt(LocalDateTime.now());
         event.setDynamicTimeString(null);
         event.setWhatsapp(null);
-
-        calendarEventRepository.save(event);
-        return existing.isPresent();
     }
 
     // ---------------------------------------------------------------------
@@ -356,27 +376,46 @@ public class SuperAdminOverrideXlsxService {
             for (LocalDate date : entry.getValue()) {
                 deletedCount += calendarEventRepository.deleteByOrganizationIdAndDateAndSource(
                         entry.getKey(), date, EventSource.MANUAL);
+                eventPublisher.publishEvent(CalendarEventsChangedEvent.forDate(entry.getKey(), date));
             }
         }
         result.setDeletedManualCount(deletedCount);
     }
 
+    /**
+     * Upsert parsed rows. Existing MANUAL rows are updated in place; new rows are collected
+     * and written with one batched JDBC insert (rows repeating a key within the file update
+     * the pending row, as they would have updated the saved one).
+     */
     private void applyUpserts(List<ParsedRow> parsedRows, String username, ImportResult result) {
+        Map<ManualEventKey, CalendarEvent> pendingInserts = new LinkedHashMap<>();
+        Set<ManualEventKey> touchedDays = new LinkedHashSet<>();
+
         for (ParsedRow row : parsedRows) {
             try {
-                boolean updated = upsertManualEvent(
-                        row.organizationId(),
-                        row.date(),
-                        row.startTime(),
-                        row.minyanType(),
-                        row.overrideMode(),
-                        row.locationId(),
-                        row.locationName(),
-                        row.notes(),
-                        row.nusach(),
-                        row.enabled(),
-                        username
-                );
+                ManualEventKey key = new ManualEventKey(
+                        row.organizationId(), row.date(), row.minyanType(), row.startTime());
+                CalendarEvent event = pendingInserts.get(key);
+                boolean updated = event != null;
+                if (event == null) {
+                    Optional<CalendarEvent> existing = calendarEventRepository
+                            .findFirstByOrganizationIdAndDateAndMinyanTypeAndStartTimeAndSource(
+                                    row.organizationId(), row.date(), row.minyanType(), row.startTime(),
+                                    EventSource.MANUAL);
+                    updated = existing.isPresent();
+                    event = existing.orElseGet(() ->
+                            newManualEvent(row.organizationId(), row.date(), row.minyanType(), row.startTime()));
+                }
+
+                applyManualFields(event, row.overrideMode(), row.locationId(), row.locationName(),
+                        row.notes(), row.nusach(), row.enabled(), username);
+
+                if (event.getId() != null) {
+                    calendarEventRepository.save(event);
+                } else {
+                    pendingInserts.put(key, event);
+                }
+                touchedDays.add(new ManualEventKey(row.organizationId(), row.date(), null, null));
 
                 if (updated) {
                     result.incrementUpdatedCount();
@@ -387,6 +426,14 @@ public class SuperAdminOverrideXlsxService {
                 result.addError("Row " + row.rowNumber() + ": failed to save (" + e.getMessage() + ")");
             }
         }
+
+        calendarEventBatchWriter.insertAll(pendingInserts.values());
+        for (ManualEventKey day : touchedDays) {
+            eventPublisher.publishEvent(CalendarEventsChangedEvent.forDate(day.organizationId(), day.date()));
+        }
+    }
+
+    private record ManualEventKey(String organizationId, LocalDate date, MinyanType minyanType, LocalTime startTime) {
     }
 
     private ParsedRow parseSuperRow(
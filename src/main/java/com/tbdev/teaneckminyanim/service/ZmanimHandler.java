@@ -1,6 +1,7 @@
 package com.tbdev.teaneckminyanim.service;
 
-import com.kosherjava.zmanim.ComplexZmanimCalendar;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
 import com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter;
 import com.kosherjava.zmanim.hebrewcalendar.JewishDate;
@@ -8,22 +9,69 @@ import com.kosherjava.zmanim.util.GeoLocation;
 import com.tbdev.teaneckminyanim.enums.Zman;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
 import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.temporal.WeekFields;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Dictionary;
-import java.util.Hashtable;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.TimeZone;
+import java.util.function.ToLongBiFunction;
 
 @Slf4j
 @Service
 public class ZmanimHandler {
+    /** Returned by {@link #getZmanEpochMillis} when a zman does not occur on a date. */
+    public static final long NO_ZMAN = Long.MIN_VALUE;
+
+    /** Days of history kept in the precomputed table (matches the materialization window). */
+    private static final int PAST_DAYS = 21;
+    /** Dates within this distance of the table edges extend it; anything further uses the per-date cache. */
+    private static final int EXTENSION_REACH_DAYS = 120;
+    /** Extra days computed past a requested date when extending, so the next lookups hit. */
+    private static final int EXTENSION_CHUNK_DAYS = 31;
+    /** Upper bound on the table size (about five years of dates). */
+    private static final int MAX_TABLE_DAYS = 366 * 5;
+
+    /** Per-date fallback for dates the table does not cover; the materialization window needs ~77. */
+    private static final int MAX_CACHED_DAYS = 512;
+    private static final int MAX_CACHED_WEEKS = 4096;
+
     private final ApplicationSettingsService settingsService;
-    private GeoLocation geoLocation;
+    private volatile GeoLocation geoLocation;
+
+    /** Precomputed zmanim from the window start through the configured horizon; null until startup. */
+    private volatile ZmanimTable table;
+
+    @Value("${zmanim.precompute.horizon-days:400}")
+    private int horizonDays = 400;
+
+    /** Memoized single-date tables for dates outside {@link #table}; keyed by date and location. */
+    private final Cache<ZmanimKey, ZmanimTable> zmanimCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_DAYS)
+            .build();
+
+    /** Earliest time-of-day per (week, zman), shared by every rounded minyan in that week. */
+    private final Cache<WeekKey, Optional<LocalTime>> weeklyEarliestCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_WEEKS)
+            .build();
+
+    /** The settings-aware instance, for legacy code that cannot have it injected (see {@link #shared()}). */
+    private static volatile ZmanimHandler shared;
+    private static volatile ZmanimHandler fallback;
 
     @Autowired
     public ZmanimHandler(ApplicationSettingsService settingsService) {
@@ -48,50 +96,234 @@ public class ZmanimHandler {
         this.geoLocation = geoLocation;
     }
 
+    /**
+     * Register this settings-aware instance as the shared handler.
+     */
+    @PostConstruct
+    void registerShared() {
+        shared = this;
+    }
+
+    /**
+     * The Spring-managed, settings-aware handler for code that is not a bean (e.g. {@code TimeRule}).
+     * Falls back to a single default-location handler before the context starts, so callers
+     * still share its memoized zmanim instead of creating a handler per call.
+     */
+    public static ZmanimHandler shared() {
+        ZmanimHandler handler = shared;
+        if (handler != null) {
+            return handler;
+        }
+        if (fallback == null) {
+            synchronized (ZmanimHandler.class) {
+                if (fallback == null) {
+                    fallback = new ZmanimHandler();
+                }
+            }
+        }
+        return fallback;
+    }
+
     /**
      * Get GeoLocation from settings (lazy initialization).
      */
     private GeoLocation getGeoLocation() {
-        if (geoLocation == null) {
+        GeoLocation location = geoLocation;
+        if (location == null) {
             if (settingsService != null) {
-                geoLocation = settingsService.getGeoLocation();
+                location = settingsService.getGeoLocation();
             } else {
                 // Fallback for tests or when settings service is not available
                 TimeZone timeZone = TimeZone.getTimeZone("Asia/Jerusalem");
-                geoLocation = new GeoLocation("Jerusalem, Israel", 31.7683, 35.2137, 24, timeZone);
+                location = new GeoLocation("Jerusalem, Israel", 31.7683, 35.2137, 24, timeZone);
             }
+            geoLocation = location;
+        }
+        return location;
+    }
+
+    /**
+     * Precompute zmanim for the materialization window through the configured horizon,
+     * in parallel, before the startup materialization run needs them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void precomputeTable() {
+        LocalDate first = LocalDate.now().minusDays(PAST_DAYS);
+        int days = Math.min(PAST_DAYS + Math.max(horizonDays, 0) + 1, MAX_TABLE_DAYS);
+        long start = System.nanoTime();
+        ZmanimTable computed = ZmanimTable.compute(first, days, getGeoLocation());
+        table = computed;
+        log.info("Precomputed zmanim for {} – {} ({} days) in {} ms",
+                computed.firstDate(), computed.lastDate(), computed.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Drop the cached location and memoized zmanim when latitude, longitude,
+     * elevation or timezone change, so the next lookup recomputes from settings.
+     */
+    @EventListener
+    @Order(ApplicationSettingsChangedEvent.ORDER_ZMANIM)
+    public synchronized void onSettingsChanged(ApplicationSettingsChangedEvent event) {
+        if (settingsService == null || !event.affectsGeoLocation()) {
+            return;
+        }
+        geoLocation = null;
+        zmanimCache.invalidateAll();
+        weeklyEarliestCache.invalidateAll();
+        log.info("Location settings changed ({}); cleared memoized zmanim", event.key());
+        if (table != null) {
+            table = null;
+            precomputeTable();
         }
-        return geoLocation;
     }
 
     public Dictionary<Zman, Date> getZmanimForNow() {
         return getZmanim(LocalDate.now());
     }
 
+    /**
+     * Get the zmanim for a date. Each call returns a fresh dictionary the caller is free to modify;
+     * hot paths that need a single zman should prefer {@link #getZmanEpochMillis}.
+     */
     public Dictionary<Zman, Date> getZmanim(LocalDate date) {
-        Dictionary<Zman, Date> dictionary = new Hashtable();
-
-        ComplexZmanimCalendar complexZmanimCalendar = new ComplexZmanimCalendar(getGeoLocation());
-        complexZmanimCalendar.getCalendar().set(date.getYear(), date.getMonth().getValue() - 1, date.getDayOfMonth());
-
-        dictionary.put(Zman.ALOS_HASHACHAR, complexZmanimCalendar.getAlosHashachar());
-        dictionary.put(Zman.ETT, complexZmanimCalendar.getBeginCivilTwilight());
-        dictionary.put(Zman.MISHEYAKIR, complexZmanimCalendar.getMisheyakir7Point65Degrees());
-        dictionary.put(Zman.NETZ, complexZmanimCalendar.getSunrise());
-        dictionary.put(Zman.SZKS, complexZmanimCalendar.getSofZmanShmaGRA());
-        dictionary.put(Zman.MASZKS, complexZmanimCalendar.getSofZmanShmaMGA());
-        dictionary.put(Zman.SZT, complexZmanimCalendar.getSofZmanTfilaGRA());
-        dictionary.put(Zman.MASZT, complexZmanimCalendar.getSofZmanTfilaMGA());
-        dictionary.put(Zman.CHATZOS, complexZmanimCalendar.getChatzos());
-        dictionary.put(Zman.MINCHA_GEDOLA, complexZmanimCalendar.getMinchaGedola());
-        dictionary.put(Zman.MINCHA_KETANA, complexZmanimCalendar.getMinchaKetana());
-        dictionary.put(Zman.PLAG_HAMINCHA, complexZmanimCalendar.getPlagHamincha());
-        dictionary.put(Zman.SHEKIYA, complexZmanimCalendar.getSunset());
-        dictionary.put(Zman.EARLIEST_SHEMA, complexZmanimCalendar.getTzaisGeonim5Point88Degrees());
-        dictionary.put(Zman.TZES, complexZmanimCalendar.getTzais());
-        dictionary.put(Zman.CHATZOS_LAILA, complexZmanimCalendar.getSolarMidnight());
-
-        return dictionary;
+        return tableFor(date).toDictionary(date);
+    }
+
+    /**
+     * Get a single zman as epoch millis without allocating.
+     *
+     * @return epoch millis, or {@link #NO_ZMAN} if the zman does not occur on that date
+     */
+    public long getZmanEpochMillis(LocalDate date, Zman zman) {
+        return tableFor(date).epochMillis(date, zman);
+    }
+
+    /**
+     * Get a single zman for every date in {@code [start, end]}, resolving the backing
+     * precomputed table once for the whole range.
+     *
+     * @return epoch millis per date, index 0 being {@code start}; {@link #NO_ZMAN} where
+     *         the zman does not occur
+     */
+    public long[] getZmanEpochMillis(LocalDate start, LocalDate end, Zman zman) {
+        int days = Math.toIntExact(end.toEpochDay() - start.toEpochDay() + 1);
+        long[] millis = new long[days];
+        ZmanimTable rangeTable = tableForRange(start, end);
+        LocalDate date = start;
+        for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+            millis[i] = (rangeTable != null ? rangeTable : tableFor(date)).epochMillis(date, zman);
+        }
+        return millis;
+    }
+
+    /**
+     * @return the timezone zmanim are calculated in (from settings)
+     */
+    public ZoneId getZoneId() {
+        return getGeoLocation().getTimeZone().toZoneId();
+    }
+
+    /**
+     * Get the earliest time-of-day of a zman across Sunday–Friday of the date's week, as used
+     * by ROUNDED minyan times. Computed once per (week, zman, zone) and shared across every
+     * minyan and day in that week.
+     *
+     * @return the earliest local time, or null if the zman does not occur that week
+     */
+    public LocalTime getWeeklyEarliest(LocalDate date, Zman zman, ZoneId zoneId) {
+        LocalDate weekStart = date.with(WeekFields.of(Locale.US).dayOfWeek(), 1);
+        return weeklyEarliestCache.asMap()
+                .computeIfAbsent(new WeekKey(weekStart, zman, zoneId),
+                        key -> Optional.ofNullable(earliestInWeek(this::getZmanEpochMillis, weekStart, zman, zoneId)))
+                .orElse(null);
+    }
+
+    /**
+     * Scan Sunday–Friday of the date's week for the earliest time-of-day of a zman.
+     *
+     * @param zmanEpochMillis maps (date, zman) to epoch millis, or {@link #NO_ZMAN}
+     * @return the earliest local time, or null if the zman does not occur that week
+     */
+    public static LocalTime earliestInWeek(
+            ToLongBiFunction<LocalDate, Zman> zmanEpochMillis, LocalDate date, Zman zman, ZoneId zoneId) {
+        LocalTime earliest = null;
+        for (int dow = 1; dow <= 6; dow++) {
+            LocalDate day = date.with(WeekFields.of(Locale.US).dayOfWeek(), dow);
+            long millis = zmanEpochMillis.applyAsLong(day, zman);
+            if (millis != NO_ZMAN) {
+                LocalTime t = Instant.ofEpochMilli(millis).atZone(zoneId).toLocalTime();
+                if (earliest == null || t.isBefore(earliest)) earliest = t;
+            }
+        }
+        return earliest;
+    }
+
+    private ZmanimTable tableFor(LocalDate date) {
+        ZmanimTable current = table;
+        if (current != null) {
+            if (current.covers(date)) {
+                return current;
+            }
+            ZmanimTable extended = extendTable(date);
+            if (extended != null) {
+                return extended;
+            }
+        }
+        GeoLocation location = getGeoLocation();
+        return zmanimCache.asMap()
+                .computeIfAbsent(ZmanimKey.of(date, location), key -> ZmanimTable.compute(date, 1, location));
+    }
+
+    /**
+     * @return a table covering the whole range (extending the precomputed table if the range
+     *         is just past an edge), or null if dates must be resolved one at a time
+     */
+    private ZmanimTable tableForRange(LocalDate start, LocalDate end) {
+        ZmanimTable candidate = tableFor(end);
+        if (!candidate.covers(start)) {
+            candidate = tableFor(start);
+        }
+        return candidate.covers(start) && candidate.covers(end) ? candidate : null;
+    }
+
+    /**
+     * Grow the precomputed table to cover a date just past either edge.
+     *
+     * @return the table covering the date, or null if the date is too far out to extend for
+     */
+    private synchronized ZmanimTable extendTable(LocalDate date) {
+        ZmanimTable current = table;
+        if (current == null) {
+            return null;
+        }
+        if (current.covers(date)) {
+            return current;
+        }
+        if (date.isBefore(current.firstDate().minusDays(EXTENSION_REACH_DAYS))
+                || date.isAfter(current.lastDate().plusDays(EXTENSION_REACH_DAYS))
+                || current.size() + EXTENSION_REACH_DAYS + EXTENSION_CHUNK_DAYS > MAX_TABLE_DAYS) {
+            return null;
+        }
+        ZmanimTable extended = date.isBefore(current.firstDate())
+                ? current.extend(date.minusDays(EXTENSION_CHUNK_DAYS), current.lastDate(), getGeoLocation())
+                : current.extend(current.firstDate(), date.plusDays(EXTENSION_CHUNK_DAYS), getGeoLocation());
+        table = extended;
+        log.debug("Extended precomputed zmanim to {} – {}", extended.firstDate(), extended.lastDate());
+        return extended;
+    }
+
+    private record WeekKey(LocalDate weekStart, Zman zman, ZoneId zoneId) {
+    }
+
+    /**
+     * Cache key: the date plus every GeoLocation input that affects the calculation.
+     */
+    private record ZmanimKey(LocalDate date, double latitude, double longitude, double elevation, String timeZoneId) {
+        static ZmanimKey of(LocalDate date, GeoLocation location) {
+            return new ZmanimKey(date, location.getLatitude(), location.getLongitude(),
+                    location.getElevation(), location.getTimeZone().getID());
+        }
     }
 
     public String getHebrewDate(Date date) {
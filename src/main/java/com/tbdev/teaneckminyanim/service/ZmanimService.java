@@ -121,83 +121,76 @@ public class ZmanimService {
         mv.getModel().put("tzes", timeFormatWithRoundingToSecond(zmanim.get(Zman.TZES)));
 
         List<MinyanEvent> minyanEvents = new ArrayList<>();
+        List<KolhaMinyanim> kolhaMinyanims = new ArrayList<>();
         LocalDate localDateRef = dateToLocalDate(date);
         Date now = new Date();
         Date terminationDate = new Date(now.getTime() - (60000 * 8));
+        boolean isViewingToday = sameDayOfMonth(now, date);
+        boolean isSelichosRecited = zmanimHandler.isSelichosRecited(localDateRef);
+        ZoneId zoneId = settingsService.getZoneId();
 
         // Get all organizations
         List<Organization> allOrganizations = organizationDAO.getAll();
         log.debug("Processing {} organizations for homepage", allOrganizations.size());
 
-        // Get events from materialized calendar for all organizations
+        // Load the whole day in one query (precedence already applied per org by EffectiveScheduleService)
+        Map<String, List<com.tbdev.teaneckminyanim.model.CalendarEvent>> daySnapshot =
+            effectiveScheduleService.getAllOrgsEffectiveEventsForDate(localDateRef);
+
+        // Single pass: build both the filtered minyan list and the unfiltered KolhaMinyanim list
         for (Organization org : allOrganizations) {
-            String orgId = org.getId();
-            // Query materialized calendar events (precedence already applied by EffectiveScheduleService)
-            List<com.tbdev.teaneckminyanim.model.CalendarEvent> calendarEvents =
-                effectiveScheduleService.getEffectiveEventsForDate(orgId, localDateRef);
-
-            // Convert to MinyanEvent objects
-            List<MinyanEvent> orgEvents = calendarEventAdapter.toMinyanEvents(calendarEvents);
-
-            // Apply time-based filtering and termination date logic
-            boolean isSelichosRecited = zmanimHandler.isSelichosRecited(localDateRef);
-            for (MinyanEvent event : orgEvents) {
-                if (event.getStartTime() != null) {
-                    // Check termination date (hide recent past events on today's view)
-                    boolean passesTerminationCheck = event.getStartTime().after(terminationDate) ||
-                                                    !sameDayOfMonth(now, date);
-
-                    // Check time-based display rules (Shacharis/Mincha/Maariv windows)
-                    boolean passesTimeWindowCheck = shouldDisplayEvent(event, zmanim, isSelichosRecited);
-
-                    if (passesTerminationCheck && passesTimeWindowCheck) {
-                        minyanEvents.add(event);
-                    }
-                }
+            List<com.tbdev.teaneckminyanim.model.CalendarEvent> calendarEvents = daySnapshot.get(org.getId());
+            if (calendarEvents == null || calendarEvents.isEmpty()) {
+                continue;
             }
-        }
 
-        log.info("Total events collected for homepage: {}", minyanEvents.size());
-        
-        // KolhaMinyanim insertion
-        List<KolhaMinyanim> kolhaMinyanims = new ArrayList<>();
+            String slug = slugFor(org);
+            for (com.tbdev.teaneckminyanim.model.CalendarEvent calendarEvent : calendarEvents) {
+                MinyanEvent event;
+                try {
+                    event = calendarEventAdapter.toMinyanEvent(calendarEvent, org, zoneId);
+                } catch (Exception e) {
+                    log.warn("Failed to convert CalendarEvent to MinyanEvent: {}", calendarEvent.getId(), e);
+                    continue;
+                }
+                if (event.getStartTime() == null) {
+                    continue;
+                }
+                event.setOrganizationSlug(slug);
 
-        // Process all organizations again for KolhaMinyanim using materialized calendar
-        for (Organization org : allOrganizations) {
-            String orgId = org.getId();
-            
-            // Query materialized calendar events (same source as main minyan list)
-            List<com.tbdev.teaneckminyanim.model.CalendarEvent> calendarEvents = 
-                effectiveScheduleService.getEffectiveEventsForDate(orgId, localDateRef);
-            
-            // Convert to MinyanEvent first, then to KolhaMinyanim
-            List<MinyanEvent> orgEvents = calendarEventAdapter.toMinyanEvents(calendarEvents);
-            
-            for (MinyanEvent event : orgEvents) {
-                if (event.getStartTime() != null) {
-                    String dynamicTimeStr = event.dynamicTimeString();
-                    kolhaMinyanims.add(new KolhaMinyanim(
-                        "cal-event", // Simple identifier for materialized events
-                        event.getType(),
-                        event.getOrganizationName(),
-                        org.getNusach(), // Use org nusach as organizationNusach
-                        event.getOrganizationId(),
-                        event.getLocationName(),
-                        event.getStartTime(),
-                        dynamicTimeStr != null ? dynamicTimeStr : "",
-                        event.getNusach(),
-                        event.getNotes(),
-                        event.getOrgColor()
-                    ));
+                // Check termination date (hide recent past events on today's view)
+                boolean passesTerminationCheck = event.getStartTime().after(terminationDate) || !isViewingToday;
+
+                // Check time-based display rules (Shacharis/Mincha/Maariv windows)
+                boolean passesTimeWindowCheck = shouldDisplayEvent(event, zmanim, isSelichosRecited);
+
+                if (passesTerminationCheck && passesTimeWindowCheck) {
+                    minyanEvents.add(event);
                 }
+
+                String dynamicTimeStr = event.dynamicTimeString();
+                KolhaMinyanim kolhaMinyanim = new KolhaMinyanim(
+                    "cal-event", // Simple identifier for materialized events
+                    event.getType(),
+                    event.getOrganizationName(),
+                    org.getNusach(), // Use org nusach as organizationNusach
+                    event.getOrganizationId(),
+                    event.getLocationName(),
+                    event.getStartTime(),
+                    dynamicTimeStr != null ? dynamicTimeStr : "",
+                    event.getNusach(),
+                    event.getNotes(),
+                    event.getOrgColor()
+                );
+                kolhaMinyanim.setOrganizationSlug(slug);
+                kolhaMinyanims.add(kolhaMinyanim);
             }
         }
-        
+
+        log.info("Total events collected for homepage: {}", minyanEvents.size());
+
         kolhaMinyanims.sort(Comparator.comparing(KolhaMinyanim::getStartTime));
         
-        // Populate organization slugs for KolhaMinyanim objects
-        populateOrganizationSlugsForKolha(kolhaMinyanims);
-        
         mv.getModel().put("kolminyanim", kolhaMinyanims);
         Stream<KolhaMinyanim> stream = kolhaMinyanims.stream();
 
@@ -227,9 +220,6 @@ public class ZmanimService {
         // Annotate Maariv/Mincha-Maariv events near Plag with the Plag time in their notes
         scheduleEnrichmentService.annotatePlag(minyanEvents, zmanim);
 
-        // Populate organization slugs for all minyan events
-        populateOrganizationSlugs(minyanEvents);
-
         for (MinyanEvent me : minyanEvents) {
             if (me.getType().isShacharis()) {
                 shacharisMinyanim.add(me);
@@ -415,23 +405,11 @@ public class ZmanimService {
     }
     
     /**
-     * Populates the organizationSlug field for all KolhaMinyanim objects.
-     * This helper method looks up the organization by ID and sets the slug.
-     * 
-     * @param minyanims List of KolhaMinyanim objects to populate
+     * Resolves the URL slug for an organization, falling back to its ID when unset.
      */
-    private void populateOrganizationSlugsForKolha(List<KolhaMinyanim> minyanims) {
-        for (KolhaMinyanim minyanim : minyanims) {
-            Optional<Organization> org = organizationDAO.findById(minyanim.getOrganizationId());
-            if (org.isPresent()) {
-                String slug = org.get().getUrlSlug();
-                // Fall back to org ID if slug is not set
-                minyanim.setOrganizationSlug(slug != null && !slug.isEmpty() ? slug : minyanim.getOrganizationId());
-            } else {
-                // Fall back to org ID if organization not found
-                minyanim.setOrganizationSlug(minyanim.getOrganizationId());
-            }
-        }
+    private static String slugFor(Organization org) {
+        String slug = org.getUrlSlug();
+        return slug != null && !slug.isEmpty() ? slug : org.getId();
     }
     
     private void setTimeZone(TimeZone tz) {
@@ -0,0 +1,145 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.kosherjava.zmanim.ComplexZmanimCalendar;
+import com.kosherjava.zmanim.util.GeoLocation;
+import com.tbdev.teaneckminyanim.enums.Zman;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.stream.IntStream;
+
+/**
+ * Compact, immutable store of zmanim for a contiguous run of dates.
+ *
+ * <p>Holds one {@code int[]} per {@link Zman} ordinal, indexed by epoch day relative to
+ * the first date. Each value is the zman's offset in milliseconds from UTC midnight of
+ * its own epoch day (comfortably within {@code int} range), so lookups need no boxing,
+ * no {@link Date} and no {@link Hashtable}. {@link #NONE} marks a zman that does not
+ * occur (e.g. polar latitudes).</p>
+ */
+final class ZmanimTable {
+
+    static final int NONE = Integer.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final Zman[] ZMANIM = Zman.values();
+
+    private final long firstEpochDay;
+    private final int days;
+    private final int[][] offsets;
+
+    private ZmanimTable(long firstEpochDay, int days, int[][] offsets) {
+        this.firstEpochDay = firstEpochDay;
+        this.days = days;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Compute a table for {@code days} consecutive dates starting at {@code firstDate},
+     * spreading the astronomical calculations across cores.
+     */
+    static ZmanimTable compute(LocalDate firstDate, int days, GeoLocation location) {
+        long firstEpochDay = firstDate.toEpochDay();
+        int[][] offsets = new int[ZMANIM.length][days];
+        fill(offsets, firstEpochDay, 0, days, location);
+        return new ZmanimTable(firstEpochDay, days, offsets);
+    }
+
+    /**
+     * Return a table covering this table's dates plus {@code [newFirst, newLast]},
+     * computing only the dates not already present.
+     */
+    ZmanimTable extend(LocalDate newFirst, LocalDate newLast, GeoLocation location) {
+        long first = Math.min(firstEpochDay, newFirst.toEpochDay());
+        long last = Math.max(lastEpochDay(), newLast.toEpochDay());
+        int newDays = Math.toIntExact(last - first + 1);
+        int shift = Math.toIntExact(firstEpochDay - first);
+
+        int[][] extended = new int[ZMANIM.length][newDays];
+        for (int z = 0; z < ZMANIM.length; z++) {
+            System.arraycopy(offsets[z], 0, extended[z], shift, days);
+        }
+        fill(extended, first, 0, shift, location);
+        fill(extended, first, shift + days, newDays, location);
+        return new ZmanimTable(first, newDays, extended);
+    }
+
+    boolean covers(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        return epochDay >= firstEpochDay && epochDay <= lastEpochDay();
+    }
+
+    LocalDate firstDate() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    LocalDate lastDate() {
+        return LocalDate.ofEpochDay(lastEpochDay());
+    }
+
+    int size() {
+        return days;
+    }
+
+    /**
+     * @return epoch millis of the zman on the date, or {@link ZmanimHandler#NO_ZMAN}; the date must be covered
+     */
+    long epochMillis(LocalDate date, Zman zman) {
+        long epochDay = date.toEpochDay();
+        int offset = offsets[zman.ordinal()][(int) (epochDay - firstEpochDay)];
+        return offset == NONE ? ZmanimHandler.NO_ZMAN : epochDay * MILLIS_PER_DAY + offset;
+    }
+
+    /**
+     * @return a fresh dictionary of the date's zmanim (absent entries for zmanim that do not occur)
+     */
+    Dictionary<Zman, Date> toDictionary(LocalDate date) {
+        Dictionary<Zman, Date> dictionary = new Hashtable<>();
+        for (Zman zman : ZMANIM) {
+            long millis = epochMillis(date, zman);
+            if (millis != ZmanimHandler.NO_ZMAN) {
+                dictionary.put(zman, new Date(millis));
+            }
+        }
+        return dictionary;
+    }
+
+    private long lastEpochDay() {
+        return firstEpochDay + days - 1;
+    }
+
+    private static void fill(int[][] offsets, long firstEpochDay, int fromIndex, int toIndex, GeoLocation location) {
+        IntStream.range(fromIndex, toIndex).parallel()
+                .forEach(i -> fillDay(offsets, i, firstEpochDay + i, location));
+    }
+
+    private static void fillDay(int[][] offsets, int index, long epochDay, GeoLocation location) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        ComplexZmanimCalendar calendar = new ComplexZmanimCalendar(location);
+        calendar.getCalendar().set(date.getYear(), date.getMonth().getValue() - 1, date.getDayOfMonth());
+
+        long dayStart = epochDay * MILLIS_PER_DAY;
+        set(offsets, Zman.ALOS_HASHACHAR, index, dayStart, calendar.getAlosHashachar());
+        set(offsets, Zman.ETT, index, dayStart, calendar.getBeginCivilTwilight());
+        set(offsets, Zman.MISHEYAKIR, index, dayStart, calendar.getMisheyakir7Point65Degrees());
+        set(offsets, Zman.NETZ, index, dayStart, calendar.getSunrise());
+        set(offsets, Zman.SZKS, index, dayStart, calendar.getSofZmanShmaGRA());
+        set(offsets, Zman.MASZKS, index, dayStart, calendar.getSofZmanShmaMGA());
+        set(offsets, Zman.SZT, index, dayStart, calendar.getSofZmanTfilaGRA());
+        set(offsets, Zman.MASZT, index, dayStart, calendar.getSofZmanTfilaMGA());
+        set(offsets, Zman.CHATZOS, index, dayStart, calendar.getChatzos());
+        set(offsets, Zman.MINCHA_GEDOLA, index, dayStart, calendar.getMinchaGedola());
+        set(offsets, Zman.MINCHA_KETANA, index, dayStart, calendar.getMinchaKetana());
+        set(offsets, Zman.PLAG_HAMINCHA, index, dayStart, calendar.getPlagHamincha());
+        set(offsets, Zman.SHEKIYA, index, dayStart, calendar.getSunset());
+        set(offsets, Zman.EARLIEST_SHEMA, index, dayStart, calendar.getTzaisGeonim5Point88Degrees());
+        set(offsets, Zman.TZES, index, dayStart, calendar.getTzais());
+        set(offsets, Zman.CHATZOS_LAILA, index, dayStart, calendar.getSolarMidnight());
+    }
+
+    private static void set(int[][] offsets, Zman zman, int index, long dayStart, Date time) {
+        offsets[zman.ordinal()][index] = time != null ? Math.toIntExact(time.getTime() - dayStart) : NONE;
+    }
+}
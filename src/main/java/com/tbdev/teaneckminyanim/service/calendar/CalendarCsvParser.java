@@ -9,7 +9,9 @@ import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -17,6 +19,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service for parsing calendar CSV exports into structured data.
@@ -80,36 +83,55 @@ public class CalendarCsvParser {
         }
 
         List<ParsedEntry> entries = new ArrayList<>();
+        try (StringReader reader = new StringReader(csvContent)) {
+            parseCsv(reader, entries::add);
+        }
+        return entries;
+    }
 
-        try (StringReader reader = new StringReader(csvContent);
-             CSVParser csvParser = CSVParser.parse(reader, 
-                     CSVFormat.DEFAULT.builder()
-                             .setHeader()
-                             .setSkipHeaderRecord(true)
-                             .setIgnoreHeaderCase(true)
-                             .setTrim(true)
-                             .setIgnoreEmptyLines(true)
-                             .build())) {
+    /**
+     * Parse CSV content record by record, handing each entry to {@code sink} as soon as
+     * it is read, so the whole file is never held in memory.
+     *
+     * @param reader CSV content; not closed
+     * @param sink   receives each parsed entry with a date
+     * @return number of entries passed to the sink
+     * @throws IOException if reading or CSV parsing fails
+     */
+    public int parseCsv(Reader reader, Consumer<ParsedEntry> sink) throws IOException {
+        int count = 0;
+        try {
+            CSVParser csvParser = CSVParser.parse(reader,
+                    CSVFormat.DEFAULT.builder()
+                            .setHeader()
+                            .setSkipHeaderRecord(true)
+                            .setIgnoreHeaderCase(true)
+                            .setTrim(true)
+                            .setIgnoreEmptyLines(true)
+                            .build());
 
             for (CSVRecord record : csvParser) {
+                ParsedEntry entry;
                 try {
-                    ParsedEntry entry = parseRecord(record);
-                    if (entry != null && entry.getDate() != null) {
-                        entries.add(entry);
-                    }
+                    entry = parseRecord(record);
                 } catch (Exception e) {
                     log.warn("Failed to parse CSV record at line {}: {}", 
                             record.getRecordNumber(), e.getMessage());
                     // Continue processing other records
+                    continue;
+                }
+                if (entry != null && entry.getDate() != null) {
+                    sink.accept(entry);
+                    count++;
                 }
             }
 
-            log.info("Successfully parsed {} entries from CSV", entries.size());
-            return entries;
+            log.info("Successfully parsed {} entries from CSV", count);
+            return count;
 
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             log.error("Failed to parse CSV content", e);
-            throw e;
+            throw e instanceof UncheckedIOException unchecked ? unchecked.getCause() : (IOException) e;
         }
     }
 
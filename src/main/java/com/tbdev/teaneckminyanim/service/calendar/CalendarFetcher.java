@@ -0,0 +1,194 @@
+package com.tbdev.teaneckminyanim.service.calendar;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fetches calendar CSV exports over one shared {@link HttpClient}.
+ *
+ * <p>Safe to call from many (virtual) threads at once. Politeness is enforced per host:
+ * requests to the same host run one at a time, each starting at least
+ * {@code calendar.import.host-interval-ms} after the previous one finished, while
+ * requests to different hosts proceed in parallel. Waiting uses a {@link ReentrantLock}
+ * rather than {@code synchronized} so parked virtual threads release their carrier.</p>
+ *
+ * <p>Bodies are streamed to a temporary file and hashed on the way, so memory use does
+ * not grow with the size of a calendar export.</p>
+ *
+ * <p>Fetches can be conditional (If-None-Match / If-Modified-Since), so an unchanged
+ * calendar costs the host a 304 instead of the whole export.</p>
+ */
+@Slf4j
+@Component
+public class CalendarFetcher {
+
+    private static final int HTTP_TIMEOUT_SECONDS = 30;
+    private static final String USER_AGENT = "TeaneckMinyanim/1.2.1 (Calendar Import Bot)";
+
+    private final HttpClient httpClient;
+    private final long hostIntervalNanos;
+    private final ConcurrentHashMap<String, HostGate> hosts = new ConcurrentHashMap<>();
+
+    public CalendarFetcher(@Value("${calendar.import.host-interval-ms:2000}") long hostIntervalMillis) {
+        this.hostIntervalNanos = TimeUnit.MILLISECONDS.toNanos(hostIntervalMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(HTTP_TIMEOUT_SECONDS))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /** One in-flight request per host, spaced by the host interval. */
+    private static final class HostGate {
+        final ReentrantLock lock = new ReentrantLock(true);
+        long nextAllowedNanos;
+    }
+
+    /**
+     * Response to a (conditional) fetch. The body is downloaded to a temporary file, so
+     * large exports never sit in memory; the caller must {@link #discard()} it.
+     *
+     * @param body         the downloaded CSV, or null if the server answered 304 Not Modified
+     * @param charset      charset of the body (from Content-Type, else UTF-8)
+     * @param contentHash  hex SHA-256 of the body bytes, computed while downloading
+     * @param etag         ETag to send next time (the previous one if a 304 omitted it)
+     * @param lastModified Last-Modified to send next time (likewise)
+     */
+    public record FetchedCsv(Path body, Charset charset, String contentHash, String etag, String lastModified) {
+
+        public boolean notModified() {
+            return body == null;
+        }
+
+        public Reader openReader() throws IOException {
+            return Files.newBufferedReader(body, charset);
+        }
+
+        /** Delete the downloaded body. */
+        public void discard() {
+            if (body == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(body);
+            } catch (IOException e) {
+                log.warn("Could not delete downloaded calendar {}: {}", body, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fetch CSV content from a URL, waiting for the host's politeness slot first.
+     *
+     * @param etag         ETag of the last fetch to send as If-None-Match, or null
+     * @param lastModified Last-Modified of the last fetch to send as If-Modified-Since, or null
+     */
+    public FetchedCsv fetchCsv(String url, String etag, String lastModified) throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        HostGate gate = hosts.computeIfAbsent(hostOf(uri), h -> new HostGate());
+        gate.lock.lockInterruptibly();
+        try {
+            long wait = gate.nextAllowedNanos - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            return send(uri, etag, lastModified);
+        } finally {
+            gate.nextAllowedNanos = System.nanoTime() + hostIntervalNanos;
+            gate.lock.unlock();
+        }
+    }
+
+    private FetchedCsv send(URI uri, String etag, String lastModified) throws IOException, InterruptedException {
+        log.debug("Fetching CSV from URL: {}", uri);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(uri)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/csv, text/plain, */*")
+                .timeout(Duration.ofSeconds(HTTP_TIMEOUT_SECONDS))
+                .GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            request.header("If-Modified-Since", lastModified);
+        }
+
+        HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream in = response.body()) {
+            String newEtag = response.headers().firstValue("ETag").orElse(null);
+            String newLastModified = response.headers().firstValue("Last-Modified").orElse(null);
+
+            if (response.statusCode() == 304) {
+                log.debug("CSV not modified: {}", uri);
+                return new FetchedCsv(null, null, null, newEtag != null ? newEtag : etag,
+                        newLastModified != null ? newLastModified : lastModified);
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP request failed with status: " + response.statusCode());
+            }
+
+            MessageDigest digest = sha256();
+            Path file = Files.createTempFile("calendar-", ".csv");
+            try {
+                Files.copy(new DigestInputStream(in, digest), file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+
+            log.debug("Successfully fetched CSV content ({} bytes)", Files.size(file));
+            return new FetchedCsv(file, charsetOf(response), HexFormat.of().formatHex(digest.digest()),
+                    newEtag, newLastModified);
+        }
+    }
+
+    private static Charset charsetOf(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type")
+                .map(contentType -> {
+                    try {
+                        return MediaType.parseMediaType(contentType).getCharset();
+                    } catch (IllegalArgumentException e) {
+                        // InvalidMediaTypeException, or an unknown charset name
+                        return null;
+                    }
+                })
+                .orElse(StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    static String hostOf(URI uri) {
+        return uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+    }
+}
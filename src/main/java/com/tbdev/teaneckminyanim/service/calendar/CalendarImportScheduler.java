@@ -1,5 +1,6 @@
 package com.tbdev.teaneckminyanim.service.calendar;
 
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -23,7 +24,7 @@ public class CalendarImportScheduler {
      * Scheduled job that runs every Sunday at 2:00 AM.
      * Imports calendar data for all organizations with calendar import enabled.
      */
-    @Scheduled(cron = "0 0 2 * * SUN")
+    @Scheduled(cron = CalendarMaterializationScheduler.WEEKLY_CRON)
     public void scheduledWeeklyImport() {
         log.info("Starting scheduled weekly calendar import");
         
@@ -34,11 +35,14 @@ public class CalendarImportScheduler {
             // Log summary
             int successCount = 0;
             int failureCount = 0;
+            int unchangedCount = 0;
             int totalNewEntries = 0;
             int totalUpdatedEntries = 0;
             
             for (CalendarImportService.ImportResult result : results.values()) {
-                if (result.success) {
+                if (result.success && result.unchanged) {
+                    unchangedCount++;
+                } else if (result.success) {
                     successCount++;
                     totalNewEntries += result.newEntries;
                     totalUpdatedEntries += result.updatedEntries;
@@ -49,8 +53,8 @@ public class CalendarImportScheduler {
                 }
             }
             
-            log.info("Scheduled import completed: {} successful, {} failed, {} new entries, {} updated entries",
-                    successCount, failureCount, totalNewEntries, totalUpdatedEntries);
+            log.info("Scheduled import completed: {} successful, {} unchanged, {} failed, {} new entries, {} updated entries",
+                    successCount, unchangedCount, failureCount, totalNewEntries, totalUpdatedEntries);
             
             // Cleanup old entries (older than 30 days in the past)
             cleanupOldEntries();
@@ -1,34 +1,43 @@
 package com.tbdev.teaneckminyanim.service.calendar;
 
+import com.tbdev.teaneckminyanim.model.CalendarFetchState;
 import com.tbdev.teaneckminyanim.model.Organization;
 import com.tbdev.teaneckminyanim.model.OrganizationCalendarEntry;
+import com.tbdev.teaneckminyanim.repo.CalendarFetchStateRepository;
+import com.tbdev.teaneckminyanim.repo.OrganizationCalendarEntryBatchWriter;
 import com.tbdev.teaneckminyanim.repo.OrganizationCalendarEntryRepository;
 import com.tbdev.teaneckminyanim.service.CalendarMaterializationService;
 import com.tbdev.teaneckminyanim.service.OrganizationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Service for importing calendar entries from CSV exports.
- * Handles HTTP fetching, parsing, deduplication, and persistence.
+ * Handles HTTP fetching (through {@link CalendarFetcher}), parsing, deduplication, and persistence.
  */
 @Slf4j
 @Service
@@ -41,12 +50,18 @@ public class CalendarImportService {
     private final OrganizationService organizationService;
     private final MinyanClassifier minyanClassifier;
     private final CalendarMaterializationService materializationService;
+    private final OrganizationCalendarEntryBatchWriter entryBatchWriter;
+    private final CalendarFetcher calendarFetcher;
+    private final PlatformTransactionManager transactionManager;
+    private final CalendarFetchStateRepository fetchStateRepository;
 
     @PersistenceContext
     private EntityManager entityManager;
 
-    private static final int HTTP_TIMEOUT_SECONDS = 30;
-    private static final String USER_AGENT = "TeaneckMinyanim/1.2.1 (Calendar Import Bot)";
+    /** Parsed entries processed (and written) per round, so memory use doesn't grow with the calendar. */
+    static final int IMPORT_CHUNK_SIZE = 500;
+    /** Length of the entry's plain VARCHAR columns (JPA default). */
+    private static final int MAX_VARCHAR_LENGTH = 255;
 
     /**
      * Result of an import operation
@@ -57,7 +72,10 @@ public class CalendarImportService {
         public int totalParsed;
         public int newEntries;
         public int updatedEntries;
+        public int unchangedEntries;
         public int duplicatesSkipped;
+        /** The calendar had not changed since the last import, so nothing was parsed or written. */
+        public boolean unchanged;
         public String errorMessage;
         public LocalDateTime importedAt;
 
@@ -67,100 +85,47 @@ public class CalendarImportService {
     }
 
     /**
-     * Import calendar entries for a single organization.
-     * Uses REQUIRES_NEW propagation to ensure this runs in its own transaction,
-     * preventing transaction rollback issues when exceptions are caught and handled.
+     * A calendar as returned by the fetch stage. {@code csv} is null if the fetch failed,
+     * in which case {@code result} already carries the error, or if the calendar is
+     * unchanged. {@code fetchState} is what to remember about this fetch once it has
+     * been handled.
+     */
+    private record FetchedCalendar(Organization org, String csvUrl, CalendarFetcher.FetchedCsv csv,
+                                   CalendarFetchState fetchState, ImportResult result) {
+    }
+
+    /**
+     * Import calendar entries for a single organization, skipping the import if the
+     * calendar has not changed since the last one.
      *
      * @param organizationId Organization ID
      * @return Import result with statistics
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public ImportResult importCalendarForOrganization(String organizationId) {
-        ImportResult result = new ImportResult();
-        result.organizationId = organizationId;
-
-        try {
-            // Fetch organization
-            Optional<Organization> orgOpt = organizationService.findById(organizationId);
-            if (orgOpt.isEmpty()) {
-                result.success = false;
-                result.errorMessage = "Organization not found: " + organizationId;
-                log.error(result.errorMessage);
-                return result;
-            }
-            
-            Organization org = orgOpt.get();
-
-            // Check if calendar URL is configured
-            if (org.getCalendar() == null || org.getCalendar().trim().isEmpty()) {
-                result.success = false;
-                result.errorMessage = "No calendar URL configured for organization: " + org.getName();
-                log.warn(result.errorMessage);
-                return result;
-            }
-
-            // Validate calendar URL
-            if (!urlBuilder.isValidCalendarUrl(org.getCalendar())) {
-                result.success = false;
-                result.errorMessage = "Invalid calendar URL format: " + org.getCalendar();
-                log.error(result.errorMessage);
-                return result;
-            }
-
-            log.info("Starting calendar import for organization: {} ({})", org.getName(), organizationId);
-
-            // Build CSV export URL
-            String csvUrl = urlBuilder.buildCsvExportUrl(org.getCalendar());
-            log.debug("CSV export URL: {}", csvUrl);
-
-            // Fetch CSV content
-            String csvContent = fetchCsvContent(csvUrl);
-            if (csvContent == null || csvContent.trim().isEmpty()) {
-                result.success = false;
-                result.errorMessage = "Empty CSV content received from URL";
-                log.error(result.errorMessage);
-                return result;
-            }
-
-            // Parse CSV
-            List<CalendarCsvParser.ParsedEntry> parsedEntries = csvParser.parseCsv(csvContent);
-            result.totalParsed = parsedEntries.size();
-            log.info("Parsed {} entries from CSV", parsedEntries.size());
-
-            // Process and save entries
-            processEntries(organizationId, parsedEntries, csvUrl, result);
-
-            if (!parsedEntries.isEmpty()) {
-                LocalDate minDate = parsedEntries.stream()
-                        .map(CalendarCsvParser.ParsedEntry::getDate)
-                        .filter(Objects::nonNull)
-                        .min(LocalDate::compareTo)
-                        .orElse(null);
-                LocalDate maxDate = parsedEntries.stream()
-                        .map(CalendarCsvParser.ParsedEntry::getDate)
-                        .filter(Objects::nonNull)
-                        .max(LocalDate::compareTo)
-                        .orElse(null);
-                if (minDate != null && maxDate != null) {
-                    materializationService.syncImportedEntriesInRangeLive(organizationId, minDate, maxDate);
-                }
-            }
-
-            result.success = true;
-            log.info("Import completed for {}: {} new, {} updated, {} duplicates skipped",
-                    org.getName(), result.newEntries, result.updatedEntries, result.duplicatesSkipped);
+        return importCalendarForOrganization(organizationId, true);
+    }
 
-        } catch (javax.net.ssl.SSLHandshakeException e) {
-            result.success = false;
-            result.errorMessage = "SSL certificate validation failed. This may be due to expired certificates on the server or missing CA certificates in the Java trust store. Details: " + e.getMessage();
-            log.error("SSL certificate error while importing calendar for organization: {}. The server's Java installation may need updated CA certificates. Try: 1) Update Java cacerts, 2) Import the site's certificate, or 3) Use HTTP if available.", organizationId, e);
-        } catch (Exception e) {
+    /**
+     * Import calendar entries for a single organization.
+     * The fetch runs outside any transaction; the parsed entries are then persisted in
+     * their own (REQUIRES_NEW) transaction, so a failed import never affects the caller's.
+     *
+     * @param organizationId Organization ID
+     * @param conditional    skip the import if the calendar is unchanged since the last
+     *                       one (false to re-process it regardless, e.g. after deleting entries)
+     * @return Import result with statistics
+     */
+    public ImportResult importCalendarForOrganization(String organizationId, boolean conditional) {
+        Optional<Organization> orgOpt = organizationService.findById(organizationId);
+        if (orgOpt.isEmpty()) {
+            ImportResult result = new ImportResult();
+            result.organizationId = organizationId;
             result.success = false;
-            result.errorMessage = "Import failed: " + e.getMessage();
-            log.error("Failed to import calendar for organization: " + organizationId, e);
+            result.errorMessage = "Organization not found: " + organizationId;
+            log.error(result.errorMessage);
+            return result;
         }
-
-        return result;
+        return persistStage(fetchStage(orgOpt.get(), conditional), false);
     }
 
     /**
@@ -169,35 +134,13 @@ public class CalendarImportService {
      * @return Map of organization ID to import result
      */
     public Map<String, ImportResult> importAllEnabledOrganizations() {
-        Map<String, ImportResult> results = new HashMap<>();
-
-        List<Organization> orgs = organizationService.getAll();
-        log.info("Checking {} organizations for calendar import", orgs.size());
+        List<Organization> orgs = organizationService.getAll().stream()
+                .filter(org -> org.getCalendar() != null && !org.getCalendar().trim().isEmpty()
+                        && Boolean.TRUE.equals(org.getUseScrapedCalendar()))
+                .toList();
+        log.info("Importing calendars for {} organizations", orgs.size());
 
-        for (Organization org : orgs) {
-            // Check if calendar import is enabled for this organization
-            if (org.getCalendar() != null && !org.getCalendar().trim().isEmpty() 
-                    && Boolean.TRUE.equals(org.getUseScrapedCalendar())) {
-                
-                log.info("Importing calendar for organization: {} ({})", org.getName(), org.getId());
-                
-                try {
-                    ImportResult result = importCalendarForOrganization(org.getId());
-                    results.put(org.getId(), result);
-                    
-                    // Rate limiting: sleep between requests
-                    Thread.sleep(2000); // 2 second delay between organizations
-                    
-                } catch (Exception e) {
-                    ImportResult errorResult = new ImportResult();
-                    errorResult.success = false;
-                    errorResult.organizationId = org.getId();
-                    errorResult.errorMessage = "Exception during import: " + e.getMessage();
-                    results.put(org.getId(), errorResult);
-                    log.error("Failed to import calendar for organization: " + org.getName(), e);
-                }
-            }
-        }
+        Map<String, ImportResult> results = runPipeline(orgs, false);
 
         log.info("Completed import for {} organizations", results.size());
         return results;
@@ -208,109 +151,337 @@ public class CalendarImportService {
      * useScrapedCalendar flag.  All existing entries are deleted before the fresh import
      * so the classifier re-processes every event from scratch (fixes stale notes like
      * "Shkiya:" that should have been replaced on the original import pass).
+     * An organization's entries are only deleted once its calendar was fetched, in the
+     * same transaction as the re-import.
      *
      * @return Map of organization ID → import result
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Map<String, ImportResult> forceReimportAllOrganizations() {
-        Map<String, ImportResult> results = new LinkedHashMap<>();
+        List<Organization> orgs = organizationService.getAll().stream()
+                .filter(org -> org.getCalendar() != null && !org.getCalendar().trim().isEmpty())
+                .toList();
+        log.info("Force-reimporting calendars for {} organizations", orgs.size());
+
+        Map<String, ImportResult> results = runPipeline(orgs, true);
 
-        List<Organization> orgs = organizationService.getAll();
-        log.info("Force-reimporting calendars for all {} organizations", orgs.size());
+        log.info("Force-reimport completed for {} organizations", results.size());
+        return results;
+    }
 
+    /**
+     * Fetch all calendars concurrently, one virtual thread per organization, and persist
+     * each one as soon as its fetch completes. Politeness towards the calendar hosts is
+     * left to {@link CalendarFetcher}; persisting stays sequential, one transaction per
+     * organization.
+     *
+     * @return results in the order of {@code orgs}
+     */
+    private Map<String, ImportResult> runPipeline(List<Organization> orgs, boolean replaceExisting) {
+        Map<String, ImportResult> completed = new HashMap<>();
+        Map<Future<FetchedCalendar>, Organization> pending = new HashMap<>();
+        ExecutorService fetchers = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<FetchedCalendar> fetches = new ExecutorCompletionService<>(fetchers);
+        try (fetchers) {
+            for (Organization org : orgs) {
+                pending.put(fetches.submit(() -> fetchStage(org, !replaceExisting)), org);
+            }
+            for (int i = 0; i < orgs.size(); i++) {
+                Future<FetchedCalendar> done = fetches.take();
+                Organization org = pending.get(done);
+                try {
+                    FetchedCalendar fetched = done.get();
+                    completed.put(org.getId(), persistStage(fetched, replaceExisting));
+                } catch (ExecutionException | RuntimeException e) {
+                    // Both stages handle their own failures, so this is a bug rather than a bad calendar
+                    Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                    log.error("Unexpected failure importing calendar for organization: {}", org.getId(), cause);
+                    ImportResult failed = new ImportResult();
+                    failed.success = false;
+                    failed.organizationId = org.getId();
+                    failed.errorMessage = "Import failed: " + cause.getMessage();
+                    completed.put(org.getId(), failed);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Calendar import interrupted after {} of {} organizations", completed.size(), orgs.size());
+        }
+        // Downloads that were never persisted (the executor has finished all fetches by now)
+        for (Future<FetchedCalendar> left; (left = fetches.poll()) != null; ) {
+            try {
+                FetchedCalendar fetched = left.get();
+                if (fetched.csv() != null) {
+                    fetched.csv().discard();
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                // Nothing was downloaded
+            }
+        }
+
+        Map<String, ImportResult> results = new LinkedHashMap<>();
         for (Organization org : orgs) {
-            if (org.getCalendar() == null || org.getCalendar().trim().isEmpty()) continue;
+            ImportResult result = completed.get(org.getId());
+            if (result == null) {
+                result = new ImportResult();
+                result.success = false;
+                result.organizationId = org.getId();
+                result.errorMessage = "Import did not complete";
+            }
+            results.put(org.getId(), result);
+        }
+        return results;
+    }
 
-            String orgId = org.getId();
-            log.info("Force-reimporting: {} ({})", org.getName(), orgId);
+    /**
+     * First pipeline stage: validate the organization's calendar URL and download its CSV
+     * export. Never throws; failures are recorded in the returned result.
+     *
+     * <p>When {@code conditional}, the request carries the validators of the last import
+     * and the body is compared with its hash; if either shows the calendar unchanged the
+     * result is marked {@code unchanged} and no content is returned.</p>
+     */
+    private FetchedCalendar fetchStage(Organization org, boolean conditional) {
+        ImportResult result = new ImportResult();
+        result.organizationId = org.getId();
 
-            try {
-                // Delete all existing entries so the classifier starts clean
-                List<com.tbdev.teaneckminyanim.model.OrganizationCalendarEntry> existing =
-                        entryRepository.findByOrganizationIdOrderByDateDesc(orgId);
-                entryRepository.deleteAll(existing);
-                log.info("Deleted {} existing entries for {}", existing.size(), org.getName());
+        // Check if calendar URL is configured
+        if (org.getCalendar() == null || org.getCalendar().trim().isEmpty()) {
+            result.success = false;
+            result.errorMessage = "No calendar URL configured for organization: " + org.getName();
+            log.warn(result.errorMessage);
+            return new FetchedCalendar(org, null, null, null, result);
+        }
 
-                ImportResult result = importCalendarForOrganization(orgId);
-                results.put(orgId, result);
+        // Validate calendar URL
+        if (!urlBuilder.isValidCalendarUrl(org.getCalendar())) {
+            result.success = false;
+            result.errorMessage = "Invalid calendar URL format: " + org.getCalendar();
+            log.error(result.errorMessage);
+            return new FetchedCalendar(org, null, null, null, result);
+        }
 
-                Thread.sleep(2000);
-            } catch (Exception e) {
-                ImportResult errorResult = new ImportResult();
-                errorResult.success = false;
-                errorResult.organizationId = orgId;
-                errorResult.errorMessage = "Exception during force-reimport: " + e.getMessage();
-                results.put(orgId, errorResult);
-                log.error("Force-reimport failed for: {}", org.getName(), e);
+        log.info("Starting calendar import for organization: {} ({})", org.getName(), org.getId());
+
+        try {
+            // Build CSV export URL
+            String csvUrl = urlBuilder.buildCsvExportUrl(org.getCalendar());
+            log.debug("CSV export URL: {}", csvUrl);
+
+            // What the last import saw, if it used the same URL
+            CalendarFetchState fetchState = fetchStateRepository.findById(org.getId())
+                    .filter(state -> csvUrl.equals(state.getSourceUrl()))
+                    .orElseGet(() -> CalendarFetchState.builder()
+                            .organizationId(org.getId())
+                            .sourceUrl(csvUrl)
+                            .build());
+
+            CalendarFetcher.FetchedCsv response = conditional
+                    ? calendarFetcher.fetchCsv(csvUrl, fetchState.getEtag(), fetchState.getLastModified())
+                    : calendarFetcher.fetchCsv(csvUrl, null, null);
+            LocalDateTime now = LocalDateTime.now();
+            fetchState.setEtag(response.etag());
+            fetchState.setLastModified(response.lastModified());
+            fetchState.setFetchedAt(now);
+
+            if (response.notModified()) {
+                return unchanged(org, csvUrl, fetchState, result, "not modified");
+            }
+
+            if (Files.size(response.body()) == 0) {
+                response.discard();
+                result.success = false;
+                result.errorMessage = "Empty CSV content received from URL";
+                log.error(result.errorMessage);
+                return new FetchedCalendar(org, csvUrl, null, null, result);
+            }
+
+            if (conditional && response.contentHash().equals(fetchState.getContentHash())) {
+                response.discard();
+                return unchanged(org, csvUrl, fetchState, result, "same content");
             }
+            fetchState.setContentHash(response.contentHash());
+            fetchState.setChangedAt(now);
+            return new FetchedCalendar(org, csvUrl, response, fetchState, result);
+
+        } catch (javax.net.ssl.SSLHandshakeException e) {
+            result.success = false;
+            result.errorMessage = "SSL certificate validation failed. This may be due to expired certificates on the server or missing CA certificates in the Java trust store. Details: " + e.getMessage();
+            log.error("SSL certificate error while importing calendar for organization: {}. The server's Java installation may need updated CA certificates. Try: 1) Update Java cacerts, 2) Import the site's certificate, or 3) Use HTTP if available.", org.getId(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.success = false;
+            result.errorMessage = "Import interrupted";
+        } catch (Exception e) {
+            result.success = false;
+            result.errorMessage = "Import failed: " + e.getMessage();
+            log.error("Failed to import calendar for organization: " + org.getId(), e);
         }
+        return new FetchedCalendar(org, null, null, null, result);
+    }
 
-        log.info("Force-reimport completed for {} organizations", results.size());
-        return results;
+    private FetchedCalendar unchanged(Organization org, String csvUrl, CalendarFetchState fetchState,
+                                      ImportResult result, String reason) {
+        result.success = true;
+        result.unchanged = true;
+        log.info("Calendar for {} unchanged since last import ({}), skipping", org.getName(), reason);
+        return new FetchedCalendar(org, csvUrl, null, fetchState, result);
     }
 
     /**
-     * Fetch CSV content from URL using Java HttpClient.
+     * Second pipeline stage: stream a fetched calendar through parsing, classification and
+     * persistence in a new transaction. An unchanged calendar only has its fetch recorded.
+     * With {@code replaceExisting} the organization's existing entries are deleted first,
+     * in the same transaction. The downloaded file is deleted afterwards.
      */
-    private String fetchCsvContent(String url) throws IOException, InterruptedException {
-        log.debug("Fetching CSV from URL: {}", url);
+    private ImportResult persistStage(FetchedCalendar fetched, boolean replaceExisting) {
+        ImportResult result = fetched.result();
+        if (result.unchanged) {
+            try {
+                fetchStateRepository.save(fetched.fetchState());
+            } catch (Exception e) {
+                log.warn("Could not record fetch of unchanged calendar for {}: {}", result.organizationId, e.getMessage());
+            }
+            return result;
+        }
+        if (fetched.csv() == null) {
+            return result;
+        }
+        Organization org = fetched.org();
+        String organizationId = org.getId();
 
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(HTTP_TIMEOUT_SECONDS))
-                .followRedirects(HttpClient.Redirect.NORMAL)
-                .build();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.executeWithoutResult(status -> {
+                if (replaceExisting) {
+                    // Delete all existing entries so the classifier starts clean
+                    List<OrganizationCalendarEntry> existing =
+                            entryRepository.findByOrganizationIdOrderByDateDesc(organizationId);
+                    entryRepository.deleteAll(existing);
+                    log.info("Deleted {} existing entries for {}", existing.size(), org.getName());
+                }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("User-Agent", USER_AGENT)
-                .header("Accept", "text/csv, text/plain, */*")
-                .timeout(Duration.ofSeconds(HTTP_TIMEOUT_SECONDS))
-                .GET()
-                .build();
+                // Parse, process and save entries
+                try (Reader csv = fetched.csv().openReader()) {
+                    importEntries(organizationId, csv, fetched.csvUrl(), result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                // Only remembered once the entries are committed, so a failed import is retried in full
+                fetchStateRepository.save(fetched.fetchState());
+            });
+
+            result.success = true;
+            log.info("Import completed for {}: {} new, {} updated, {} unchanged, {} duplicates skipped",
+                    org.getName(), result.newEntries, result.updatedEntries, result.unchangedEntries,
+                    result.duplicatesSkipped);
 
-        if (response.statusCode() != 200) {
-            throw new IOException("HTTP request failed with status: " + response.statusCode());
+        } catch (Exception e) {
+            result.success = false;
+            result.errorMessage = "Import failed: " + e.getMessage();
+            log.error("Failed to import calendar for organization: " + organizationId, e);
+        } finally {
+            fetched.csv().discard();
         }
 
-        log.debug("Successfully fetched CSV content ({} bytes)", response.body().length());
-        return response.body();
+        return result;
+    }
+
+    /**
+     * Parse CSV content as a stream and process it in chunks of {@link #IMPORT_CHUNK_SIZE}
+     * entries as they are read, then sync the imported date span into calendar_events.
+     * Each chunk's writes are flushed before the next one is matched, so an entry repeated
+     * later in the file is still recognized.
+     */
+    void importEntries(String organizationId, Reader csv, String sourceUrl, ImportResult result) throws IOException {
+        List<CalendarCsvParser.ParsedEntry> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        LocalDate[] span = new LocalDate[2];
+
+        result.totalParsed = csvParser.parseCsv(csv, parsed -> {
+            LocalDate date = parsed.getDate();
+            span[0] = span[0] == null || date.isBefore(span[0]) ? date : span[0];
+            span[1] = span[1] == null || date.isAfter(span[1]) ? date : span[1];
+            chunk.add(parsed);
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                processEntries(organizationId, chunk, sourceUrl, result);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            processEntries(organizationId, chunk, sourceUrl, result);
+        }
+        log.info("Parsed {} entries from CSV", result.totalParsed);
+
+        if (span[0] != null) {
+            materializationService.syncImportedEntriesInRangeLive(organizationId, span[0], span[1]);
+        }
     }
 
     /**
      * Process parsed entries: deduplicate and save to database.
-     * Each entry is processed independently with proper error isolation.
+     *
+     * <p>The org's existing entries for the imported date span are loaded with one query
+     * and indexed by fingerprint and date, so matching and duplicate detection run in
+     * memory. Rows that fail validation or classification are skipped individually before
+     * anything is written. Changed entries are flushed as batched JPA updates (unchanged
+     * ones produce no SQL), and new entries are inserted in JDBC batches.</p>
      */
-    private void processEntries(String organizationId, 
-                                List<CalendarCsvParser.ParsedEntry> parsedEntries,
-                                String sourceUrl,
-                                ImportResult result) {
-        
+    void processEntries(String organizationId,
+                        List<CalendarCsvParser.ParsedEntry> parsedEntries,
+                        String sourceUrl,
+                        ImportResult result) {
+
+        LocalDate minDate = null, maxDate = null;
+        for (CalendarCsvParser.ParsedEntry parsed : parsedEntries) {
+            LocalDate date = parsed.getDate();
+            if (date != null) {
+                minDate = minDate == null || date.isBefore(minDate) ? date : minDate;
+                maxDate = maxDate == null || date.isAfter(maxDate) ? date : maxDate;
+            }
+        }
+        if (minDate == null) {
+            return;
+        }
+
+        Map<String, OrganizationCalendarEntry> byFingerprint = new HashMap<>();
+        Map<LocalDate, List<OrganizationCalendarEntry>> byDate = new HashMap<>();
+        for (OrganizationCalendarEntry existing : entryRepository.findEntriesInRange(organizationId, minDate, maxDate)) {
+            byFingerprint.put(existing.getFingerprint(), existing);
+            byDate.computeIfAbsent(existing.getDate(), d -> new ArrayList<>()).add(existing);
+        }
+
+        List<OrganizationCalendarEntry> newEntries = new ArrayList<>();
         for (CalendarCsvParser.ParsedEntry parsed : parsedEntries) {
             try {
+                String invalid = validate(parsed);
+                if (invalid != null) {
+                    log.warn("Skipping entry: {} on {}. {}", parsed.getTitle(), parsed.getDate(), invalid);
+                    continue;
+                }
+
                 // Generate fingerprint for deduplication
                 String fingerprint = generateFingerprint(organizationId, parsed);
 
-                // Check if entry already exists
-                Optional<OrganizationCalendarEntry> existing = 
-                        entryRepository.findByFingerprint(fingerprint);
-
-                if (existing.isPresent()) {
-                    // Entry exists - update it
-                    OrganizationCalendarEntry entry = existing.get();
-                    updateEntry(entry, parsed, sourceUrl);
-                    entryRepository.save(entry);
-                    result.updatedEntries++;
-                    log.debug("Updated existing entry: {} on {}", entry.getTitle(), entry.getDate());
-                    
+                OrganizationCalendarEntry existing = byFingerprint.get(fingerprint);
+                if (existing != null) {
+                    // Entry exists (in the database or earlier in this file) - update it
+                    if (updateEntry(existing, parsed, sourceUrl)) {
+                        result.updatedEntries++;
+                        log.debug("Updated existing entry: {} on {}", existing.getTitle(), existing.getDate());
+                    } else {
+                        result.unchangedEntries++;
+                    }
+
                 } else {
                     // New entry - check for duplicates and create
                     OrganizationCalendarEntry newEntry = createEntry(
                             organizationId, parsed, fingerprint, sourceUrl);
-                    
+                    List<OrganizationCalendarEntry> entriesOnDate =
+                            byDate.computeIfAbsent(newEntry.getDate(), d -> new ArrayList<>());
+
                     // Check for similar entries (potential duplicates)
-                    if (isDuplicate(organizationId, newEntry)) {
+                    if (isDuplicate(newEntry, entriesOnDate)) {
                         newEntry.setEnabled(false);
                         newEntry.setDuplicateReason("Auto-disabled: Similar entry exists");
                         result.duplicatesSkipped++;
@@ -318,26 +489,52 @@ public class CalendarImportService {
                     } else {
                         result.newEntries++;
                     }
-                    
-                    entryRepository.save(newEntry);
+
+                    newEntries.add(newEntry);
+                    byFingerprint.put(fingerprint, newEntry);
+                    entriesOnDate.add(newEntry);
                     log.debug("Created new entry: {} on {}", newEntry.getTitle(), newEntry.getDate());
                 }
-                
-                // Flush and clear after each successful entry to ensure isolation
-                entityManager.flush();
-                entityManager.clear();
-                
+
             } catch (Exception e) {
-                log.warn("Failed to process entry: {} on {}. Error: {}", 
+                log.warn("Failed to process entry: {} on {}. Error: {}",
                         parsed.getTitle(), parsed.getDate(), e.getMessage(), e);
-                
-                // Critical: Clear the EntityManager to discard any invalid state
-                // This prevents "null id" assertion failures on subsequent operations
-                entityManager.clear();
-                
                 // Continue processing other entries
             }
         }
+
+        // Updates first (and any pending deletes from a force re-import, which would
+        // otherwise collide with re-inserted fingerprints), then the new rows
+        entityManager.flush();
+        entryBatchWriter.insertAll(newEntries);
+        entityManager.clear();
+    }
+
+    /**
+     * Check a parsed row against the column constraints it will be written to, so one
+     * bad row is skipped instead of failing the batch.
+     *
+     * @return why the row can't be stored, or null if it can
+     */
+    private String validate(CalendarCsvParser.ParsedEntry parsed) {
+        if (parsed.getDate() == null) {
+            return "Missing date";
+        }
+        if (parsed.getTitle() == null || parsed.getTitle().isBlank()) {
+            return "Missing title";
+        }
+        Map<String, String> shortColumns = new LinkedHashMap<>();
+        shortColumns.put("title", parsed.getTitle());
+        shortColumns.put("type", parsed.getType());
+        shortColumns.put("name", parsed.getName());
+        shortColumns.put("location", parsed.getLocation());
+        shortColumns.put("hebrew date", parsed.getHebrewDate());
+        for (Map.Entry<String, String> column : shortColumns.entrySet()) {
+            if (column.getValue() != null && column.getValue().length() > MAX_VARCHAR_LENGTH) {
+                return "The " + column.getKey() + " is longer than " + MAX_VARCHAR_LENGTH + " characters";
+            }
+        }
+        return null;
     }
 
     /**
@@ -402,10 +599,14 @@ public class CalendarImportService {
      * IMPORTANT: This method re-applies the NON_MINYAN auto-disable rule during updates.
      * If an entry's classification changes to NON_MINYAN, it will be disabled.
      * However, if an entry was manually enabled by an admin, that manual override is preserved.
+     *
+     * @return true if any field changed (updatedAt is then stamped on flush by {@code @PreUpdate})
      */
-    private void updateEntry(OrganizationCalendarEntry entry,
-                            CalendarCsvParser.ParsedEntry parsed,
-                            String sourceUrl) {
+    private boolean updateEntry(OrganizationCalendarEntry entry,
+                                CalendarCsvParser.ParsedEntry parsed,
+                                String sourceUrl) {
+        List<Object> before = importedState(entry);
+
         // Re-classify the entry
         MinyanClassifier.ClassificationResult classificationResult = 
             minyanClassifier.classify(parsed.getTitle(), parsed.getType(), parsed.getDescription(), parsed.getDate(), parsed.getStartTime());
@@ -443,7 +644,15 @@ public class CalendarImportService {
         entry.setClassification(classificationResult.classification);
         entry.setClassificationReason(classificationResult.reason);
         entry.setNotes(classificationResult.notes);
-        entry.setUpdatedAt(LocalDateTime.now());
+        return !importedState(entry).equals(before);
+    }
+
+    /** The fields an import writes, for detecting whether an update changed anything. */
+    private static List<Object> importedState(OrganizationCalendarEntry entry) {
+        return Arrays.asList(entry.isEnabled(), entry.getStartTime(), entry.getStartDatetime(), entry.getEndTime(),
+                entry.getEndDatetime(), entry.getTitle(), entry.getType(), entry.getName(), entry.getLocation(),
+                entry.getDescription(), entry.getHebrewDate(), entry.getRawText(), entry.getSourceUrl(),
+                entry.getClassification(), entry.getClassificationReason(), entry.getNotes());
     }
 
     /**
@@ -467,11 +676,11 @@ public class CalendarImportService {
 
     /**
      * Check if a similar entry already exists (potential duplicate).
+     *
+     * @param entriesOnDate the org's entries on the new entry's date, including ones
+     *                      created earlier in this import
      */
-    private boolean isDuplicate(String organizationId, OrganizationCalendarEntry newEntry) {
-        List<OrganizationCalendarEntry> entriesOnDate = 
-                entryRepository.findByOrganizationIdAndDate(organizationId, newEntry.getDate());
-
+    private boolean isDuplicate(OrganizationCalendarEntry newEntry, List<OrganizationCalendarEntry> entriesOnDate) {
         String normalizedNewTitle = csvParser.normalizeTitle(newEntry.getTitle());
         String normalizedNewTime = newEntry.getStartTime() != null
                 ? csvParser.normalizeTime(newEntry.getStartTime()).toString()
@@ -484,7 +693,7 @@ public class CalendarImportService {
                     : "";
 
             // Check if titles and times match
-            if (normalizedNewTitle.equals(normalizedExistingTitle) 
+            if (normalizedNewTitle.equals(normalizedExistingTitle)
                     && normalizedNewTime.equals(normalizedExistingTime)) {
                 return true;
             }
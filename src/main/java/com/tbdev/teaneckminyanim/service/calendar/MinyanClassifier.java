@@ -7,15 +7,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Service for classifying imported calendar entries as minyan or non-minyan events.
- * Uses inclusive pattern matching with allow/deny lists.
+ * Uses inclusive pattern matching with allow/deny lists. The patterns are compiled once
+ * into per-letter alternations, so each entry's text is scanned in a single pass.
  */
 @Slf4j
 @Service
@@ -25,95 +28,194 @@ public class MinyanClassifier {
     private final ZmanimHandler zmanimHandler;
     private final com.tbdev.teaneckminyanim.service.ApplicationSettingsService settingsService;
 
-    // Denylist: Patterns that indicate non-minyan events
-    private static final Set<Pattern> NON_MINYAN_PATTERNS = new HashSet<>();
-    
-    // Combined Mincha/Maariv patterns
-    private static final Set<Pattern> MINCHA_MAARIV_PATTERNS = new HashSet<>();
-    
-    // Shacharis patterns
-    private static final Set<Pattern> SHACHARIS_PATTERNS = new HashSet<>();
-    
-    // Mincha patterns
-    private static final Set<Pattern> MINCHA_PATTERNS = new HashSet<>();
-    
-    // Maariv patterns
-    private static final Set<Pattern> MAARIV_PATTERNS = new HashSet<>();
-    
-    // Selichos patterns
-    private static final Set<Pattern> SELICHOS_PATTERNS = new HashSet<>();
-    
-    // Netz Hachama patterns (sunrise minyanim with special zman note)
-    private static final Set<Pattern> NETZ_PATTERNS = new HashSet<>();
-    
+    /**
+     * Keyword categories in precedence order: when several match, the first one listed
+     * decides the classification.
+     */
+    private enum Category {
+        // Netz Hachama patterns (sunrise minyanim) - checked before the other Shacharis shortcuts
+        NETZ(false),
+        // Nusach indicators, only looked for in the title and only decisive before 12pm
+        NUSACH_SEFARD(true),
+        ASHKENAZ(true),
+        SEPHARDIC(true),
+        // Combined Mincha/Maariv (most specific of the tefillah patterns)
+        MINCHA_MAARIV(false),
+        // Denylist: explicit non-minyan events
+        NON_MINYAN(false),
+        SELICHOS(false),
+        SHACHARIS(false),
+        MINCHA(false),
+        MAARIV(false);
+
+        final boolean titleOnly;
+
+        Category(boolean titleOnly) {
+            this.titleOnly = titleOnly;
+        }
+    }
+
+    /** One keyword pattern; {@code pattern} is also what the classification reason reports. */
+    private record Rule(Category category, String pattern) {
+    }
+
+    /** All rules, grouped by category in precedence order. */
+    private static final List<Rule> RULES = new ArrayList<>();
+
     static {
-        // Combined Mincha/Maariv patterns (check FIRST - most specific)
-        MINCHA_MAARIV_PATTERNS.add(Pattern.compile("mincha?h?\\s*[/&-]\\s*ma'?ariv", Pattern.CASE_INSENSITIVE));
-        MINCHA_MAARIV_PATTERNS.add(Pattern.compile("mincha?h?\\s+and\\s+ma'?ariv", Pattern.CASE_INSENSITIVE));
-        MINCHA_MAARIV_PATTERNS.add(Pattern.compile("mincha?h?\\s*[/&-]\\s*arvit", Pattern.CASE_INSENSITIVE));
-        MINCHA_MAARIV_PATTERNS.add(Pattern.compile("mincha?h?\\s+and\\s+arvit", Pattern.CASE_INSENSITIVE));
-        MINCHA_MAARIV_PATTERNS.add(Pattern.compile("zman\\s+mincha", Pattern.CASE_INSENSITIVE));
-        
-        // Denylist patterns - case insensitive (check SECOND - explicit exclusions)
+        // Netz Hachama patterns (sunrise minyanim - classified as Shacharis with Netz time in notes)
+        rule(Category.NETZ, "\\bvasikin\\b");
+        rule(Category.NETZ, "\\bNetz\\s+Minyan\\b");
+
+        // Nusach indicators in the title
+        rule(Category.NUSACH_SEFARD, "\\bNS\\b");
+        rule(Category.NUSACH_SEFARD, "\\bNusach\\s+Sefard\\b");
+        rule(Category.ASHKENAZ, "\\bAshkenaz\\b");
+        rule(Category.SEPHARDIC, "\\bsephardic?\\b");
+
+        // Combined Mincha/Maariv patterns
+        rule(Category.MINCHA_MAARIV, "mincha?h?\\s*[/&-]\\s*ma'?ariv");
+        rule(Category.MINCHA_MAARIV, "mincha?h?\\s+and\\s+ma'?ariv");
+        rule(Category.MINCHA_MAARIV, "mincha?h?\\s*[/&-]\\s*arvit");
+        rule(Category.MINCHA_MAARIV, "mincha?h?\\s+and\\s+arvit");
+        rule(Category.MINCHA_MAARIV, "zman\\s+mincha");
+
+        // Denylist patterns
         // These patterns should be explicit to avoid false positives
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bdaf\\s+yomi\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bshiur\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\blecture\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bclass(?!ification)\\b", Pattern.CASE_INSENSITIVE)); // Exclude "classification"
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\blearning\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bstudy\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bkolel\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bgemara\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bchaburah?\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bdrasha?\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\btalk\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bmeeting\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bkiddush\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bseudah?\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bmelave\\s+malka\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bworkshop\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bseminar\\b", Pattern.CASE_INSENSITIVE));
-        NON_MINYAN_PATTERNS.add(Pattern.compile("\\bcandle\\s+lighting\\b", Pattern.CASE_INSENSITIVE));
-        
+        rule(Category.NON_MINYAN, "\\bdaf\\s+yomi\\b");
+        rule(Category.NON_MINYAN, "\\bshiur\\b");
+        rule(Category.NON_MINYAN, "\\blecture\\b");
+        rule(Category.NON_MINYAN, "\\bclass(?!ification)\\b"); // Exclude "classification"
+        rule(Category.NON_MINYAN, "\\blearning\\b");
+        rule(Category.NON_MINYAN, "\\bstudy\\b");
+        rule(Category.NON_MINYAN, "\\bkolel\\b");
+        rule(Category.NON_MINYAN, "\\bgemara\\b");
+        rule(Category.NON_MINYAN, "\\bchaburah?\\b");
+        rule(Category.NON_MINYAN, "\\bdrasha?\\b");
+        rule(Category.NON_MINYAN, "\\btalk\\b");
+        rule(Category.NON_MINYAN, "\\bmeeting\\b");
+        rule(Category.NON_MINYAN, "\\bkiddush\\b");
+        rule(Category.NON_MINYAN, "\\bseudah?\\b");
+        rule(Category.NON_MINYAN, "\\bmelave\\s+malka\\b");
+        rule(Category.NON_MINYAN, "\\bworkshop\\b");
+        rule(Category.NON_MINYAN, "\\bseminar\\b");
+        rule(Category.NON_MINYAN, "\\bcandle\\s+lighting\\b");
+
+        // Selichos patterns
+        rule(Category.SELICHOS, "\\bselichos\\b");
+        rule(Category.SELICHOS, "\\bselichot\\b");
+
         // Shacharis patterns (Shacharis and sunrise-related minyanim)
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bshacharis\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bshacharit\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bshaharit\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bshachris\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bshachrith\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bneitz\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bnetz\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bsunrise\\s+minyan\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bvasikin\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bteen\\s+minyan\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bShc\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bShac\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bHashkamah\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bHashkama\\b", Pattern.CASE_INSENSITIVE));
-        SHACHARIS_PATTERNS.add(Pattern.compile("\\bMain+Minyan\\b", Pattern.CASE_INSENSITIVE));
-        
+        rule(Category.SHACHARIS, "\\bshacharis\\b");
+        rule(Category.SHACHARIS, "\\bshacharit\\b");
+        rule(Category.SHACHARIS, "\\bshaharit\\b");
+        rule(Category.SHACHARIS, "\\bshachris\\b");
+        rule(Category.SHACHARIS, "\\bshachrith\\b");
+        rule(Category.SHACHARIS, "\\bneitz\\b");
+        rule(Category.SHACHARIS, "\\bnetz\\b");
+        rule(Category.SHACHARIS, "\\bsunrise\\s+minyan\\b");
+        rule(Category.SHACHARIS, "\\bvasikin\\b");
+        rule(Category.SHACHARIS, "\\bteen\\s+minyan\\b");
+        rule(Category.SHACHARIS, "\\bShc\\b");
+        rule(Category.SHACHARIS, "\\bShac\\b");
+        rule(Category.SHACHARIS, "\\bHashkamah\\b");
+        rule(Category.SHACHARIS, "\\bHashkama\\b");
+        rule(Category.SHACHARIS, "\\bMain+Minyan\\b");
 
         // Mincha patterns (including early mincha)
-        MINCHA_PATTERNS.add(Pattern.compile("\\bearly\\s+mincha\\b", Pattern.CASE_INSENSITIVE));
-        MINCHA_PATTERNS.add(Pattern.compile("\\bmincha\\b", Pattern.CASE_INSENSITIVE));
-        MINCHA_PATTERNS.add(Pattern.compile("\\bminchah\\b", Pattern.CASE_INSENSITIVE));
-        MINCHA_PATTERNS.add(Pattern.compile("\\bminha\\b", Pattern.CASE_INSENSITIVE));
-        MINCHA_PATTERNS.add(Pattern.compile("\\bMnc\\b", Pattern.CASE_INSENSITIVE));
-        
+        rule(Category.MINCHA, "\\bearly\\s+mincha\\b");
+        rule(Category.MINCHA, "\\bmincha\\b");
+        rule(Category.MINCHA, "\\bminchah\\b");
+        rule(Category.MINCHA, "\\bminha\\b");
+        rule(Category.MINCHA, "\\bMnc\\b");
+
         // Maariv patterns
-        MAARIV_PATTERNS.add(Pattern.compile("\\bmaariv\\b", Pattern.CASE_INSENSITIVE));
-        MAARIV_PATTERNS.add(Pattern.compile("\\bma'ariv\\b", Pattern.CASE_INSENSITIVE));
-        MAARIV_PATTERNS.add(Pattern.compile("\\barvit\\b", Pattern.CASE_INSENSITIVE));
-        MAARIV_PATTERNS.add(Pattern.compile("\\barvis\\b", Pattern.CASE_INSENSITIVE));
-        
-        // Selichos patterns
-        SELICHOS_PATTERNS.add(Pattern.compile("\\bselichos\\b", Pattern.CASE_INSENSITIVE));
-        SELICHOS_PATTERNS.add(Pattern.compile("\\bselichot\\b", Pattern.CASE_INSENSITIVE));
-        
-        // Netz Hachama patterns (sunrise minyanim - classified as Shacharis with Netz time in notes)
-        NETZ_PATTERNS.add(Pattern.compile("\\bvasikin\\b", Pattern.CASE_INSENSITIVE));
-        NETZ_PATTERNS.add(Pattern.compile("\\bNetz\\s+Minyan\\b", Pattern.CASE_INSENSITIVE));
+        rule(Category.MAARIV, "\\bmaariv\\b");
+        rule(Category.MAARIV, "\\bma'ariv\\b");
+        rule(Category.MAARIV, "\\barvit\\b");
+        rule(Category.MAARIV, "\\barvis\\b");
+    }
+
+    /**
+     * Rules of one start letter as a single alternation, each rule in its own capturing
+     * group (group i + 1 is {@code rules.get(i)}), in precedence order. At a position the
+     * regex engine takes the first alternative that matches, i.e. the highest-precedence
+     * rule. {@code wordStartOnly} is set when every rule begins with {@code \\b}.
+     */
+    private record RuleBucket(Pattern pattern, List<Rule> rules, boolean wordStartOnly) {
+    }
+
+    /**
+     * The rules bucketed by the (lower-case) letter they start with, so a scan only tries
+     * the few rules that can match at each position. Patterns are compiled lower-cased and
+     * matched against ASCII-lower-cased text, which is what CASE_INSENSITIVE did.
+     */
+    private static final RuleBucket[] BUCKETS = compileRules();
+
+    private static void rule(Category category, String pattern) {
+        RULES.add(new Rule(category, pattern));
+    }
 
+    private static RuleBucket[] compileRules() {
+        Map<Character, List<Rule>> byLetter = new TreeMap<>();
+        for (Rule rule : RULES) {
+            String body = rule.pattern().startsWith("\\b") ? rule.pattern().substring(2) : rule.pattern();
+            char first = body.isEmpty() ? 0 : asciiLowerCase(body).charAt(0);
+            if (first < 'a' || first > 'z') {
+                throw new IllegalStateException("Classifier pattern must start with a letter: " + rule.pattern());
+            }
+            byLetter.computeIfAbsent(first, c -> new ArrayList<>()).add(rule);
+        }
+
+        RuleBucket[] buckets = new RuleBucket['z' + 1];
+        byLetter.forEach((letter, rules) -> {
+            StringJoiner alternation = new StringJoiner("|");
+            boolean wordStartOnly = true;
+            for (Rule rule : rules) {
+                alternation.add("(" + asciiLowerCase(rule.pattern()) + ")");
+                wordStartOnly &= rule.pattern().startsWith("\\b");
+            }
+            Pattern compiled = Pattern.compile(alternation.toString());
+            if (compiled.matcher("").groupCount() != rules.size()) {
+                throw new IllegalStateException("Classifier patterns must not contain capturing groups");
+            }
+            buckets[letter] = new RuleBucket(compiled, List.copyOf(rules), wordStartOnly);
+        });
+        return buckets;
+    }
+
+    // Qualifiers preserved as notes: multi-word phrases first, single words only if none matched
+    private static final String[] MULTI_WORD_QUALIFIERS = {
+        "teen minyan", "youth minyan", "young adult minyan",
+        "early shacharis", "early shacharit", "late shacharis", "late shacharit",
+        "early mincha", "late mincha", "fast mincha",
+        "early maariv", "late maariv",
+        "slow paced", "women's minyan", "men's minyan"
+    };
+    private static final String[] SINGLE_WORD_QUALIFIERS = {
+        "teen", "youth", "early", "late",
+        "fast", "quick", "express", "main", "second",
+        "kollel", "vasikin", "hanetz"
+    };
+    private static final Pattern[] MULTI_WORD_QUALIFIER_PATTERNS = wordPatterns(MULTI_WORD_QUALIFIERS);
+    private static final Pattern[] SINGLE_WORD_QUALIFIER_PATTERNS = wordPatterns(SINGLE_WORD_QUALIFIERS);
+
+    // Netz-related qualifiers, dropped from Netz notes to avoid duplication
+    private static final Pattern NETZ_QUALIFIERS =
+            Pattern.compile("\\b(hanetz|vasikin|netz|neitz|sunrise)\\b,?\\s*", Pattern.CASE_INSENSITIVE);
+
+    // Title normalization
+    private static final Pattern REDUNDANT_MINYAN_WORDS =
+            Pattern.compile("\\b(shacharis?|shacharit|mincha|ma'?ariv|selichos?)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE_RUN = Pattern.compile("\\s+");
+    private static final Pattern EDGE_PUNCTUATION = Pattern.compile("^[\\s\\p{Punct}]+|[\\s\\p{Punct}]+$");
+
+    private static Pattern[] wordPatterns(String[] words) {
+        Pattern[] patterns = new Pattern[words.length];
+        for (int i = 0; i < words.length; i++) {
+            patterns[i] = Pattern.compile("\\b" + Pattern.quote(words[i]) + "\\b", Pattern.CASE_INSENSITIVE);
+        }
+        return patterns;
     }
 
     /**
@@ -153,37 +255,33 @@ public class MinyanClassifier {
         
         log.debug("Classifying entry: {}", combinedText);
         
-        // Check for nusach indicators in title
-        boolean hasNS = title != null && title.matches("(?i).*\\bNS\\b.*");
-        boolean hasNusachSefard = title != null && title.matches("(?i).*\\bNusach\\s+Sefard\\b.*");
-        boolean hasAshkenaz = title != null && title.matches("(?i).*\\bAshkenaz\\b.*");
-        boolean hasSephardic = title != null && title.matches("(?i).*\\bsephardic?\\b.*");
+        // One pass over the text finds the best matching rule of every category
+        Rule[] hits = scan(combinedText, title != null ? title.trim().length() : 0);
         
         // Check for Netz Hachama patterns (sunrise minyanim) - should run before other Shacharis shortcuts
-        for (Pattern pattern : NETZ_PATTERNS) {
-            if (pattern.matcher(combinedText).find()) {
-                String netzNote = generateNetzHachamaNote(date);
-                String titleQualifier = extractTitleQualifier(title);
-                // Remove Netz-related qualifiers (hanetz, vasikin, netz, neitz, sunrise) to avoid duplication
-                if (titleQualifier != null && !titleQualifier.isEmpty()) {
-                    titleQualifier = titleQualifier.replaceAll("(?i)\\b(hanetz|vasikin|netz|neitz|sunrise)\\b,?\\s*", "").trim();
-                }
-                if (titleQualifier != null && !titleQualifier.isEmpty()) {
-                    netzNote = netzNote != null ? netzNote + ". " + titleQualifier : titleQualifier;
-                }
-                return new ClassificationResult(
-                    MinyanType.SHACHARIS,
-                    "Matched Netz Hachama pattern: " + pattern.pattern(),
-                    netzNote
-                );
+        Rule netz = hits[Category.NETZ.ordinal()];
+        if (netz != null) {
+            String netzNote = generateNetzHachamaNote(date);
+            String titleQualifier = extractTitleQualifier(title);
+            // Remove Netz-related qualifiers (hanetz, vasikin, netz, neitz, sunrise) to avoid duplication
+            if (titleQualifier != null && !titleQualifier.isEmpty()) {
+                titleQualifier = NETZ_QUALIFIERS.matcher(titleQualifier).replaceAll("").trim();
+            }
+            if (titleQualifier != null && !titleQualifier.isEmpty()) {
+                netzNote = netzNote != null ? netzNote + ". " + titleQualifier : titleQualifier;
             }
+            return new ClassificationResult(
+                MinyanType.SHACHARIS,
+                "Matched Netz Hachama pattern: " + netz.pattern(),
+                netzNote
+            );
         }
 
         // Check if time is before 12pm for nusach-based classification
         boolean isBeforeNoon = time != null && time.isBefore(LocalTime.NOON);
 
         // If NS is in title AND time is before 12pm, force classification as Shacharis (note handled via nusach field, not notes)
-        if ((hasNS || hasNusachSefard) && isBeforeNoon) {
+        if (hits[Category.NUSACH_SEFARD.ordinal()] != null && isBeforeNoon) {
             return new ClassificationResult(
                 MinyanType.SHACHARIS,
                 "Matched Nusach Sefard before 12pm - classified as Shacharis",
@@ -192,7 +290,7 @@ public class MinyanClassifier {
         }
 
         // If Ashkenaz is in title AND time is before 12pm, force classification as Shacharis (no note for Ashkenaz as it's default)
-        if (hasAshkenaz && isBeforeNoon) {
+        if (hits[Category.ASHKENAZ.ordinal()] != null && isBeforeNoon) {
             return new ClassificationResult(
                 MinyanType.SHACHARIS,
                 "Matched Ashkenaz before 12pm - classified as Shacharis"
@@ -200,7 +298,7 @@ public class MinyanClassifier {
         }
 
         // If Sephardic is in title AND time is before 12pm, force classification as Shacharis (note handled via nusach field, not notes)
-        if (hasSephardic && isBeforeNoon) {
+        if (hits[Category.SEPHARDIC.ordinal()] != null && isBeforeNoon) {
             return new ClassificationResult(
                 MinyanType.SHACHARIS,
                 "Matched Sephardic before 12pm - classified as Shacharis",
@@ -209,111 +307,139 @@ public class MinyanClassifier {
         }
         
         // Check for combined Mincha/Maariv first (most specific)
-        for (Pattern pattern : MINCHA_MAARIV_PATTERNS) {
-            if (pattern.matcher(combinedText).find()) {
-                // Generate Shkiya note and add any title qualifiers
-                String notes = generateShkiyaNote(date);
-                String titleQualifier = extractTitleQualifier(title);
-                if (titleQualifier != null && !titleQualifier.isEmpty()) {
-                    notes = notes != null ? notes + ". " + titleQualifier : titleQualifier;
-                }
-                return new ClassificationResult(
-                    MinyanType.MINCHA_MAARIV,
-                    "Matched combined Mincha/Maariv pattern: " + pattern.pattern(),
-                    notes
-                );
+        Rule minchaMaariv = hits[Category.MINCHA_MAARIV.ordinal()];
+        if (minchaMaariv != null) {
+            // Generate Shkiya note and add any title qualifiers
+            String notes = generateShkiyaNote(date);
+            String titleQualifier = extractTitleQualifier(title);
+            if (titleQualifier != null && !titleQualifier.isEmpty()) {
+                notes = notes != null ? notes + ". " + titleQualifier : titleQualifier;
             }
+            return new ClassificationResult(
+                MinyanType.MINCHA_MAARIV,
+                "Matched combined Mincha/Maariv pattern: " + minchaMaariv.pattern(),
+                notes
+            );
         }
         
         // Check denylist (explicit non-minyan events)
-        for (Pattern pattern : NON_MINYAN_PATTERNS) {
-            if (pattern.matcher(combinedText).find()) {
-                return new ClassificationResult(
-                    MinyanType.NON_MINYAN,
-                    "Matched non-minyan pattern: " + pattern.pattern()
-                );
-            }
+        Rule nonMinyan = hits[Category.NON_MINYAN.ordinal()];
+        if (nonMinyan != null) {
+            return new ClassificationResult(
+                MinyanType.NON_MINYAN,
+                "Matched non-minyan pattern: " + nonMinyan.pattern()
+            );
         }
         
         // Check specific minyan types (in order of specificity)
         
         // Check Selichos
-        for (Pattern pattern : SELICHOS_PATTERNS) {
-            if (pattern.matcher(combinedText).find()) {
-                String titleQualifier = extractTitleQualifier(title);
-                String notes = null;
-                if (titleQualifier != null && !titleQualifier.isEmpty()) {
-                    notes = notes != null ? notes + ". " + titleQualifier : titleQualifier;
-                }
-                return new ClassificationResult(
-                    MinyanType.SELICHOS,
-                    "Matched Selichos pattern: " + pattern.pattern(),
-                    notes
-                );
-            }
+        Rule selichos = hits[Category.SELICHOS.ordinal()];
+        if (selichos != null) {
+            return qualifiedMatch(MinyanType.SELICHOS, "Selichos", selichos, title);
         }
         
         // Check Shacharis (including sunrise minyanim)
-        for (Pattern pattern : SHACHARIS_PATTERNS) {
-            if (pattern.matcher(combinedText).find()) {
-                String titleQualifier = extractTitleQualifier(title);
-                String notes = null;
-                if (titleQualifier != null && !titleQualifier.isEmpty()) {
-                    notes = notes != null ? notes + ". " + titleQualifier : titleQualifier;
-                }
-                return new ClassificationResult(
-                    MinyanType.SHACHARIS,
-                    "Matched Shacharis pattern: " + pattern.pattern(),
-                    notes
-                );
-            }
+        Rule shacharis = hits[Category.SHACHARIS.ordinal()];
+        if (shacharis != null) {
+            return qualifiedMatch(MinyanType.SHACHARIS, "Shacharis", shacharis, title);
         }
         
         // Check Mincha (separate from combined Mincha/Maariv)
-        for (Pattern pattern : MINCHA_PATTERNS) {
-            if (pattern.matcher(combinedText).find()) {
-                String titleQualifier = extractTitleQualifier(title);
-                String notes = null;
-                if (titleQualifier != null && !titleQualifier.isEmpty()) {
-                    notes = notes != null ? notes + ". " + titleQualifier : titleQualifier;
-                }
-                return new ClassificationResult(
-                    MinyanType.MINCHA,
-                    "Matched Mincha pattern: " + pattern.pattern(),
-                    notes
-                );
-            }
+        Rule mincha = hits[Category.MINCHA.ordinal()];
+        if (mincha != null) {
+            return qualifiedMatch(MinyanType.MINCHA, "Mincha", mincha, title);
         }
         
         // Check Maariv (separate from combined Mincha/Maariv)
-        for (Pattern pattern : MAARIV_PATTERNS) {
-            if (pattern.matcher(combinedText).find()) {
-                String titleQualifier = extractTitleQualifier(title);
-                String notes = null;
-                if (titleQualifier != null && !titleQualifier.isEmpty()) {
-                    notes = notes != null ? notes + ". " + titleQualifier : titleQualifier;
-                }
-                return new ClassificationResult(
-                    MinyanType.MAARIV,
-                    "Matched Maariv pattern: " + pattern.pattern(),
-                    notes
-                );
-            }
+        Rule maariv = hits[Category.MAARIV.ordinal()];
+        if (maariv != null) {
+            return qualifiedMatch(MinyanType.MAARIV, "Maariv", maariv, title);
         }
         
         // Default to NON_MINYAN if no patterns match (conservative approach)
-        // But still add NS note if present
-        String notes = null;
-        if (hasNS) {
-            notes = null;
-        }
         return new ClassificationResult(
             MinyanType.NON_MINYAN,
             "No minyan pattern matched - defaulting to NON_MINYAN for safety",
-            notes
+            null
         );
     }
 
+    /**
+     * Result for a plain minyan match, with any title qualifiers as notes.
+     */
+    private ClassificationResult qualifiedMatch(MinyanType type, String label, Rule rule, String title) {
+        return new ClassificationResult(
+            type,
+            "Matched " + label + " pattern: " + rule.pattern(),
+            extractTitleQualifier(title)
+        );
+    }
+
+    /**
+     * Find the best (highest-precedence) matching rule of each category in one pass over
+     * the text. At each position only the rules starting with that letter are tried, and
+     * the highest-precedence one matching there is recorded; that is all that's needed,
+     * because a lower rule at the same position is always outranked. Title-only
+     * categories count only if the match lies within the title, which starts
+     * {@code combinedText}.
+     *
+     * @return the first matching rule per category, indexed by ordinal (null if none)
+     */
+    private static Rule[] scan(String combinedText, int titleLength) {
+        Rule[] hits = new Rule[Category.values().length];
+        String text = asciiLowerCase(combinedText);
+        Matcher[] matchers = new Matcher[BUCKETS.length];
+        for (int position = 0; position < text.length(); position++) {
+            char c = text.charAt(position);
+            RuleBucket bucket = c < BUCKETS.length ? BUCKETS[c] : null;
+            if (bucket == null || (bucket.wordStartOnly() && position > 0 && isWordChar(text.charAt(position - 1)))) {
+                continue;
+            }
+            Matcher matcher = matchers[c];
+            if (matcher == null) {
+                // Transparent bounds so \b and look-arounds see the text before the region
+                matcher = bucket.pattern().matcher(text).useTransparentBounds(true).useAnchoringBounds(false);
+                matchers[c] = matcher;
+            }
+            matcher.region(position, text.length());
+            if (!matcher.lookingAt()) {
+                continue;
+            }
+            Rule rule = bucket.rules().get(matchedGroup(matcher) - 1);
+            Category category = rule.category();
+            if (hits[category.ordinal()] == null && (!category.titleOnly || matcher.end() <= titleLength)) {
+                hits[category.ordinal()] = rule;
+            }
+        }
+        return hits;
+    }
+
+    private static int matchedGroup(Matcher matcher) {
+        for (int group = 1; group <= matcher.groupCount(); group++) {
+            if (matcher.start(group) != -1) {
+                return group;
+            }
+        }
+        throw new IllegalStateException("Match without a matched rule group");
+    }
+
+    /** Word characters as {@code \\b} sees them. */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /** Lower-case ASCII letters only, keeping every other char (and so all positions) as is. */
+    private static String asciiLowerCase(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] += 'a' - 'A';
+            }
+        }
+        return new String(chars);
+    }
+
     /**
      * Classify a calendar entry based on its title, type, and description.
      * Convenience method without time parameter for backward compatibility.
@@ -360,12 +486,11 @@ public class MinyanClassifier {
         }
         
         try {
-            Dictionary<Zman, Date> zmanim = zmanimHandler.getZmanim(date);
-            Date netz = zmanim.get(Zman.NETZ);
+            long netz = zmanimHandler.getZmanEpochMillis(date, Zman.NETZ);
             
-            if (netz != null) {
-                // Convert Date to LocalTime for formatting
-                LocalTime netzTime = netz.toInstant()
+            if (netz != ZmanimHandler.NO_ZMAN) {
+                // Convert epoch millis to LocalTime for formatting
+                LocalTime netzTime = Instant.ofEpochMilli(netz)
                     .atZone(settingsService.getZoneId())
                     .toLocalTime();
                 
@@ -396,12 +521,11 @@ public class MinyanClassifier {
         }
         
         try {
-            Dictionary<Zman, Date> zmanim = zmanimHandler.getZmanim(date);
-            Date shkiya = zmanim.get(Zman.SHEKIYA);
+            long shkiya = zmanimHandler.getZmanEpochMillis(date, Zman.SHEKIYA);
             
-            if (shkiya != null) {
-                // Convert Date to LocalTime for formatting
-                LocalTime shkiyaTime = shkiya.toInstant()
+            if (shkiya != ZmanimHandler.NO_ZMAN) {
+                // Convert epoch millis to LocalTime for formatting
+                LocalTime shkiyaTime = Instant.ofEpochMilli(shkiya)
                     .atZone(settingsService.getZoneId())
                     .toLocalTime();
                 
@@ -435,19 +559,12 @@ public class MinyanClassifier {
         List<String> qualifiers = new ArrayList<>();
         
         // Multi-word phrases to extract (check these first)
-        String[] multiWordPatterns = {
-            "teen minyan", "youth minyan", "young adult minyan",
-            "early shacharis", "early shacharit", "late shacharis", "late shacharit",
-            "early mincha", "late mincha", "fast mincha",
-            "early maariv", "late maariv",
-            "slow paced", "women's minyan", "men's minyan"
-        };
-        
-        for (String phrase : multiWordPatterns) {
-            Pattern pattern = Pattern.compile("\\b" + Pattern.quote(phrase) + "\\b", Pattern.CASE_INSENSITIVE);
-            if (pattern.matcher(titleLower).find()) {
+        for (int i = 0; i < MULTI_WORD_QUALIFIERS.length; i++) {
+            String phrase = MULTI_WORD_QUALIFIERS[i];
+            // contains() is a cheap pre-check: a whole-word match needs the substring
+            if (titleLower.contains(phrase) && MULTI_WORD_QUALIFIER_PATTERNS[i].matcher(titleLower).find()) {
                 // Preserve original casing by finding the phrase in the original title
-                int start = titleLower.indexOf(phrase.toLowerCase());
+                int start = titleLower.indexOf(phrase);
                 if (start != -1) {
                     String originalPhrase = title.substring(start, start + phrase.length());
                     qualifiers.add(originalPhrase);
@@ -457,16 +574,10 @@ public class MinyanClassifier {
         
         // If no multi-word patterns matched (and no NS found), check single-word qualifiers
         if (qualifiers.isEmpty()) {
-            String[] singleWordPatterns = {
-                "teen", "youth", "early", "late", 
-                "fast", "quick", "express", "main", "second",
-                "kollel", "vasikin", "hanetz"
-            };
-            
-            for (String qualifier : singleWordPatterns) {
+            for (int i = 0; i < SINGLE_WORD_QUALIFIERS.length; i++) {
+                String qualifier = SINGLE_WORD_QUALIFIERS[i];
                 // Use word boundaries to match whole words
-                Pattern pattern = Pattern.compile("\\b" + Pattern.quote(qualifier) + "\\b", Pattern.CASE_INSENSITIVE);
-                if (pattern.matcher(titleLower).find()) {
+                if (titleLower.contains(qualifier) && SINGLE_WORD_QUALIFIER_PATTERNS[i].matcher(titleLower).find()) {
                     // Preserve original casing
                     int start = titleLower.indexOf(qualifier);
                     if (start != -1) {
@@ -499,14 +610,14 @@ public class MinyanClassifier {
         // Remove redundant classification words for minyan types
         if (classification.isMinyan()) {
             // Remove standalone minyan type words if they duplicate the classification
-            normalized = normalized.replaceAll("(?i)\\b(shacharis?|shacharit|mincha|ma'?ariv|selichos?)\\b", "");
+            normalized = REDUNDANT_MINYAN_WORDS.matcher(normalized).replaceAll("");
         }
         
         // Collapse multiple spaces
-        normalized = normalized.replaceAll("\\s+", " ").trim();
+        normalized = WHITESPACE_RUN.matcher(normalized).replaceAll(" ").trim();
         
         // Remove leading/trailing punctuation and whitespace
-        normalized = normalized.replaceAll("^[\\s\\p{Punct}]+|[\\s\\p{Punct}]+$", "");
+        normalized = EDGE_PUNCTUATION.matcher(normalized).replaceAll("");
         
         // Return original if normalization resulted in empty string
         if (normalized.isEmpty()) {
@@ -0,0 +1,105 @@
+package com.tbdev.teaneckminyanim.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApiRateLimitFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApiRateLimitFilter filter = new ApiRateLimitFilter(
+            2, 20, List.of("app-key"), 3, List.of("10.0.0.0/8", "::1"), meterRegistry);
+
+    @Test
+    void resolveClientIp_ignoresForwardedForFromUntrustedConnections() {
+        assertEquals("203.0.113.9", filter.resolveClientIp(request("203.0.113.9", "1.2.3.4")));
+        assertEquals("203.0.113.9", filter.resolveClientIp(request("10.0.0.5", "1.2.3.4, 203.0.113.9")));
+        assertEquals("203.0.113.9", filter.resolveClientIp(request("10.0.0.5", "203.0.113.9, 10.0.0.7")));
+        assertEquals("10.0.0.5", filter.resolveClientIp(request("10.0.0.5", "not-an-ip")));
+        assertEquals("10.0.0.7", filter.resolveClientIp(request("::1", "10.0.0.7")));
+        assertEquals("10.0.0.5", filter.resolveClientIp(request("10.0.0.5", null)));
+    }
+
+    @Test
+    void buckets_areBoundedAndExportedAsGauge() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            filter.doFilter(request("10.0.0.1", "198.51.100." + i), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertEquals(3, filter.bucketCount());
+        assertEquals(3.0, meterRegistry.get("api.ratelimit.buckets").gauge().value());
+    }
+
+    @Test
+    void spoofedForwardedFor_sharesTheConnectionsBucket() throws Exception {
+        int[] statuses = new int[3];
+        for (int i = 0; i < statuses.length; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("203.0.113.9", "198.51.100." + i), response, new MockFilterChain());
+            statuses[i] = response.getStatus();
+        }
+
+        assertEquals(200, statuses[0]);
+        assertEquals(200, statuses[1]);
+        assertEquals(429, statuses[2]);
+    }
+
+    @Test
+    void routeCost_scalesScheduleRangesBySpan() {
+        assertEquals(1, cost("/api/v1/zmanim", "2026-03-01", "2026-03-31"));
+        assertEquals(3, cost("/api/v1/zmanim", "2026-03-01", "2026-05-31"));
+        assertEquals(1, cost("/api/v1/schedule", null, null));
+        assertEquals(15, cost("/api/v1/schedule", "2026-03-01", "2026-03-15"));
+        assertEquals(1, cost("/api/v1/organizations/bmob/schedule", "2026-03-01", "2026-03-07"));
+        assertEquals(5, cost("/api/v1/organizations/bmob/schedule", "2026-03-01", "2026-03-31"));
+        assertEquals(1, cost("/api/v1/schedule", "bad", "2026-03-15"));
+    }
+
+    @Test
+    void apiKeyHolders_getTheirOwnLimitAndHeadersReportTokens() throws Exception {
+        MockHttpServletRequest range = request("203.0.113.9", null);
+        range.addParameter("start", "2026-03-01");
+        range.addParameter("end", "2026-03-07");
+        range.addHeader(ApiRateLimitFilter.API_KEY_HEADER, "app-key");
+        MockHttpServletResponse keyed = new MockHttpServletResponse();
+        filter.doFilter(range, keyed, new MockFilterChain());
+
+        assertEquals(200, keyed.getStatus());
+        assertEquals("20", keyed.getHeader("X-RateLimit-Limit"));
+        assertEquals("7", keyed.getHeader("X-RateLimit-Cost"));
+        assertEquals("13", keyed.getHeader("X-RateLimit-Remaining"));
+
+        MockHttpServletRequest anonymous = request("203.0.113.9", null);
+        anonymous.addHeader(ApiRateLimitFilter.API_KEY_HEADER, "wrong-key");
+        MockHttpServletResponse limited = new MockHttpServletResponse();
+        filter.doFilter(anonymous, limited, new MockFilterChain());
+
+        assertEquals("2", limited.getHeader("X-RateLimit-Limit"));
+        assertEquals("1", limited.getHeader("X-RateLimit-Remaining"));
+    }
+
+    private static int cost(String path, String start, String end) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (start != null) {
+            request.addParameter("start", start);
+            request.addParameter("end", end);
+        }
+        return ApiRateLimitFilter.RouteCost.forPath(path).cost(request);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/schedule");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
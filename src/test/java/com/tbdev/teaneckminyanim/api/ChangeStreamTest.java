@@ -0,0 +1,128 @@
+package com.tbdev.teaneckminyanim.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tbdev.teaneckminyanim.service.CalendarEventsChangedEvent;
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationService;
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationService.WindowBounds;
+import com.tbdev.teaneckminyanim.service.NotificationsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeStreamTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CalendarMaterializationService materializationService = mock(CalendarMaterializationService.class);
+    /** Every frame written to any connection, as its raw text. */
+    private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+    private final ChangeStream stream = new ChangeStream(materializationService, new ObjectMapper(), 2, meterRegistry) {
+        @Override
+        SseEmitter newEmitter() {
+            return new SseEmitter() {
+                @Override
+                public void send(Set<DataWithMediaType> frame) {
+                    frames.add(frame.stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+                }
+            };
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void subscribe_refusesConnectionsBeyondTheLimit() {
+        assertNotNull(stream.subscribe());
+        assertNotNull(stream.subscribe());
+        assertNull(stream.subscribe());
+
+        assertEquals(2, stream.connectionCount());
+        assertEquals(2.0, meterRegistry.get("api.stream.connections").gauge().value());
+    }
+
+    @Test
+    void subscribe_neverExceedsTheLimitUnderConcurrentSubscribes() throws Exception {
+        ChangeStream limited = new ChangeStream(materializationService, new ObjectMapper(), 5, new SimpleMeterRegistry());
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<SseEmitter>> attempts = IntStream.range(0, 200)
+                    .mapToObj(i -> clients.submit(() -> {
+                        start.await();
+                        return limited.subscribe();
+                    }))
+                    .toList();
+            start.countDown();
+            long accepted = 0;
+            for (Future<SseEmitter> attempt : attempts) {
+                accepted += attempt.get() != null ? 1 : 0;
+            }
+            assertEquals(5, accepted);
+            assertEquals(5, limited.connectionCount());
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    @Test
+    void scheduleNotice_isClampedToTheWindowAndSkippedOutsideIt() throws Exception {
+        when(materializationService.getWindowBounds())
+                .thenReturn(new WindowBounds(TODAY.minusWeeks(3), TODAY.plusWeeks(8)));
+        stream.subscribe();
+        assertTrue(nextFrame().contains("event:ready"));
+
+        // Entirely before the window: nothing is sent
+        stream.onCalendarEventsChanged(CalendarEventsChangedEvent.forRange(null, null, TODAY.minusWeeks(4)));
+        stream.onCalendarEventsChanged(CalendarEventsChangedEvent.forRange("org-a", TODAY.minusWeeks(5), TODAY.plusDays(2)));
+
+        String schedule = nextFrame();
+        assertTrue(schedule.contains("event:schedule\n"), schedule);
+        assertTrue(schedule.contains("data:{\"organizationId\":\"org-a\",\"start\":\"2026-02-22\",\"end\":\"2026-03-17\"}"),
+                schedule);
+        assertNull(frames.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void notificationsNotice_namesTheNotification() throws Exception {
+        stream.subscribe();
+        assertTrue(nextFrame().contains("event:ready"));
+
+        stream.onNotificationsChanged(new NotificationsChangedEvent("n-1", "BANNER"));
+
+        String notice = nextFrame();
+        assertTrue(notice.contains("event:notifications\n"), notice);
+        assertTrue(notice.contains("data:{\"id\":\"n-1\",\"type\":\"BANNER\"}"), notice);
+        assertEquals(1, stream.connectionCount());
+    }
+
+    private String nextFrame() throws InterruptedException {
+        String frame = frames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(frame, "expected a frame");
+        return frame;
+    }
+}
@@ -0,0 +1,129 @@
+package com.tbdev.teaneckminyanim.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnknownFieldSet;
+import com.tbdev.teaneckminyanim.api.ProtobufApiMessageConverter.Payload;
+import com.tbdev.teaneckminyanim.api.dto.ApiResponse;
+import com.tbdev.teaneckminyanim.api.dto.NotificationDto;
+import com.tbdev.teaneckminyanim.api.dto.OrganizationDto;
+import com.tbdev.teaneckminyanim.api.dto.ScheduleEventDto;
+import com.tbdev.teaneckminyanim.api.dto.ScheduleEventDto.OrgSummary;
+import com.tbdev.teaneckminyanim.api.dto.ZmanimDto;
+import com.tbdev.teaneckminyanim.api.dto.ZmanimRangeDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProtobufApiMessageConverterTest {
+
+    private final ProtobufApiMessageConverter converter = new ProtobufApiMessageConverter();
+
+    @Test
+    void schedule_sendsEachOrganizationOnceAndReferencesItByIndex() throws Exception {
+        OrgSummary bmob = new OrgSummary("org-1", "Beth Medrash of Bergen", "bmob", "#123456", null);
+        OrgSummary rinat = new OrgSummary("org-2", "Rinat Yisrael", "rinat", "#654321", null);
+        List<ScheduleEventDto> events = List.of(
+                event("cal-1", bmob, "07:00"),
+                event("cal-2", rinat, "07:15"),
+                event("cal-3", bmob, "13:30"));
+        ApiResponse<List<ScheduleEventDto>> response = ApiResponse.ok(events, Map.of("count", 3));
+
+        byte[] encoded = ProtobufApiMessageConverter.encode(response, Payload.SCHEDULE);
+
+        UnknownFieldSet message = UnknownFieldSet.parseFrom(encoded);
+        UnknownFieldSet schedule = UnknownFieldSet.parseFrom(message.getField(1).getLengthDelimitedList().get(0));
+        assertEquals(2, schedule.getField(1).getLengthDelimitedList().size());
+        List<UnknownFieldSet> decodedEvents = schedule.getField(2).getLengthDelimitedList().stream()
+                .map(bytes -> {
+                    try {
+                        return UnknownFieldSet.parseFrom(bytes);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+        assertEquals(3, decodedEvents.size());
+        assertEquals("13:30", decodedEvents.get(2).getField(3).getLengthDelimitedList().get(0).toStringUtf8());
+        assertTrue(decodedEvents.get(0).getField(6).getVarintList().isEmpty(), "index 0 is the proto3 default");
+        assertEquals(List.of(1L), decodedEvents.get(1).getField(6).getVarintList());
+        assertTrue(decodedEvents.get(2).getField(6).getVarintList().isEmpty());
+
+        UnknownFieldSet meta = UnknownFieldSet.parseFrom(message.getField(14).getLengthDelimitedList().get(0));
+        assertEquals("3", meta.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+
+        assertTrue(encoded.length * 2 < new ObjectMapper().writeValueAsBytes(response).length);
+    }
+
+    @Test
+    void zmanimRange_keepsColumnsAlignedWhenAZmanIsMissing() throws Exception {
+        ZmanimRangeDto range = new ZmanimRangeDto("2026-03-01", "2026-03-03",
+                List.of("11 Adar 5786", "12 Adar 5786", "13 Adar 5786"),
+                Map.of("netz", List.of("06:28", "06:26", "06:25"),
+                        "chatzosLaila", Arrays.asList("23:58", null, "23:57")));
+
+        byte[] encoded = ProtobufApiMessageConverter.encode(ApiResponse.ok(range, Map.of("count", 3)),
+                Payload.ZMANIM_RANGE);
+
+        UnknownFieldSet message = UnknownFieldSet.parseFrom(encoded);
+        UnknownFieldSet decoded = UnknownFieldSet.parseFrom(message.getField(5).getLengthDelimitedList().get(0));
+        assertEquals("2026-03-01", decoded.getField(1).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(3, decoded.getField(3).getLengthDelimitedList().size());
+        UnknownFieldSet columns = UnknownFieldSet.parseFrom(decoded.getField(4).getLengthDelimitedList().get(0));
+        assertEquals(List.of("06:28", "06:26", "06:25"), strings(columns, 3));
+        assertEquals(List.of("23:58", "", "23:57"), strings(columns, 15));
+        assertTrue(columns.getField(1).getLengthDelimitedList().isEmpty());
+    }
+
+    @Test
+    void canWrite_onlyForEncodedPayloadTypes() {
+        assertTrue(canWrite(new ParameterizedTypeReference<ApiResponse<List<ScheduleEventDto>>>() {}));
+        assertTrue(canWrite(new ParameterizedTypeReference<ApiResponse<List<OrganizationDto>>>() {}));
+        assertTrue(canWrite(new ParameterizedTypeReference<ApiResponse<OrganizationDto>>() {}));
+        assertTrue(canWrite(new ParameterizedTypeReference<ApiResponse<ZmanimDto>>() {}));
+        assertTrue(canWrite(new ParameterizedTypeReference<ApiResponse<ZmanimRangeDto>>() {}));
+        assertFalse(canWrite(new ParameterizedTypeReference<ApiResponse<List<NotificationDto>>>() {}));
+        assertFalse(converter.canWrite(ApiResponse.class, ProtobufApiMessageConverter.APPLICATION_PROTOBUF));
+    }
+
+    @Test
+    void isRequested_honoursQualityZero() {
+        assertTrue(ProtobufApiMessageConverter.isRequested("application/x-protobuf"));
+        assertTrue(ProtobufApiMessageConverter.isRequested("application/json;q=0.5, application/x-protobuf"));
+        assertFalse(ProtobufApiMessageConverter.isRequested("application/x-protobuf;q=0"));
+        assertFalse(ProtobufApiMessageConverter.isRequested("*/*"));
+        assertFalse(ProtobufApiMessageConverter.isRequested(null));
+    }
+
+    @Test
+    void isRequested_onlyWhenProtobufOutranksJson() {
+        assertFalse(ProtobufApiMessageConverter.isRequested("application/json, application/x-protobuf;q=0.5"));
+        assertFalse(ProtobufApiMessageConverter.isRequested("application/json, application/x-protobuf"));
+        assertTrue(ProtobufApiMessageConverter.isRequested("application/x-protobuf, application/json"));
+        assertFalse(ProtobufApiMessageConverter.isRequested("*/*, application/x-protobuf;q=0.9"));
+        assertTrue(ProtobufApiMessageConverter.isRequested("*/*;q=0.8, application/x-protobuf"));
+        assertTrue(ProtobufApiMessageConverter.isRequested("*/*, application/x-protobuf"));
+    }
+
+    private static List<String> strings(UnknownFieldSet message, int field) {
+        return message.getField(field).getLengthDelimitedList().stream().map(ByteString::toStringUtf8).toList();
+    }
+
+    private boolean canWrite(ParameterizedTypeReference<?> reference) {
+        Type type = reference.getType();
+        return converter.canWrite(type, ApiResponse.class, ProtobufApiMessageConverter.APPLICATION_PROTOBUF);
+    }
+
+    private static ScheduleEventDto event(String id, OrgSummary org, String startTime) {
+        return new ScheduleEventDto(id, "2026-03-15", startTime, "SHACHARIS", "Shacharis", org,
+                null, null, "ASHKENAZ", "Ashkenaz", null, "RULES", null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.tbdev.teaneckminyanim.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tbdev.teaneckminyanim.api.ScheduleResponseCache.CachedResponse;
+import com.tbdev.teaneckminyanim.api.dto.ApiResponse;
+import com.tbdev.teaneckminyanim.api.dto.NormalizedScheduleDto;
+import com.tbdev.teaneckminyanim.api.dto.ScheduleEventDto;
+import com.tbdev.teaneckminyanim.api.dto.ScheduleEventDto.OrgSummary;
+import com.tbdev.teaneckminyanim.service.CalendarEventsChangedEvent;
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationService.WindowBounds;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleResponseCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final WindowBounds WINDOW = new WindowBounds(TODAY.minusWeeks(3), TODAY.plusWeeks(8));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduleResponseCache cache = new ScheduleResponseCache(objectMapper);
+
+    @Test
+    void get_servesOnlyWhileVersionAndWindowAreCurrent() {
+        CachedResponse cached = cache.put(TODAY, TODAY, false, 7L, WINDOW, "\"abc\"", ApiResponse.ok(List.of()));
+
+        assertSame(cached, cache.get(TODAY, TODAY, false, 7L, WINDOW));
+        assertNull(cache.get(TODAY, TODAY, false, 8L, WINDOW));
+        assertNull(cache.get(TODAY, TODAY, false, 7L, new WindowBounds(TODAY.minusWeeks(2), TODAY.plusWeeks(9))));
+        assertNull(cache.get(TODAY, TODAY.plusDays(6), false, 7L, WINDOW));
+
+        cache.onCalendarEventsChanged(CalendarEventsChangedEvent.forDate("org-a", TODAY.plusDays(1)));
+        assertSame(cached, cache.get(TODAY, TODAY, false, 7L, WINDOW));
+        cache.onCalendarEventsChanged(CalendarEventsChangedEvent.forDate("org-a", TODAY));
+        assertNull(cache.get(TODAY, TODAY, false, 7L, WINDOW));
+    }
+
+    @Test
+    void writeTo_sendsGzipVariantWithItsOwnEtagWhenAccepted() throws Exception {
+        Map<String, Object> meta = Map.of("notes", String.join("", Collections.nCopies(200, "Mincha ")));
+        CachedResponse cached = cache.put(TODAY, TODAY, false, 1L, WINDOW, "\"abc\"", ApiResponse.ok(List.of(), meta));
+        assertNotNull(cached.gzip());
+
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        cached.writeTo(plain, false, "max-age=60");
+        assertEquals("\"abc\"", plain.getHeader("ETag"));
+        assertNull(plain.getHeader("Content-Encoding"));
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponse.ok(List.of(), meta)), plain.getContentAsByteArray());
+
+        MockHttpServletResponse gzipped = new MockHttpServletResponse();
+        cached.writeTo(gzipped, true, "max-age=60");
+        assertEquals("\"abc-gzip\"", gzipped.getHeader("ETag"));
+        assertEquals("gzip", gzipped.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", gzipped.getHeader("Vary"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void normalizedShape_isCachedSeparatelyAndIsSmaller() {
+        OrgSummary org = new OrgSummary("org-1", "Beth Medrash of Bergen County", "bmob", "#123456", "+12015550100");
+        List<ScheduleEventDto> events = IntStream.range(0, 40)
+                .mapToObj(i -> new ScheduleEventDto("cal-" + i, TODAY.toString(), "07:00", "SHACHARIS", "Shacharis",
+                        org, null, null, "ASHKENAZ", "Ashkenaz", "NETZ+5min", "RULES", null))
+                .toList();
+        CachedResponse full = cache.put(TODAY, TODAY, false, 3L, WINDOW, "\"abc\"", ApiResponse.ok(events));
+        CachedResponse normalized = cache.put(TODAY, TODAY, true, 3L, WINDOW, "\"abc-n\"",
+                ApiResponse.ok(NormalizedScheduleDto.from(events)));
+
+        assertSame(full, cache.get(TODAY, TODAY, false, 3L, WINDOW));
+        assertSame(normalized, cache.get(TODAY, TODAY, true, 3L, WINDOW));
+        assertTrue(normalized.json().length * 5 < full.json().length * 4);
+    }
+
+    @Test
+    void acceptsGzip_honoursQualityZero() {
+        assertTrue(ScheduleResponseCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ScheduleResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(ScheduleResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(ScheduleResponseCache.acceptsGzip("identity"));
+        assertFalse(ScheduleResponseCache.acceptsGzip(null));
+    }
+}
@@ -0,0 +1,103 @@
+package com.tbdev.teaneckminyanim.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kosherjava.zmanim.util.GeoLocation;
+import com.tbdev.teaneckminyanim.api.dto.ApiResponse;
+import com.tbdev.teaneckminyanim.api.dto.ZmanimDto;
+import com.tbdev.teaneckminyanim.api.dto.ZmanimRangeDto;
+import com.tbdev.teaneckminyanim.service.ApplicationSettingsService;
+import com.tbdev.teaneckminyanim.service.ZmanimHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ZmanimApiControllerTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 3, 20);
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Mock
+    private ApplicationSettingsService settingsService;
+
+    private ZmanimApiController controller;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(settingsService.getGeoLocation())
+                .thenReturn(new GeoLocation("Teaneck", 40.8932, -74.0116, 0, TimeZone.getTimeZone(NEW_YORK)));
+        lenient().when(settingsService.getZoneId()).thenReturn(NEW_YORK);
+        lenient().when(settingsService.getLocationName()).thenReturn("Teaneck, NJ");
+        controller = new ZmanimApiController(new ZmanimHandler(settingsService), settingsService);
+    }
+
+    @Test
+    void range_rejectsStartAfterEnd() {
+        ResponseEntity<ApiResponse<ZmanimRangeDto>> response =
+                controller.getZmanimRange(START.toString(), START.minusDays(1).toString());
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("INVALID_RANGE", response.getBody().error().code());
+    }
+
+    @Test
+    void range_rejectsUnparseableDatesAndSpansOverTheCap() {
+        ResponseEntity<ApiResponse<ZmanimRangeDto>> badStart = controller.getZmanimRange("2026-3-20", "2026-03-21");
+        assertEquals(HttpStatus.BAD_REQUEST, badStart.getStatusCode());
+        assertEquals("INVALID_DATE", badStart.getBody().error().code());
+
+        ResponseEntity<ApiResponse<ZmanimRangeDto>> badEnd = controller.getZmanimRange("2026-03-20", "tomorrow");
+        assertEquals(HttpStatus.BAD_REQUEST, badEnd.getStatusCode());
+        assertEquals("INVALID_DATE", badEnd.getBody().error().code());
+
+        ResponseEntity<ApiResponse<ZmanimRangeDto>> tooLong =
+                controller.getZmanimRange(START.toString(), START.plusDays(93).toString());
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatusCode());
+        assertEquals("RANGE_TOO_LARGE", tooLong.getBody().error().code());
+
+        ResponseEntity<ApiResponse<ZmanimRangeDto>> atCap =
+                controller.getZmanimRange(START.toString(), START.plusDays(92).toString());
+        assertEquals(HttpStatus.OK, atCap.getStatusCode());
+        assertEquals(93, atCap.getBody().data().hebrewDates().size());
+    }
+
+    @Test
+    void range_hasOneEntryPerDateMatchingTheSingleDayEndpoint() {
+        int days = 10;
+        ZmanimRangeDto range = controller.getZmanimRange(START.toString(), START.plusDays(days - 1).toString())
+                .getBody().data();
+
+        assertEquals(START.toString(), range.start());
+        assertEquals(START.plusDays(days - 1).toString(), range.end());
+        assertEquals(days, range.hebrewDates().size());
+        assertEquals(15, range.times().size());
+        range.times().values().forEach(column -> assertEquals(days, column.size()));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int i = 0; i < days; i++) {
+            ZmanimDto day = controller.getZmanim(START.plusDays(i).toString()).getBody().data();
+            assertNotNull(day);
+            assertEquals(day.hebrewDate(), range.hebrewDates().get(i), "hebrew date " + day.date());
+            @SuppressWarnings("unchecked")
+            Map<String, String> times = objectMapper.convertValue(day.times(), Map.class);
+            for (Map.Entry<String, List<String>> column : range.times().entrySet()) {
+                assertEquals(times.get(column.getKey()), column.getValue().get(i),
+                        column.getKey() + " on " + day.date());
+            }
+        }
+    }
+}
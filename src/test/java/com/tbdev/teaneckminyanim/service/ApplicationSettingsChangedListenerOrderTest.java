@@ -0,0 +1,33 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.api.ChangeStream;
+import com.tbdev.teaneckminyanim.api.ScheduleResponseCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationSettingsChangedListenerOrderTest {
+
+    @Test
+    void listenersRunFromZmanimToStreaming() throws Exception {
+        List<Class<?>> expected = List.of(
+                ZmanimHandler.class,
+                ScheduleDataVersions.class,
+                ScheduleResponseCache.class,
+                ScheduleChangeLog.class,
+                ChangeStream.class);
+
+        int previous = Integer.MIN_VALUE;
+        for (Class<?> listener : expected) {
+            // The order Spring resolves when it multicasts the event to these methods
+            Method method = listener.getMethod("onSettingsChanged", ApplicationSettingsChangedEvent.class);
+            int order = new ApplicationListenerMethodAdapter(listener.getSimpleName(), listener, method).getOrder();
+            assertTrue(order > previous, listener.getSimpleName() + " must run after the listeners before it");
+            previous = order;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.api.ChangeStream;
+import com.tbdev.teaneckminyanim.api.ScheduleResponseCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.event.TransactionalApplicationListenerMethodAdapter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalendarEventsChangedListenerOrderTest {
+
+    @Test
+    void listenersRunFromEvictionToStreaming() throws Exception {
+        List<Class<?>> expected = List.of(
+                EffectiveScheduleCache.class,
+                ScheduleDataVersions.class,
+                ScheduleResponseCache.class,
+                ScheduleChangeLog.class,
+                ChangeStream.class);
+
+        int previous = Integer.MIN_VALUE;
+        for (Class<?> listener : expected) {
+            // The order Spring resolves for the after-commit synchronization it registers
+            Method method = listener.getMethod("onCalendarEventsChanged", CalendarEventsChangedEvent.class);
+            int order = new TransactionalApplicationListenerMethodAdapter(listener.getSimpleName(), listener, method)
+                    .getOrder();
+            assertTrue(order > previous, listener.getSimpleName() + " must run after the listeners before it");
+            previous = order;
+        }
+    }
+}
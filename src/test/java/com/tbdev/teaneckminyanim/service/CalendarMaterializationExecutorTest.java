@@ -0,0 +1,77 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.model.Organization;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarMaterializationExecutorTest {
+
+    @Mock
+    private CalendarMaterializationService materializationService;
+
+    @Mock
+    private OrganizationService organizationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void materializeAll_runsEachOrgAndReportsFailuresWithoutAbortingOthers() {
+        Organization ok = Organization.builder().id("org-ok").name("Ok Shul").orgColor("#000000").build();
+        Organization broken = Organization.builder().id("org-bad").name("Broken Shul").orgColor("#000000").build();
+        when(organizationService.getAll()).thenReturn(List.of(ok, broken));
+        when(materializationService.materializeOrganization("org-ok"))
+                .thenReturn(new CalendarMaterializationService.OrganizationSummary(12, 3, 1));
+        when(materializationService.materializeOrganization("org-bad"))
+                .thenThrow(new IllegalStateException("boom"));
+        LocalDate windowStart = LocalDate.of(2026, 3, 1);
+        when(materializationService.getWindowBounds())
+                .thenReturn(new CalendarMaterializationService.WindowBounds(windowStart, windowStart.plusWeeks(11)));
+
+        CalendarMaterializationExecutor executor = new CalendarMaterializationExecutor(
+                materializationService, organizationService, eventPublisher, 2, 10);
+        CalendarMaterializationExecutor.MaterializationReport report = executor.materializeAll();
+
+        assertEquals(2, report.parallelism());
+        assertEquals(1, report.succeeded());
+        assertEquals(1, report.failed());
+
+        CalendarMaterializationExecutor.OrganizationOutcome first = report.outcomes().get(0);
+        assertEquals("org-ok", first.organizationId());
+        assertTrue(first.success());
+        assertEquals(12, first.summary().rulesEvents());
+
+        CalendarMaterializationExecutor.OrganizationOutcome second = report.outcomes().get(1);
+        assertFalse(second.success());
+        assertNull(second.summary());
+        assertEquals("boom", second.errorMessage());
+
+        verify(materializationService).cleanupOldEvents();
+        verify(eventPublisher).publishEvent(CalendarEventsChangedEvent.forRange(null, null, windowStart.minusDays(1)));
+    }
+
+    @Test
+    void defaultParallelism_isHalfTheConnectionPoolCappedAtCpuCount() {
+        CalendarMaterializationExecutor executor = new CalendarMaterializationExecutor(
+                materializationService, organizationService, eventPublisher, 0, 2);
+        when(organizationService.getAll()).thenReturn(List.of());
+        when(materializationService.getWindowBounds()).thenReturn(
+                new CalendarMaterializationService.WindowBounds(LocalDate.now().minusWeeks(3), LocalDate.now().plusWeeks(8)));
+
+        assertEquals(1, executor.materializeAll().parallelism());
+    }
+}
@@ -2,10 +2,14 @@ package com.tbdev.teaneckminyanim.service;
 
 import com.tbdev.teaneckminyanim.enums.EventSource;
 import com.tbdev.teaneckminyanim.enums.Nusach;
+import com.tbdev.teaneckminyanim.minyan.MinyanTime;
 import com.tbdev.teaneckminyanim.minyan.MinyanType;
 import com.tbdev.teaneckminyanim.model.CalendarEvent;
+import com.tbdev.teaneckminyanim.model.Location;
+import com.tbdev.teaneckminyanim.model.Minyan;
 import com.tbdev.teaneckminyanim.model.Organization;
 import com.tbdev.teaneckminyanim.model.OrganizationCalendarEntry;
+import com.tbdev.teaneckminyanim.repo.CalendarEventBatchWriter;
 import com.tbdev.teaneckminyanim.repo.CalendarEventRepository;
 import com.tbdev.teaneckminyanim.repo.OrganizationCalendarEntryRepository;
 import org.junit.jupiter.api.Test;
@@ -14,9 +18,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +33,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,6 +45,9 @@ class CalendarMaterializationServiceTest {
     @Mock
     private CalendarEventRepository calendarEventRepository;
 
+    @Mock
+    private CalendarEventBatchWriter calendarEventBatchWriter;
+
     @Mock
     private OrganizationCalendarEntryRepository importedEntryRepository;
 
@@ -54,6 +66,9 @@ class CalendarMaterializationServiceTest {
     @Mock
     private ZmanimHandler zmanimHandler;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CalendarMaterializationService service;
 
@@ -130,6 +145,8 @@ class CalendarMaterializationServiceTest {
         assertEquals("Main", created.getLocationName());
         assertEquals("Daily", created.getNotes());
         assertNotNull(created.getNusach());
+
+        verify(eventPublisher).publishEvent(CalendarEventsChangedEvent.forRange(orgId, date, date));
     }
 
     @Test
@@ -195,6 +212,65 @@ class CalendarMaterializationServiceTest {
         assertEquals("Vasikin Minyan", saved.get(0).getNotes());
     }
 
+    @Test
+    void syncImportedEntriesInRangeLive_publishesDateOfDeletedDuplicate() {
+        String orgId = "org-stale-duplicate";
+        LocalDate date = LocalDate.now();
+        LocalDate staleDate = date.plusDays(1);
+
+        Organization org = Organization.builder()
+                .id(orgId)
+                .name("Org")
+                .orgColor("#000000")
+                .nusach(Nusach.ASHKENAZ)
+                .build();
+
+        OrganizationCalendarEntry entry = OrganizationCalendarEntry.builder()
+                .id(101L)
+                .organizationId(orgId)
+                .date(date)
+                .classification(MinyanType.SHACHARIS)
+                .startTime(LocalTime.of(6, 45))
+                .enabled(true)
+                .build();
+
+        CalendarEvent current = CalendarEvent.builder()
+                .id(1L)
+                .organizationId(orgId)
+                .date(date)
+                .minyanType(MinyanType.SHACHARIS)
+                .startTime(LocalTime.of(6, 45))
+                .enabled(true)
+                .nusach(Nusach.ASHKENAZ)
+                .source(EventSource.IMPORTED)
+                .sourceRef("import-101")
+                .build();
+
+        CalendarEvent staleDuplicate = CalendarEvent.builder()
+                .id(2L)
+                .organizationId(orgId)
+                .date(staleDate)
+                .minyanType(MinyanType.SHACHARIS)
+                .startTime(LocalTime.of(6, 45))
+                .enabled(true)
+                .source(EventSource.IMPORTED)
+                .sourceRef("import-101")
+                .build();
+
+        when(organizationService.findById(orgId)).thenReturn(Optional.of(org));
+        when(importedEntryRepository.findEntriesInRange(orgId, date, staleDate))
+                .thenReturn(List.of(entry));
+        when(calendarEventRepository.findByOrganizationIdAndSourceAndDateBetween(
+                orgId, EventSource.IMPORTED, date, staleDate))
+                .thenReturn(List.of(current, staleDuplicate));
+
+        service.syncImportedEntriesInRangeLive(orgId, date, staleDate);
+
+        verify(calendarEventRepository).deleteAll(List.of(staleDuplicate));
+        verify(calendarEventRepository, never()).saveAll(any());
+        verify(eventPublisher).publishEvent(CalendarEventsChangedEvent.forRange(orgId, staleDate, staleDate));
+    }
+
     @Test
     void syncImportedEntriesInRangeLive_disablesExistingWhenEntryIsNonMinyan() {
         String orgId = "org-2";
@@ -252,4 +328,154 @@ class CalendarMaterializationServiceTest {
         verify(calendarEventRepository, never()).saveAll(any());
         verify(organizationService, never()).findById(eq(orgId));
     }
+
+    @Test
+    void materializeOrganization_appliesOnlyRulesDifferences() {
+        String orgId = "org-rules";
+        LocalDate date = LocalDate.now();
+        ZoneId zoneId = ZoneId.of("America/New_York");
+
+        Organization org = Organization.builder()
+                .id(orgId)
+                .name("Org")
+                .orgColor("#000000")
+                .build();
+
+        MinyanTime minyanTime = mock(MinyanTime.class);
+        when(minyanTime.resolveLocalTime(zmanimHandler, date, zoneId)).thenReturn(LocalTime.of(7, 0));
+        Minyan shacharis = mock(Minyan.class);
+        when(shacharis.getId()).thenReturn("m-1");
+        when(shacharis.getType()).thenReturn(MinyanType.SHACHARIS);
+        when(shacharis.getNotes()).thenReturn("Updated notes");
+        when(shacharis.getLocationId()).thenReturn("loc-1");
+        when(shacharis.getMinyanTime(any(LocalDate.class)))
+                .thenAnswer(inv -> date.equals(inv.getArgument(0)) ? minyanTime : null);
+
+        MinyanTime minchaTime = mock(MinyanTime.class);
+        when(minchaTime.resolveLocalTime(zmanimHandler, date, zoneId)).thenReturn(LocalTime.of(13, 30));
+        Minyan mincha = mock(Minyan.class);
+        when(mincha.getId()).thenReturn("m-2");
+        when(mincha.getType()).thenReturn(MinyanType.MINCHA);
+        when(mincha.getLocationId()).thenReturn("loc-1");
+        when(mincha.getMinyanTime(any(LocalDate.class)))
+                .thenAnswer(inv -> date.equals(inv.getArgument(0)) ? minchaTime : null);
+
+        CalendarEvent unchangedKeyStaleNotes = CalendarEvent.builder()
+                .id(10L)
+                .organizationId(orgId)
+                .date(date)
+                .minyanType(MinyanType.SHACHARIS)
+                .startTime(LocalTime.of(7, 0))
+                .notes("Old notes")
+                .locationId("loc-1")
+                .locationName("Main Shul")
+                .source(EventSource.RULES)
+                .sourceRef("m-1")
+                .build();
+        CalendarEvent removedMinyan = CalendarEvent.builder()
+                .id(11L)
+                .organizationId(orgId)
+                .date(date)
+                .minyanType(MinyanType.MAARIV)
+                .startTime(LocalTime.of(20, 0))
+                .source(EventSource.RULES)
+                .sourceRef("m-gone")
+                .build();
+
+        when(minyanService.findEnabledMatching(orgId)).thenReturn(List.of(shacharis, mincha));
+        when(organizationService.findById(orgId)).thenReturn(Optional.of(org));
+        when(settingsService.getZoneId()).thenReturn(zoneId);
+        Location mainShul = new Location("loc-1", "Main Shul", orgId);
+        when(locationService.findMatching(orgId)).thenReturn(List.of(mainShul));
+        when(calendarEventRepository.findByOrganizationIdAndSourceAndDateBetween(
+                eq(orgId), eq(EventSource.RULES), any(), any()))
+                .thenReturn(List.of(unchangedKeyStaleNotes, removedMinyan));
+
+        service.materializeOrganization(orgId);
+
+        verify(calendarEventRepository, never()).deleteRulesEventsInRange(any(), any(), any());
+        verify(calendarEventRepository).deleteAllInBatch(List.of(removedMinyan));
+        verify(calendarEventRepository).saveAll(List.of(unchangedKeyStaleNotes));
+        assertEquals(10L, unchangedKeyStaleNotes.getId());
+        assertEquals("Updated notes", unchangedKeyStaleNotes.getNotes());
+
+        ArgumentCaptor<List<CalendarEvent>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(calendarEventBatchWriter).insertAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        CalendarEvent newMincha = inserted.getValue().get(0);
+        assertEquals("m-2", newMincha.getSourceRef());
+        assertEquals(LocalTime.of(13, 30), newMincha.getStartTime());
+        assertEquals("Main Shul", newMincha.getLocationName());
+        verify(locationService, never()).findById(any());
+        verify(eventPublisher).publishEvent(CalendarEventsChangedEvent.forRange(orgId, date, date));
+
+        // A second pass over the now-current rows writes nothing
+        clearInvocations(calendarEventRepository, calendarEventBatchWriter, eventPublisher);
+        when(calendarEventRepository.findByOrganizationIdAndSourceAndDateBetween(
+                eq(orgId), eq(EventSource.RULES), any(), any()))
+                .thenReturn(List.of(unchangedKeyStaleNotes, newMincha));
+
+        service.materializeOrganization(orgId);
+
+        verify(calendarEventBatchWriter).insertAll(List.of());
+
+        verify(calendarEventRepository, never()).saveAll(any());
+        verify(calendarEventRepository, never()).deleteAllInBatch(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void materializeOrganization_unchangedImportsPublishNothingSecondTime() {
+        String orgId = "org-imported";
+        LocalDate date = LocalDate.now();
+
+        Organization org = Organization.builder()
+                .id(orgId)
+                .name("Org")
+                .orgColor("#000000")
+                .nusach(Nusach.SEFARD)
+                .build();
+
+        OrganizationCalendarEntry entry = OrganizationCalendarEntry.builder()
+                .id(404L)
+                .organizationId(orgId)
+                .date(date)
+                .classification(MinyanType.MAARIV)
+                .startTime(LocalTime.of(20, 15))
+                .enabled(true)
+                .location("Beis Medrash")
+                .notes("Late Maariv")
+                .build();
+
+        when(organizationService.findById(orgId)).thenReturn(Optional.of(org));
+        when(importedEntryRepository.findEntriesInRange(eq(orgId), any(), any())).thenReturn(List.of(entry));
+        List<CalendarEvent> materializedImports = new ArrayList<>();
+        when(calendarEventRepository.findByOrganizationIdAndSourceAndDateBetween(eq(orgId), any(), any(), any()))
+                .thenAnswer(inv -> inv.getArgument(1) == EventSource.IMPORTED ? materializedImports : List.of());
+
+        CalendarMaterializationService.OrganizationSummary first = service.materializeOrganization(orgId);
+
+        ArgumentCaptor<List<CalendarEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(calendarEventRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(1, first.importedEvents());
+        verify(eventPublisher).publishEvent(CalendarEventsChangedEvent.forRange(orgId, date, date));
+
+        // The materialized row now matches the entry, so nothing is written or announced
+        CalendarEvent materialized = captor.getValue().get(0);
+        materialized.setId(40L);
+        materializedImports.add(materialized);
+        clearInvocations(calendarEventRepository, eventPublisher);
+
+        CalendarMaterializationService.OrganizationSummary second = service.materializeOrganization(orgId);
+
+        assertEquals(0, second.importedEvents());
+        verify(calendarEventRepository, never()).saveAll(any());
+        verify(eventPublisher, never()).publishEvent(any());
+
+        service.syncImportedEntriesInRangeLive(orgId, date, date);
+
+        verify(calendarEventRepository, never()).saveAll(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
 }
@@ -0,0 +1,63 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.minyan.Schedule;
+import com.tbdev.teaneckminyanim.model.Minyan;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledScheduleCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompiledScheduleCache cache = new CompiledScheduleCache(meterRegistry);
+
+    @Test
+    void get_reusesCompiledScheduleUntilRawTimesChange() {
+        Minyan minyan = minyan("M1", "T7:00:00:0");
+
+        Schedule first = cache.get(minyan);
+        assertSame(first, cache.get(minyan));
+        assertSame(first, cache.get(minyan("M1", "T7:00:00:0")));
+
+        minyan.setStartTime1("RNETZ:-10");
+        Schedule recompiled = cache.get(minyan);
+        assertNotSame(first, recompiled);
+        assertTrue(recompiled.getSunday().isDynamic());
+        assertTrue(recompiled.getMonday().isFixed());
+    }
+
+    @Test
+    void get_compilesInvalidRulesToEmptySlotsAndCountsThem() {
+        Minyan minyan = minyan("M2", "INVALID");
+        minyan.setStartTime2("RNETZ");
+        minyan.setStartTime7("NM");
+
+        Schedule schedule = cache.get(minyan);
+
+        assertTrue(schedule.getSunday().isNone());
+        assertTrue(schedule.getMonday().isNone());
+        assertTrue(schedule.getShabbos().isNone());
+        assertTrue(schedule.getTuesday().isFixed());
+        assertEquals(2.0, meterRegistry.counter("minyan.schedule.invalid_rules").count());
+
+        cache.get(minyan);
+        assertEquals(2.0, meterRegistry.counter("minyan.schedule.invalid_rules").count());
+    }
+
+    private static Minyan minyan(String id, String sundayTime) {
+        Minyan minyan = new Minyan();
+        minyan.setId(id);
+        minyan.setStartTime1(sundayTime);
+        minyan.setStartTime2("T7:00:00:0");
+        minyan.setStartTime3("T7:00:00:0");
+        minyan.setStartTime4("T7:00:00:0");
+        minyan.setStartTime5("T7:00:00:0");
+        minyan.setStartTime6("T7:00:00:0");
+        return minyan;
+    }
+}
@@ -4,18 +4,28 @@ import com.tbdev.teaneckminyanim.enums.EventSource;
 import com.tbdev.teaneckminyanim.minyan.MinyanType;
 import com.tbdev.teaneckminyanim.model.CalendarEvent;
 import com.tbdev.teaneckminyanim.repo.CalendarEventRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +37,12 @@ class EffectiveScheduleServiceTest {
     @Mock
     private CalendarMaterializationService materializationService;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private EffectiveScheduleCache scheduleCache = new EffectiveScheduleCache();
+
     @InjectMocks
     private EffectiveScheduleService effectiveScheduleService;
 
@@ -42,7 +58,7 @@ class EffectiveScheduleServiceTest {
         CalendarEvent imported = event(2L, ORG_ID, DATE, LocalTime.of(7, 30), EventSource.IMPORTED, "imp-1");
         CalendarEvent rules = event(3L, ORG_ID, DATE, LocalTime.of(8, 0), EventSource.RULES, "rule-1");
 
-        when(calendarEventRepository.findByOrganizationIdAndDateAndEnabledTrue(ORG_ID, DATE))
+        when(calendarEventRepository.findByDateAndEnabledTrue(DATE))
                 .thenReturn(List.of(rules, imported, fullDayManual));
 
         List<CalendarEvent> effective = effectiveScheduleService.getEffectiveEventsForDate(ORG_ID, DATE);
@@ -60,7 +76,7 @@ class EffectiveScheduleServiceTest {
         CalendarEvent imported = event(2L, ORG_ID, DATE, LocalTime.of(7, 0), EventSource.IMPORTED, "imp-1");
         CalendarEvent rules = event(3L, ORG_ID, DATE, LocalTime.of(8, 0), EventSource.RULES, "rule-1");
 
-        when(calendarEventRepository.findByOrganizationIdAndDateAndEnabledTrue(ORG_ID, DATE))
+        when(calendarEventRepository.findByDateAndEnabledTrue(DATE))
                 .thenReturn(List.of(rules, imported, additiveManual));
 
         List<CalendarEvent> effective = effectiveScheduleService.getEffectiveEventsForDate(ORG_ID, DATE);
@@ -82,7 +98,7 @@ class EffectiveScheduleServiceTest {
         CalendarEvent sameTimeDifferentNotes = event(3L, ORG_ID, DATE, LocalTime.of(5, 15), EventSource.IMPORTED, "import-3");
         sameTimeDifferentNotes.setNotes("Hashkama");
 
-        when(calendarEventRepository.findByOrganizationIdAndDateAndEnabledTrue(ORG_ID, DATE))
+        when(calendarEventRepository.findByDateAndEnabledTrue(DATE))
                 .thenReturn(List.of(duplicateImported, sameTimeDifferentNotes, firstImported));
 
         List<CalendarEvent> effective = effectiveScheduleService.getEffectiveEventsForDate(ORG_ID, DATE);
@@ -126,6 +142,104 @@ class EffectiveScheduleServiceTest {
                 effective.stream().map(CalendarEvent::getId).toList());
     }
 
+    @Test
+    void getAllOrgsEffectiveEventsForDate_loadsDayOnceAndAppliesPrecedencePerOrg() {
+        String org2 = "org-2";
+        when(materializationService.isDateInWindow(DATE)).thenReturn(true);
+
+        CalendarEvent org1Rules = event(1L, ORG_ID, DATE, LocalTime.of(8, 0), EventSource.RULES, "rule-1");
+        CalendarEvent org1Imported = event(2L, ORG_ID, DATE, LocalTime.of(7, 0), EventSource.IMPORTED, "imp-1");
+        CalendarEvent org2Rules = event(3L, org2, DATE, LocalTime.of(6, 30), EventSource.RULES, "rule-2");
+        CalendarEvent org2AdditiveManual = event(4L, org2, DATE, LocalTime.of(6, 0), EventSource.MANUAL,
+                "manual:ADDITIVE:2");
+
+        when(calendarEventRepository.findByDateAndEnabledTrue(DATE))
+                .thenReturn(List.of(org1Rules, org2Rules, org1Imported, org2AdditiveManual));
+
+        Map<String, List<CalendarEvent>> snapshot = effectiveScheduleService.getAllOrgsEffectiveEventsForDate(DATE);
+
+        assertIterableEquals(List.of(org1Imported.getId()),
+                snapshot.get(ORG_ID).stream().map(CalendarEvent::getId).toList());
+        assertIterableEquals(List.of(org2AdditiveManual.getId(), org2Rules.getId()),
+                snapshot.get(org2).stream().map(CalendarEvent::getId).toList());
+        verify(calendarEventRepository, times(1)).findByDateAndEnabledTrue(DATE);
+        verifyNoMoreInteractions(calendarEventRepository);
+    }
+
+    @Test
+    void getAllOrgsEffectiveEventsForDate_outsideWindowSkipsQuery() {
+        when(materializationService.isDateInWindow(DATE)).thenReturn(false);
+
+        assertTrue(effectiveScheduleService.getAllOrgsEffectiveEventsForDate(DATE).isEmpty());
+        verifyNoInteractions(calendarEventRepository);
+    }
+
+    @Test
+    void getEffectiveEventsForDate_servesRepeatReadsFromCacheUntilInvalidated() {
+        when(materializationService.isDateInWindow(DATE)).thenReturn(true);
+
+        CalendarEvent rules = event(1L, ORG_ID, DATE, LocalTime.of(7, 0), EventSource.RULES, "rule-1");
+        CalendarEvent manual = event(2L, ORG_ID, DATE, LocalTime.of(6, 30), EventSource.MANUAL, "manual:ADDITIVE:1");
+        when(calendarEventRepository.findByDateAndEnabledTrue(DATE))
+                .thenReturn(List.of(rules))
+                .thenReturn(List.of(rules, manual));
+
+        effectiveScheduleService.getEffectiveEventsForDate(ORG_ID, DATE);
+        effectiveScheduleService.getAllOrgsEffectiveEventsForDate(DATE);
+        List<CalendarEvent> cached = effectiveScheduleService.getEffectiveEventsForDate(ORG_ID, DATE);
+
+        assertIterableEquals(List.of(rules.getId()), cached.stream().map(CalendarEvent::getId).toList());
+        verify(calendarEventRepository, times(1)).findByDateAndEnabledTrue(DATE);
+
+        scheduleCache.onCalendarEventsChanged(CalendarEventsChangedEvent.forDate(ORG_ID, DATE));
+        List<CalendarEvent> reloaded = effectiveScheduleService.getEffectiveEventsForDate(ORG_ID, DATE);
+
+        assertIterableEquals(List.of(manual.getId(), rules.getId()),
+                reloaded.stream().map(CalendarEvent::getId).toList());
+        verify(calendarEventRepository, times(2)).findByDateAndEnabledTrue(DATE);
+    }
+
+    @Test
+    void getAllOrgsEffectiveEventsInRange_inWindowLoadsOnlyMissingDays() {
+        LocalDate date2 = DATE.plusDays(1);
+        when(materializationService.isDateInWindow(DATE)).thenReturn(true);
+        when(materializationService.isDateInWindow(date2)).thenReturn(true);
+
+        CalendarEvent d1Rules = event(1L, ORG_ID, DATE, LocalTime.of(7, 0), EventSource.RULES, "rule-1");
+        CalendarEvent d2Rules = event(2L, ORG_ID, date2, LocalTime.of(7, 0), EventSource.RULES, "rule-1");
+        when(calendarEventRepository.findByDateAndEnabledTrue(DATE)).thenReturn(List.of(d1Rules));
+        when(calendarEventRepository.findByDateAndEnabledTrue(date2)).thenReturn(List.of(d2Rules));
+
+        effectiveScheduleService.getEffectiveEventsForDate(ORG_ID, DATE);
+        List<CalendarEvent> effective = effectiveScheduleService.getAllOrgsEffectiveEventsInRange(DATE, date2);
+
+        assertIterableEquals(List.of(d1Rules.getId(), d2Rules.getId()),
+                effective.stream().map(CalendarEvent::getId).toList());
+        verify(calendarEventRepository, times(1)).findByDateAndEnabledTrue(DATE);
+        verify(calendarEventRepository, times(1)).findByDateAndEnabledTrue(date2);
+        verifyNoMoreInteractions(calendarEventRepository);
+    }
+
+    @Test
+    void streamAllOrgsEffectiveEventsInRange_emitsEachOrgDayResolvedAndReleased() {
+        String org2 = "org-2";
+        LocalDate date2 = DATE.plusDays(1);
+        CalendarEvent d1Org1Imported = event(1L, ORG_ID, DATE, LocalTime.of(7, 0), EventSource.IMPORTED, "imp-1");
+        CalendarEvent d1Org1Rules = event(2L, ORG_ID, DATE, LocalTime.of(7, 15), EventSource.RULES, "rule-1");
+        CalendarEvent d1Org2Rules = event(3L, org2, DATE, LocalTime.of(6, 45), EventSource.RULES, "rule-2");
+        CalendarEvent d2Org1Rules = event(4L, ORG_ID, date2, LocalTime.of(7, 15), EventSource.RULES, "rule-1");
+        when(calendarEventRepository.streamAllEnabledEventsInRange(DATE, date2))
+                .thenReturn(Stream.of(d1Org1Imported, d1Org1Rules, d1Org2Rules, d2Org1Rules));
+
+        List<List<Long>> orgDays = new ArrayList<>();
+        effectiveScheduleService.streamAllOrgsEffectiveEventsInRange(DATE, date2,
+                orgDay -> orgDays.add(orgDay.stream().map(CalendarEvent::getId).toList()));
+
+        assertIterableEquals(List.of(List.of(1L), List.of(3L), List.of(4L)), orgDays);
+        verify(entityManager, times(3)).clear();
+        verifyNoInteractions(scheduleCache);
+    }
+
     private CalendarEvent event(Long id, String orgId, LocalDate date, LocalTime time, EventSource source, String sourceRef) {
         return CalendarEvent.builder()
                 .id(id)
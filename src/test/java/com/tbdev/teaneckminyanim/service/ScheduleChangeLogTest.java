@@ -0,0 +1,109 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.model.ScheduleChange;
+import com.tbdev.teaneckminyanim.repo.ScheduleChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleChangeLogTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private ScheduleChangeRepository changeRepository;
+    @Mock
+    private CalendarMaterializationService materializationService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduleChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(materializationService.getWindowBounds()).thenReturn(
+                new CalendarMaterializationService.WindowBounds(TODAY.minusWeeks(3), TODAY.plusWeeks(8)));
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        changeLog = new ScheduleChangeLog(changeRepository, materializationService, transactionManager);
+    }
+
+    @Test
+    void changesSince_returnsEntriesAfterCursorOrAsksForReset() {
+        when(changeRepository.findMaxId()).thenReturn(12L);
+        when(changeRepository.findMinId()).thenReturn(5L);
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(change(11L), change(12L)));
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(12L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        ScheduleChangeLog.ChangeSet changes = changeLog.changesSince(10L);
+        assertFalse(changes.reset());
+        assertEquals(12L, changes.cursor());
+        assertEquals(2, changes.changes().size());
+
+        ScheduleChangeLog.ChangeSet upToDate = changeLog.changesSince(12L);
+        assertFalse(upToDate.reset());
+        assertEquals(12L, upToDate.cursor());
+        assertTrue(upToDate.changes().isEmpty());
+
+        assertTrue(changeLog.changesSince(null).reset());
+        assertTrue(changeLog.changesSince(40L).reset(), "cursor from another database");
+        assertTrue(changeLog.changesSince(2L).reset(), "entries after the cursor were pruned");
+    }
+
+    @Test
+    void changesSince_resetsWhenTooManyChangesPiledUp() {
+        List<ScheduleChange> tooMany = new ArrayList<>();
+        LongStream.rangeClosed(1, ScheduleChangeLog.MAX_CHANGES_PER_SYNC + 1).forEach(id -> tooMany.add(change(id)));
+        when(changeRepository.findMaxId()).thenReturn(2000L);
+        when(changeRepository.findMinId()).thenReturn(1L);
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(tooMany);
+
+        ScheduleChangeLog.ChangeSet changes = changeLog.changesSince(0L);
+
+        assertTrue(changes.reset());
+        assertTrue(changes.changes().isEmpty());
+    }
+
+    @Test
+    void onCalendarEventsChanged_recordsWindowChangesAndSkipsCleanup() {
+        changeLog.onCalendarEventsChanged(CalendarEventsChangedEvent.forRange(null, null, TODAY.minusWeeks(4)));
+        verify(changeRepository, never()).save(any());
+
+        changeLog.onCalendarEventsChanged(CalendarEventsChangedEvent.forDate("org-a", TODAY));
+
+        ArgumentCaptor<ScheduleChange> saved = ArgumentCaptor.forClass(ScheduleChange.class);
+        verify(changeRepository).save(saved.capture());
+        assertEquals("org-a", saved.getValue().getOrganizationId());
+        assertEquals(TODAY, saved.getValue().getStartDate());
+        assertEquals(TODAY, saved.getValue().getEndDate());
+        assertNull(saved.getValue().getId());
+    }
+
+    private static ScheduleChange change(long id) {
+        return ScheduleChange.builder().id(id).organizationId("org-a").startDate(TODAY).endDate(TODAY).build();
+    }
+}
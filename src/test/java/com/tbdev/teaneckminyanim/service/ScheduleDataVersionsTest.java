@@ -0,0 +1,76 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.tbdev.teaneckminyanim.enums.SettingKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleDataVersionsTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private CalendarMaterializationService materializationService;
+
+    private ScheduleDataVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(materializationService.getWindowBounds()).thenReturn(
+                new CalendarMaterializationService.WindowBounds(TODAY.minusWeeks(3), TODAY.plusWeeks(8)));
+        versions = new ScheduleDataVersions(materializationService);
+    }
+
+    @Test
+    void dateChange_bumpsOnlyThatOrgsOverlappingRangesAndTheCombinedFeed() {
+        long orgA = versions.versionFor("org-a", TODAY, TODAY.plusDays(6));
+        long orgB = versions.versionFor("org-b", TODAY, TODAY.plusDays(6));
+        long combined = versions.versionFor(null, TODAY, TODAY.plusDays(6));
+        long laterWeek = versions.versionFor("org-a", TODAY.plusDays(7), TODAY.plusDays(13));
+
+        versions.onCalendarEventsChanged(CalendarEventsChangedEvent.forDate("org-a", TODAY.plusDays(2)));
+
+        assertTrue(versions.versionFor("org-a", TODAY, TODAY.plusDays(6)) > orgA);
+        assertTrue(versions.versionFor(null, TODAY, TODAY.plusDays(6)) > combined);
+        assertEquals(orgB, versions.versionFor("org-b", TODAY, TODAY.plusDays(6)));
+        assertEquals(laterWeek, versions.versionFor("org-a", TODAY.plusDays(7), TODAY.plusDays(13)));
+    }
+
+    @Test
+    void unboundedAndSettingsChanges_bumpEverythingTheyCover() {
+        long orgA = versions.versionFor("org-a", TODAY, TODAY);
+        long orgB = versions.versionFor("org-b", TODAY, TODAY);
+
+        versions.onCalendarEventsChanged(CalendarEventsChangedEvent.forRange("org-a", null, null));
+        assertTrue(versions.versionFor("org-a", TODAY, TODAY) > orgA);
+        assertEquals(orgB, versions.versionFor("org-b", TODAY, TODAY));
+
+        versions.onCalendarEventsChanged(CalendarEventsChangedEvent.forDate(null, TODAY));
+        assertTrue(versions.versionFor("org-b", TODAY, TODAY) > orgB);
+
+        long beforeUnrelatedSetting = versions.versionFor("org-b", TODAY, TODAY);
+        versions.onSettingsChanged(new ApplicationSettingsChangedEvent(SettingKey.SITE_NAME));
+        assertEquals(beforeUnrelatedSetting, versions.versionFor("org-b", TODAY, TODAY));
+
+        versions.onSettingsChanged(new ApplicationSettingsChangedEvent(SettingKey.LOCATION_LATITUDE));
+        assertTrue(versions.versionFor("org-b", TODAY, TODAY) > beforeUnrelatedSetting);
+    }
+
+    @Test
+    void maxAge_neverExceedsConfiguredCap() {
+        Duration maxAge = versions.maxAge();
+
+        assertTrue(maxAge.compareTo(Duration.ofSeconds(300)) <= 0);
+        assertTrue(!maxAge.isNegative());
+    }
+}
@@ -0,0 +1,128 @@
+package com.tbdev.teaneckminyanim.service;
+
+import com.kosherjava.zmanim.util.GeoLocation;
+import com.tbdev.teaneckminyanim.enums.SettingKey;
+import com.tbdev.teaneckminyanim.enums.Zman;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Dictionary;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ZmanimHandlerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 22);
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    @Mock
+    private ApplicationSettingsService settingsService;
+
+    @Test
+    void getZmanim_memoizesPerDateAndReturnsIndependentCopies() {
+        when(settingsService.getGeoLocation())
+                .thenReturn(new GeoLocation("Teaneck", 40.8932, -74.0116, 0, NEW_YORK));
+        ZmanimHandler handler = new ZmanimHandler(settingsService);
+
+        Dictionary<Zman, Date> first = handler.getZmanim(DATE);
+        first.get(Zman.NETZ).setTime(0L);
+        Dictionary<Zman, Date> second = handler.getZmanim(DATE);
+
+        assertNotSame(first.get(Zman.SHEKIYA), second.get(Zman.SHEKIYA));
+        assertEquals(first.get(Zman.SHEKIYA), second.get(Zman.SHEKIYA));
+        assertNotEquals(0L, second.get(Zman.NETZ).getTime());
+        assertEquals(Zman.values().length, second.size());
+        verify(settingsService, times(1)).getGeoLocation();
+    }
+
+    @Test
+    void onSettingsChanged_locationChangeRecomputesZmanim() {
+        when(settingsService.getGeoLocation())
+                .thenReturn(new GeoLocation("Teaneck", 40.8932, -74.0116, 0, NEW_YORK))
+                .thenReturn(new GeoLocation("Elsewhere", 40.8932, -80.0, 0, NEW_YORK));
+        ZmanimHandler handler = new ZmanimHandler(settingsService);
+
+        Date before = handler.getZmanim(DATE).get(Zman.SHEKIYA);
+        handler.onSettingsChanged(new ApplicationSettingsChangedEvent(SettingKey.SITE_NAME));
+        assertEquals(before, handler.getZmanim(DATE).get(Zman.SHEKIYA));
+
+        handler.onSettingsChanged(new ApplicationSettingsChangedEvent(SettingKey.LOCATION_LONGITUDE));
+        Date after = handler.getZmanim(DATE).get(Zman.SHEKIYA);
+
+        assertNotEquals(before, after);
+        verify(settingsService, times(2)).getGeoLocation();
+    }
+
+    @Test
+    void precomputeTable_matchesPerDateCalculationAndExtendsLazily() {
+        GeoLocation teaneck = new GeoLocation("Teaneck", 40.8932, -74.0116, 0, NEW_YORK);
+        ZmanimHandler reference = new ZmanimHandler(teaneck);
+        when(settingsService.getGeoLocation()).thenReturn(teaneck);
+        ZmanimHandler handler = new ZmanimHandler(settingsService);
+        handler.precomputeTable();
+
+        LocalDate today = LocalDate.now();
+        LocalDate justPastHorizon = today.plusDays(400 + 10);
+        for (LocalDate date : new LocalDate[] {today, today.minusDays(21), justPastHorizon}) {
+            Dictionary<Zman, Date> expected = reference.getZmanim(date);
+            for (Zman zman : Zman.values()) {
+                assertEquals(expected.get(zman).getTime(), handler.getZmanEpochMillis(date, zman),
+                        zman + " on " + date);
+            }
+            assertEquals(expected, handler.getZmanim(date));
+        }
+    }
+
+    @Test
+    void getZmanEpochMillisRange_matchesPerDateLookupsAcrossTheHorizon() {
+        GeoLocation teaneck = new GeoLocation("Teaneck", 40.8932, -74.0116, 0, NEW_YORK);
+        ZmanimHandler reference = new ZmanimHandler(teaneck);
+        when(settingsService.getGeoLocation()).thenReturn(teaneck);
+        ZmanimHandler handler = new ZmanimHandler(settingsService);
+        handler.precomputeTable();
+
+        LocalDate start = LocalDate.now().plusDays(400 - 15);
+        LocalDate end = start.plusDays(30);
+        long[] shekiya = handler.getZmanEpochMillis(start, end, Zman.SHEKIYA);
+
+        assertEquals(31, shekiya.length);
+        for (int i = 0; i < shekiya.length; i++) {
+            assertEquals(reference.getZmanEpochMillis(start.plusDays(i), Zman.SHEKIYA), shekiya[i], "day " + i);
+        }
+    }
+
+    @Test
+    void getWeeklyEarliest_isEarliestSundayToFridayAndSharedAcrossTheWeek() {
+        ZmanimHandler handler = new ZmanimHandler(
+                new GeoLocation("Teaneck", 40.8932, -74.0116, 0, NEW_YORK));
+        ZoneId zoneId = NEW_YORK.toZoneId();
+        LocalDate sunday = LocalDate.of(2026, 3, 22);
+
+        LocalTime expected = null;
+        for (int i = 0; i < 6; i++) {
+            LocalTime t = Instant.ofEpochMilli(handler.getZmanEpochMillis(sunday.plusDays(i), Zman.SHEKIYA))
+                    .atZone(zoneId).toLocalTime();
+            if (expected == null || t.isBefore(expected)) expected = t;
+        }
+
+        LocalTime fromWednesday = handler.getWeeklyEarliest(sunday.plusDays(3), Zman.SHEKIYA, zoneId);
+        assertEquals(expected, fromWednesday);
+        assertSame(fromWednesday, handler.getWeeklyEarliest(sunday.plusDays(6), Zman.SHEKIYA, zoneId));
+        assertNotEquals(fromWednesday, handler.getWeeklyEarliest(sunday.plusDays(7), Zman.SHEKIYA, zoneId));
+    }
+}
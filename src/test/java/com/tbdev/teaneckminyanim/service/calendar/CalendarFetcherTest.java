@@ -0,0 +1,110 @@
+package com.tbdev.teaneckminyanim.service.calendar;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalendarFetcherTest {
+
+    private static final long INTERVAL_MS = 300;
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/cal.csv", exchange -> {
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "Type,Start\n".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/missing.csv", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchCsv_spacesRequestsToTheSameHost() throws Exception {
+        CalendarFetcher fetcher = new CalendarFetcher(INTERVAL_MS);
+        long start = System.nanoTime();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = threads.submit(() -> read(fetcher.fetchCsv(baseUrl + "/cal.csv", null, null)));
+            Future<String> second = threads.submit(() -> read(fetcher.fetchCsv(baseUrl + "/cal.csv", null, null)));
+            assertEquals("Type,Start\n", first.get());
+            assertEquals("Type,Start\n", second.get());
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs >= INTERVAL_MS, "second request waited for the host interval, took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void fetchCsv_conditionalRequestReturnsNotModified() throws Exception {
+        CalendarFetcher fetcher = new CalendarFetcher(0);
+
+        CalendarFetcher.FetchedCsv fresh = fetcher.fetchCsv(baseUrl + "/cal.csv", null, null);
+        assertFalse(fresh.notModified());
+        assertEquals(ETAG, fresh.etag());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest("Type,Start\n".getBytes(StandardCharsets.UTF_8))), fresh.contentHash());
+        fresh.discard();
+        assertFalse(Files.exists(fresh.body()));
+
+        CalendarFetcher.FetchedCsv again = fetcher.fetchCsv(baseUrl + "/cal.csv", fresh.etag(), null);
+        assertTrue(again.notModified());
+        assertEquals(ETAG, again.etag());
+    }
+
+    @Test
+    void fetchCsv_failsOnNonOkStatus() {
+        CalendarFetcher fetcher = new CalendarFetcher(0);
+
+        IOException e = assertThrows(IOException.class, () -> fetcher.fetchCsv(baseUrl + "/missing.csv", null, null));
+        assertTrue(e.getMessage().contains("404"));
+    }
+
+    private static String read(CalendarFetcher.FetchedCsv fetched) throws IOException {
+        try {
+            return Files.readString(fetched.body(), fetched.charset());
+        } finally {
+            fetched.discard();
+        }
+    }
+}
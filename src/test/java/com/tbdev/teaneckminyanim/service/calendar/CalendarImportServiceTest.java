@@ -0,0 +1,289 @@
+package com.tbdev.teaneckminyanim.service.calendar;
+
+import com.tbdev.teaneckminyanim.minyan.MinyanType;
+import com.tbdev.teaneckminyanim.model.CalendarFetchState;
+import com.tbdev.teaneckminyanim.model.Organization;
+import com.tbdev.teaneckminyanim.model.OrganizationCalendarEntry;
+import com.tbdev.teaneckminyanim.repo.CalendarFetchStateRepository;
+import com.tbdev.teaneckminyanim.repo.OrganizationCalendarEntryBatchWriter;
+import com.tbdev.teaneckminyanim.repo.OrganizationCalendarEntryRepository;
+import com.tbdev.teaneckminyanim.service.CalendarMaterializationService;
+import com.tbdev.teaneckminyanim.service.OrganizationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarImportServiceTest {
+
+    private static final String ORG_ID = "org-1";
+    private static final String SOURCE = "https://example.org/calendar.csv";
+    private static final String CSV = """
+            Type,Start,End,Name,Location
+            Event,2025-01-15 06:30:00,2025-01-15 07:30:00,Shacharis,Main Sanctuary
+            """;
+
+    @Mock
+    private CalendarUrlBuilder urlBuilder;
+    @Mock
+    private OrganizationCalendarEntryRepository entryRepository;
+    @Mock
+    private OrganizationService organizationService;
+    @Mock
+    private MinyanClassifier minyanClassifier;
+    @Mock
+    private CalendarMaterializationService materializationService;
+    @Mock
+    private OrganizationCalendarEntryBatchWriter batchWriter;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private CalendarFetcher calendarFetcher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private CalendarFetchStateRepository fetchStateRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private final CalendarCsvParser csvParser = new CalendarCsvParser();
+    private CalendarImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CalendarImportService(urlBuilder, csvParser, entryRepository, organizationService,
+                minyanClassifier, materializationService, batchWriter, calendarFetcher, transactionManager,
+                fetchStateRepository);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        lenient().when(minyanClassifier.classify(any(), any(), any(), any(), any()))
+                .thenReturn(new MinyanClassifier.ClassificationResult(MinyanType.SHACHARIS, "title"));
+        lenient().when(minyanClassifier.normalizeTitle(anyString(), any())).thenReturn("");
+    }
+
+    @Test
+    void processEntries_loadsExistingOnceAndInsertsNewRowsInOneBatch() throws Exception {
+        List<CalendarCsvParser.ParsedEntry> parsed = csvParser.parseCsv("""
+                Type,Start,End,Name,Location
+                Event,2025-01-15 06:30:00,2025-01-15 07:30:00,Shacharis,Main Sanctuary
+                Event,2025-01-15 13:45:00,2025-01-15 14:15:00,Mincha,Chapel
+                Event,2025-01-16 06:30:00,2025-01-16 07:30:00,Shacharis,Main Sanctuary
+                """);
+        CalendarImportService.ImportResult result = new CalendarImportService.ImportResult();
+
+        List<OrganizationCalendarEntry> inserted = importRows(parsed, List.of(), result);
+
+        verify(entryRepository).findEntriesInRange(ORG_ID, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 16));
+        verify(entryRepository, never()).save(any());
+        verify(entryRepository, never()).findByFingerprint(any());
+        assertEquals(3, inserted.size());
+        assertEquals(3, result.newEntries);
+        assertEquals(3, inserted.stream().map(OrganizationCalendarEntry::getFingerprint).distinct().count());
+    }
+
+    @Test
+    void processEntries_reimportOfSameFileWritesNothing() throws Exception {
+        String csv = """
+                Type,Start,End,Name,Location
+                Event,2025-01-15 06:30:00,2025-01-15 07:30:00,Shacharis,Main Sanctuary
+                Event,2025-01-15 13:45:00,2025-01-15 14:15:00,Mincha,Chapel
+                """;
+        List<OrganizationCalendarEntry> existing = importRows(csvParser.parseCsv(csv), List.of(),
+                new CalendarImportService.ImportResult());
+
+        CalendarImportService.ImportResult result = new CalendarImportService.ImportResult();
+        List<OrganizationCalendarEntry> inserted = importRows(csvParser.parseCsv(csv), existing, result);
+
+        assertTrue(inserted.isEmpty());
+        assertEquals(0, result.updatedEntries);
+        assertEquals(2, result.unchangedEntries);
+    }
+
+    @Test
+    void processEntries_skipsInvalidRowsAndFlagsInFileDuplicates() throws Exception {
+        List<CalendarCsvParser.ParsedEntry> parsed = new ArrayList<>(csvParser.parseCsv("""
+                Type,Start,End,Name,Location
+                Event,2025-01-15 06:30:00,2025-01-15 07:30:00,Shacharis,Main Sanctuary
+                Event,2025-01-15 06:30:00,2025-01-15 07:30:00,Shacharis Minyan,Main Sanctuary
+                Event,2025-01-15 13:45:00,2025-01-15 14:15:00,Mincha,Chapel
+                """));
+        parsed.get(2).setLocation("x".repeat(300));
+        when(minyanClassifier.normalizeTitle("Shacharis Minyan", MinyanType.SHACHARIS)).thenReturn("Shacharis");
+        CalendarImportService.ImportResult result = new CalendarImportService.ImportResult();
+
+        List<OrganizationCalendarEntry> inserted = importRows(parsed, List.of(), result);
+
+        assertEquals(2, inserted.size());
+        assertEquals(1, result.newEntries);
+        assertEquals(1, result.duplicatesSkipped);
+        assertFalse(inserted.get(1).isEnabled());
+    }
+
+    @Test
+    void forceReimport_fetchesConcurrentlyAndKeepsEntriesWhenFetchFails() throws Exception {
+        Organization ok = Organization.builder().id("org-ok").name("Ok").calendar("https://a.example/cal").build();
+        Organization down = Organization.builder().id("org-down").name("Down").calendar("https://b.example/cal").build();
+        when(organizationService.getAll()).thenReturn(List.of(ok, down));
+        when(urlBuilder.isValidCalendarUrl(anyString())).thenReturn(true);
+        when(urlBuilder.buildCsvExportUrl(anyString())).thenAnswer(inv -> inv.getArgument(0) + ".csv");
+        when(calendarFetcher.fetchCsv("https://a.example/cal.csv", null, null)).thenReturn(
+                downloaded(CSV));
+        when(calendarFetcher.fetchCsv("https://b.example/cal.csv", null, null)).thenThrow(new IOException("HTTP request failed with status: 503"));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(entryRepository.findByOrganizationIdOrderByDateDesc("org-ok")).thenReturn(List.of());
+        when(entryRepository.findEntriesInRange(eq("org-ok"), any(), any())).thenReturn(List.of());
+
+        Map<String, CalendarImportService.ImportResult> results = service.forceReimportAllOrganizations();
+
+        assertEquals(List.of("org-ok", "org-down"), new ArrayList<>(results.keySet()));
+        assertTrue(results.get("org-ok").success);
+        assertEquals(1, results.get("org-ok").newEntries);
+        assertFalse(results.get("org-down").success);
+        verify(entryRepository, never()).findByOrganizationIdOrderByDateDesc("org-down");
+        verify(materializationService).syncImportedEntriesInRangeLive(
+                "org-ok", LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 15));
+        verify(fetchStateRepository).save(any());
+    }
+
+    @Test
+    void forceReimport_unexpectedFailureForOneOrganizationDoesNotStopTheOthers() throws Exception {
+        Organization first = Organization.builder().id("org-a").name("A").calendar("https://a.example/cal").build();
+        Organization broken = Organization.builder().id("org-bug").name("Bug").calendar("https://bug.example/cal").build();
+        Organization last = Organization.builder().id("org-c").name("C").calendar("https://c.example/cal").build();
+        when(organizationService.getAll()).thenReturn(List.of(first, broken, last));
+        when(urlBuilder.isValidCalendarUrl(anyString())).thenAnswer(inv -> {
+            if (inv.getArgument(0, String.class).contains("bug")) {
+                throw new IllegalStateException("validator bug");
+            }
+            return true;
+        });
+        when(urlBuilder.buildCsvExportUrl(anyString())).thenAnswer(inv -> inv.getArgument(0) + ".csv");
+        when(calendarFetcher.fetchCsv(anyString(), eq(null), eq(null))).thenAnswer(inv -> downloaded(CSV));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(entryRepository.findByOrganizationIdOrderByDateDesc(anyString())).thenReturn(List.of());
+        when(entryRepository.findEntriesInRange(anyString(), any(), any())).thenReturn(List.of());
+
+        Map<String, CalendarImportService.ImportResult> results = service.forceReimportAllOrganizations();
+
+        assertEquals(List.of("org-a", "org-bug", "org-c"), new ArrayList<>(results.keySet()));
+        assertTrue(results.get("org-a").success);
+        assertTrue(results.get("org-c").success);
+        assertFalse(results.get("org-bug").success);
+        assertEquals("Import failed: validator bug", results.get("org-bug").errorMessage);
+        verify(entryRepository, never()).findByOrganizationIdOrderByDateDesc("org-bug");
+    }
+
+    @Test
+    void importCalendar_skipsUnchangedCalendarAndSendsValidators() throws Exception {
+        Organization org = Organization.builder().id(ORG_ID).name("Shul").calendar("https://a.example/cal").build();
+        when(organizationService.findById(ORG_ID)).thenReturn(Optional.of(org));
+        when(urlBuilder.isValidCalendarUrl(anyString())).thenReturn(true);
+        when(urlBuilder.buildCsvExportUrl(anyString())).thenReturn(SOURCE);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(entryRepository.findEntriesInRange(eq(ORG_ID), any(), any())).thenReturn(List.of());
+        when(fetchStateRepository.findById(ORG_ID)).thenReturn(Optional.empty());
+        when(calendarFetcher.fetchCsv(SOURCE, null, null)).thenAnswer(inv -> downloaded(CSV));
+
+        assertFalse(service.importCalendarForOrganization(ORG_ID).unchanged);
+        ArgumentCaptor<CalendarFetchState> saved = ArgumentCaptor.forClass(CalendarFetchState.class);
+        verify(fetchStateRepository).save(saved.capture());
+        CalendarFetchState state = saved.getValue();
+        assertEquals(SOURCE, state.getSourceUrl());
+
+        // Host without validators: same body is detected by its hash
+        when(fetchStateRepository.findById(ORG_ID)).thenReturn(Optional.of(state));
+        CalendarImportService.ImportResult sameBody = service.importCalendarForOrganization(ORG_ID);
+        assertTrue(sameBody.success);
+        assertTrue(sameBody.unchanged);
+
+        // Host with validators: a 304 skips the import
+        state.setEtag("\"v1\"");
+        when(calendarFetcher.fetchCsv(SOURCE, "\"v1\"", null)).thenReturn(new CalendarFetcher.FetchedCsv(null, null, null, "\"v1\"", null));
+        assertTrue(service.importCalendarForOrganization(ORG_ID).unchanged);
+
+        // Parsed, processed and synced only for the first import
+        verify(entryRepository, times(1)).findEntriesInRange(eq(ORG_ID), any(), any());
+        verify(materializationService, times(1)).syncImportedEntriesInRangeLive(eq(ORG_ID), any(), any());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void importEntries_processesLargeCalendarsInChunks() throws Exception {
+        int rows = CalendarImportService.IMPORT_CHUNK_SIZE + 20;
+        StringBuilder csv = new StringBuilder("Type,Start,End,Name,Location\n");
+        LocalDate first = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            csv.append("Event,").append(first.plusDays(i)).append(" 06:30:00,,Shacharis,Main\n");
+        }
+        when(entryRepository.findEntriesInRange(eq(ORG_ID), any(), any())).thenReturn(List.of());
+        CalendarImportService.ImportResult result = new CalendarImportService.ImportResult();
+
+        service.importEntries(ORG_ID, new StringReader(csv.toString()), SOURCE, result);
+
+        assertEquals(rows, result.totalParsed);
+        assertEquals(rows, result.newEntries);
+        verify(entryRepository, times(2)).findEntriesInRange(eq(ORG_ID), any(), any());
+        verify(batchWriter, times(2)).insertAll(any());
+        verify(materializationService).syncImportedEntriesInRangeLive(ORG_ID, first, first.plusDays(rows - 1));
+    }
+
+    private CalendarFetcher.FetchedCsv downloaded(String csv) throws Exception {
+        Path file = Files.createTempFile(tempDir, "calendar-", ".csv");
+        Files.writeString(file, csv);
+        return new CalendarFetcher.FetchedCsv(file, StandardCharsets.UTF_8, sha256(csv), null, null);
+    }
+
+    private static String sha256(String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OrganizationCalendarEntry> importRows(List<CalendarCsvParser.ParsedEntry> parsed,
+                                                      List<OrganizationCalendarEntry> existing,
+                                                      CalendarImportService.ImportResult result) {
+        when(entryRepository.findEntriesInRange(eq(ORG_ID), any(), any())).thenReturn(existing);
+        ArgumentCaptor<Collection<OrganizationCalendarEntry>> captor = ArgumentCaptor.forClass(Collection.class);
+
+        service.processEntries(ORG_ID, parsed, SOURCE, result);
+
+        verify(batchWriter, times(1)).insertAll(captor.capture());
+        clearInvocations(batchWriter);
+        return new ArrayList<>(captor.getValue());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZoneId;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,7 +23,7 @@ class MinyanClassifierTest {
     @BeforeEach
     void setUp() {
         // Create a simple stub for ApplicationSettingsService
-        stubSettingsService = new ApplicationSettingsService(null) {
+        stubSettingsService = new ApplicationSettingsService(null, null) {
             @Override
             public ZoneId getZoneId() {
                 return ZoneId.of("America/New_York");
@@ -519,4 +520,25 @@ class MinyanClassifierTest {
             assertTrue(result.reason.contains("No minyan pattern matched"));
         }
     }
+
+    @Test
+    void testClassify_CombinedPatternWinsOverOverlappingMinchaPattern() {
+        // "early mincha" (Mincha) starts before "mincha/maariv" (combined) and overlaps it
+        MinyanClassifier.ClassificationResult result =
+            classifier.classify("Early Mincha/Maariv", null, null, LocalDate.now());
+
+        assertEquals(MinyanType.MINCHA_MAARIV, result.classification);
+    }
+
+    @Test
+    void testClassify_NusachOnlyCountsInTitle() {
+        LocalTime morning = LocalTime.of(7, 0);
+
+        assertEquals(MinyanType.SHACHARIS,
+            classifier.classify("Minyan NS", null, null, LocalDate.now(), morning).classification);
+        assertEquals(MinyanType.NON_MINYAN,
+            classifier.classify("Minyan", null, "NS", LocalDate.now(), morning).classification);
+        assertEquals(MinyanType.NON_MINYAN,
+            classifier.classify("Minyan NS", null, null, LocalDate.now(), LocalTime.of(13, 0)).classification);
+    }
 }